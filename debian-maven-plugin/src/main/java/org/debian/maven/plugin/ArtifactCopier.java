@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copies the artifacts into the package directories. The strategies are tried in order:
+ * <ul>
+ *   <li>a hard link, or a relative symbolic link if it isn't possible, to a file with the same
+ *       content already installed in the package</li>
+ *   <li>a reflink clone with 'cp --reflink=always' for the large files, the data blocks
+ *       are shared on the filesystems supporting it (btrfs, xfs)</li>
+ *   <li>a hard link if the source file can be shared with the package (opt-in)</li>
+ *   <li>a copy with FileChannel.transferTo, handled by the kernel without going
+ *       through the heap</li>
+ * </ul>
+ * The modification time of the source file is preserved.
+ */
+class ArtifactCopier {
+
+    enum Strategy { DEDUP, REFLINK, HARDLINK, TRANSFER }
+
+    /** Minimum size of the files cloned, below this size forking cp costs more than copying */
+    static final long REFLINK_MIN_SIZE = 1024 * 1024;
+
+    /** The filesystems on which a reflink clone failed, it isn't tried again on them */
+    private static final Set<FileStore> NO_REFLINK_STORES = Collections.synchronizedSet(new HashSet<FileStore>());
+
+    private final boolean hardlinks;
+
+    /** The files already installed in the package, null to disable the deduplication */
+    private final ContentRegistry registry;
+
+    private final Map<Strategy, Long> bytes = new EnumMap<Strategy, Long>(Strategy.class);
+
+    /**
+     * @param hardlinks true if the source files can be shared with the package
+     *                  (i.e. they are not modified after the installation)
+     */
+    ArtifactCopier(boolean hardlinks) {
+        this(hardlinks, null);
+    }
+
+    /**
+     * @param hardlinks true if the source files can be shared with the package
+     *                  (i.e. they are not modified after the installation)
+     * @param registry  the files already installed in the package, the files with the same
+     *                  content are linked instead of being copied
+     */
+    ArtifactCopier(boolean hardlinks, ContentRegistry registry) {
+        this.hardlinks = hardlinks;
+        this.registry = registry;
+    }
+
+    /**
+     * Copies a file, replacing the destination if it exists.
+     *
+     * @return the strategy used
+     */
+    public Strategy copy(Path source, Path dest) throws IOException {
+        long size = Files.size(source);
+        Files.createDirectories(dest.getParent());
+        // The destination may be a link to the source created by a previous installation
+        Files.deleteIfExists(dest);
+
+        boolean inPackage = registry != null && registry.contains(dest);
+        Path duplicate = inPackage ? registry.findDuplicate(source) : null;
+
+        Strategy strategy;
+        if (duplicate != null) {
+            linkDuplicate(duplicate, dest);
+            strategy = Strategy.DEDUP;
+        } else if (size >= REFLINK_MIN_SIZE && reflink(source, dest)) {
+            strategy = Strategy.REFLINK;
+        } else if (hardlinks && hardlink(source, dest)) {
+            strategy = Strategy.HARDLINK;
+        } else {
+            transfer(source, dest, size);
+            strategy = Strategy.TRANSFER;
+        }
+
+        if (strategy != Strategy.HARDLINK && strategy != Strategy.DEDUP) {
+            Files.setLastModifiedTime(dest, Files.getLastModifiedTime(source));
+        }
+        if (inPackage && strategy != Strategy.DEDUP) {
+            registry.register(dest);
+        }
+
+        Long total = bytes.get(strategy);
+        bytes.put(strategy, (total != null ? total : 0) + size);
+        return strategy;
+    }
+
+    /**
+     * Returns the number of bytes copied with the specified strategy
+     */
+    public long getBytes(Strategy strategy) {
+        Long total = bytes.get(strategy);
+        return total != null ? total : 0;
+    }
+
+    /**
+     * Returns the number of bytes copied with each strategy, e.g. "dedup: 0, reflink: 0, hardlink: 0, transfer: 12345"
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (Strategy strategy : Strategy.values()) {
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            summary.append(strategy.name().toLowerCase()).append(": ").append(getBytes(strategy));
+        }
+        return summary.toString();
+    }
+
+    private boolean reflink(Path source, Path dest) throws IOException {
+        FileStore store = Files.getFileStore(dest.getParent());
+        if (NO_REFLINK_STORES.contains(store) || System.getProperty("os.name").contains("Windows")) {
+            return false;
+        }
+
+        boolean cloned;
+        try {
+            Process process = new ProcessBuilder("cp", "--reflink=always", source.toString(), dest.toString())
+                    .redirectErrorStream(true).redirectOutput(new File("/dev/null")).start();
+            cloned = process.waitFor() == 0;
+        } catch (IOException e) {
+            cloned = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+
+        if (!cloned) {
+            NO_REFLINK_STORES.add(store);
+            Files.deleteIfExists(dest);
+        }
+        return cloned;
+    }
+
+    private boolean hardlink(Path source, Path dest) throws IOException {
+        try {
+            // A file with several links is already shared with another location
+            Object links = Files.getAttribute(source, "unix:nlink");
+            if (!(links instanceof Integer) || (Integer) links != 1) {
+                return false;
+            }
+
+            Files.createLink(dest, source);
+            return true;
+        } catch (IOException e) {
+            // different filesystems
+            return false;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private void linkDuplicate(Path duplicate, Path dest) throws IOException {
+        try {
+            Files.createLink(dest, duplicate);
+        } catch (IOException e) {
+            DirectoryUtils.createRelativeSymlink(duplicate.toString(), dest.toString());
+        } catch (UnsupportedOperationException e) {
+            DirectoryUtils.createRelativeSymlink(duplicate.toString(), dest.toString());
+        }
+    }
+
+    private void transfer(Path source, Path dest, long size) throws IOException {
+        FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+        try {
+            FileChannel out = FileChannel.open(dest, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            try {
+                long position = 0;
+                while (position < size) {
+                    long count = in.transferTo(position, size - position, out);
+                    if (count <= 0) {
+                        throw new IOException("Unexpected end of file " + source);
+                    }
+                    position += count;
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The registry of the files installed into a package, indexed by their content. The files
+ * installed with the same content as a file already installed in the package are linked
+ * to it instead of being copied. The registry is shared by the modules installed in the
+ * same JVM.
+ *
+ * <p>The content of the files is hashed only when another file of the same size is installed.</p>
+ */
+class ContentRegistry {
+
+    private static final Map<Path, ContentRegistry> REGISTRIES = new HashMap<Path, ContentRegistry>();
+
+    /** The directory of the package */
+    private final Path packageDir;
+
+    private final Map<Long, List<InstalledFile>> filesBySize = new HashMap<Long, List<InstalledFile>>();
+
+    ContentRegistry(Path packageDir) {
+        this.packageDir = packageDir.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the registry of the package
+     */
+    static ContentRegistry forPackage(Path packageDir) {
+        synchronized (REGISTRIES) {
+            Path key = packageDir.toAbsolutePath().normalize();
+            ContentRegistry registry = REGISTRIES.get(key);
+            if (registry == null) {
+                registry = new ContentRegistry(key);
+                REGISTRIES.put(key, registry);
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * Tells if the file is in the package
+     */
+    public boolean contains(Path file) {
+        return file.toAbsolutePath().normalize().startsWith(packageDir);
+    }
+
+    /**
+     * Returns a file installed in the package with the same content as the specified file, or null
+     */
+    public Path findDuplicate(Path file) throws IOException {
+        long size = Files.size(file);
+        List<InstalledFile> candidates;
+        synchronized (this) {
+            List<InstalledFile> files = filesBySize.get(size);
+            if (files == null) {
+                return null;
+            }
+            candidates = new ArrayList<InstalledFile>(files);
+        }
+
+        String digest = null;
+        for (InstalledFile candidate : candidates) {
+            if (!candidate.isUnchanged()) {
+                continue;
+            }
+            if (digest == null) {
+                digest = digest(file);
+            }
+            if (digest.equals(candidate.getDigest())) {
+                return candidate.path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registers a file installed in the package
+     */
+    public void register(Path file) throws IOException {
+        InstalledFile installed = new InstalledFile(file.toAbsolutePath().normalize());
+        synchronized (this) {
+            List<InstalledFile> files = filesBySize.get(installed.size);
+            if (files == null) {
+                files = new ArrayList<InstalledFile>();
+                filesBySize.put(installed.size, files);
+            }
+            files.add(installed);
+        }
+    }
+
+    static String digest(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        InputStream in = Files.newInputStream(file);
+        try {
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+            }
+        } finally {
+            in.close();
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A file installed. The file is ignored if it has been replaced or modified since its registration.
+     */
+    private static class InstalledFile {
+
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+        private final Object fileKey;
+        private String digest;
+
+        InstalledFile(Path path) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            this.path = path;
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.fileKey = attributes.fileKey();
+        }
+
+        boolean isUnchanged() throws IOException {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return attributes.size() == size
+                        && attributes.lastModifiedTime().toMillis() == lastModified
+                        && (fileKey == null || fileKey.equals(attributes.fileKey()));
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+        }
+
+        synchronized String getDigest() throws IOException {
+            if (digest == null) {
+                digest = ContentRegistry.digest(path);
+            }
+            return digest;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.debian.maven.repo.Dependency;
+import org.debian.maven.repo.DependencyRuleSet;
+import org.debian.maven.repo.DependencyRuleSetFiles;
+import org.debian.maven.repo.POMCleaner;
+import org.debian.maven.repo.POMInfo;
+
+import static org.debian.maven.repo.DependencyRuleSetFiles.RulesType.*;
+
+/**
+ * Cleans the pom of a module in process, this is the equivalent of the mh_cleanpom command
+ * used by the install goals. The rules are read once per debian/ directory and shared
+ * by all the modules, they are only read by the transformation of the poms.
+ */
+class DebianPomCleaner {
+
+    /** The rules loaded, indexed by the path and the modification time of the rules files */
+    private static final ConcurrentMap<String, DependencyRuleSetFiles> RULES_CACHE = new ConcurrentHashMap<String, DependencyRuleSetFiles>();
+
+    private final DependencyRuleSetFiles rulesFiles;
+
+    private String debianPackage;
+    private boolean hasPackageVersion;
+    private boolean noParent;
+    private String keepElements;
+
+    DebianPomCleaner(DependencyRuleSetFiles rulesFiles) {
+        this.rulesFiles = rulesFiles;
+    }
+
+    /**
+     * Returns the cleaner using the specified rules files, the files are read only
+     * if they haven't been loaded yet or if they have been modified since.
+     */
+    static DebianPomCleaner forRules(File rules, File ignoreRules, File publishedRules) {
+        String key = key(rules) + '\n' + key(ignoreRules) + '\n' + key(publishedRules);
+        DependencyRuleSetFiles rulesFiles = RULES_CACHE.get(key);
+        if (rulesFiles == null) {
+            rulesFiles = new DependencyRuleSetFiles();
+            rulesFiles.get(RULES).addAll(DependencyRuleSet.readRules(rules, "", false, false));
+            rulesFiles.get(IGNORE).addAll(DependencyRuleSet.readRules(ignoreRules, "", false, false));
+            rulesFiles.get(PUBLISHED).addAll(DependencyRuleSet.readRules(publishedRules, "", false, false));
+            // as mh_cleanpom, the versions without explicit rule become 'debian' and the plugins keep their version
+            rulesFiles.addDefaultRules();
+
+            DependencyRuleSetFiles loaded = RULES_CACHE.putIfAbsent(key, rulesFiles);
+            if (loaded != null) {
+                rulesFiles = loaded;
+            }
+        }
+        return new DebianPomCleaner(rulesFiles);
+    }
+
+    private static String key(File file) {
+        return file.getAbsolutePath() + ':' + file.lastModified();
+    }
+
+    public void setDebianPackage(String debianPackage) {
+        this.debianPackage = debianPackage;
+    }
+
+    public void setHasPackageVersion(boolean hasPackageVersion) {
+        this.hasPackageVersion = hasPackageVersion;
+    }
+
+    public void setNoParent(boolean noParent) {
+        this.noParent = noParent;
+    }
+
+    /**
+     * @param keepElements the comma separated list of the elements kept in the pom
+     */
+    public void setKeepElements(String keepElements) {
+        this.keepElements = keepElements;
+    }
+
+    /**
+     * Cleans the pom keeping its version, and if the rules change this version also writes
+     * the pom with the Debian version.
+     *
+     * @param pom        the original pom
+     * @param cleanedPom the cleaned pom with the original version
+     * @param debianPom  the cleaned pom with the Debian version
+     * @return the coordinates of the cleaned pom
+     */
+    public CleanedPom clean(File pom, File cleanedPom, File debianPom) throws IOException {
+        POMInfo info = transform(pom, cleanedPom, true);
+        Dependency thisPom = info.getThisPom();
+        String version = info.getOriginalVersion();
+        String debianVersion = thisPom.getVersion();
+
+        boolean hasDebianPom = debianVersion != null && !debianVersion.equals(version);
+        if (hasDebianPom) {
+            transform(pom, debianPom, false);
+        }
+
+        return new CleanedPom(info, version, debianVersion, hasDebianPom);
+    }
+
+    private POMInfo transform(File pom, File targetPom, boolean keepPomVersion) throws IOException {
+        // The cleaner isn't shared, the elements to keep are specific to each module
+        POMCleaner cleaner = new POMCleaner();
+        cleaner.setRulesFiles(rulesFiles);
+        if (keepElements != null) {
+            StringTokenizer st = new StringTokenizer(keepElements, ",");
+            while (st.hasMoreTokens()) {
+                cleaner.addElementToKeep(st.nextToken().trim());
+            }
+        }
+
+        targetPom.getParentFile().mkdirs();
+        try {
+            return cleaner.transformPom(pom, targetPom, noParent, hasPackageVersion, keepPomVersion, false, null, debianPackage);
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to clean the pom " + pom, e);
+        }
+    }
+
+    /**
+     * The coordinates of a cleaned pom.
+     */
+    static class CleanedPom {
+
+        private final POMInfo pomInfo;
+        private final String version;
+        private final String debianVersion;
+        private final boolean hasDebianPom;
+
+        CleanedPom(POMInfo pomInfo, String version, String debianVersion, boolean hasDebianPom) {
+            this.pomInfo = pomInfo;
+            this.version = version;
+            this.debianVersion = debianVersion;
+            this.hasDebianPom = hasDebianPom;
+        }
+
+        /**
+         * Returns the cleaned pom, with the dependencies transformed by the rules
+         */
+        public POMInfo getPomInfo() {
+            return pomInfo;
+        }
+
+        public String getGroupId() {
+            return pomInfo.getThisPom().getGroupId();
+        }
+
+        public String getArtifactId() {
+            return pomInfo.getThisPom().getArtifactId();
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getDebianVersion() {
+            return debianVersion;
+        }
+
+        /**
+         * Tells if the rules changed the version and a pom with the Debian version was written
+         */
+        public boolean hasDebianPom() {
+            return hasDebianPom;
+        }
+    }
+}
@@ -16,46 +16,40 @@
 
 package org.debian.maven.plugin;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.StringTokenizer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 class DirectoryUtils {
 
     /**
-     * Returns the relative path to a file relatively to a source directory.
-     * The path returned can be used to create a relative symbolic link
-     * in the source directory to the target file.
+     * Creates a symbolic link to a file. The target of the link is relative
+     * to the directory containing the link, for example
+     * /usr/share/java/foo.jar -> ../maven-repo/foo/foo/1.0/foo-1.0.jar
+     * An existing symbolic link is replaced, any other existing file is left
+     * untouched and reported as an error.
      * 
-     * @param absSrcDir      the absolute path of the source directory (e.g. /usr/share/java)
-     * @param absTargetPath  the absolute path of the target file (e.g. /usr/share/maven-repo/foo/foo.jar)
+     * @param target    the path of the target file (e.g. /usr/share/maven-repo/foo/foo.jar)
+     * @param linkName  the path of the symbolic link (e.g. /usr/share/java/foo.jar)
+     * @return the relative target of the link
      */
-    public static String relativePath(String absSrcDir, String absTargetPath) {
-        List<String> src = splitDirs(absSrcDir);
-        List<String> target = splitDirs(absTargetPath);
-        int common = 0;
-        while (common < src.size() && common < target.size() && src.get(common).equals(target.get(common))) {
-            common++;
-        }
-        StringBuilder sb = new StringBuilder();
-        for (int i = common; i < src.size(); i++) {
-            sb.append("../");
-        }
-        for (int j = common; j < target.size(); j++) {
-            sb.append(target.get(j));
-            if (j + 1 < target.size()) {
-                sb.append("/");
-            }
-        }
-        return sb.toString();
-    }
+    public static Path createRelativeSymlink(String target, String linkName) throws IOException {
+        Path link = Paths.get(linkName).toAbsolutePath().normalize();
+        Path relativeTarget = link.getParent().relativize(Paths.get(target).toAbsolutePath().normalize());
 
-    private static List<String> splitDirs(String path) {
-        List<String> result = new ArrayList<String>();
-        StringTokenizer st = new StringTokenizer(path, "/", false);
-        while (st.hasMoreTokens()) {
-            result.add(st.nextToken());
+        try {
+            if (Files.isSymbolicLink(link)) {
+                if (relativeTarget.equals(Files.readSymbolicLink(link))) {
+                    return relativeTarget;
+                }
+                Files.delete(link);
+            }
+            Files.createDirectories(link.getParent());
+            Files.createSymbolicLink(link, relativeTarget);
+        } catch (IOException e) {
+            throw new IOException("Unable to create the symbolic link " + link + " -> " + relativeTarget, e);
         }
-        return result;
+        return relativeTarget;
     }
 }
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.debian.maven.repo.ListOfPOMs;
+
+/**
+ * Install the pom and jar files of all the modules of the reactor into the debian/ directory.
+ * This is equivalent to the install goal executed on each module, but the list of POMs
+ * is read once and the modules are installed in parallel.
+ */
+@Mojo(name = "install-all", aggregator = true, threadSafe = true)
+public class InstallAllMojo extends AbstractMojo {
+
+    // ----------------------------------------------------------------------
+    // Mojo parameters
+    // ----------------------------------------------------------------------
+
+    /**
+     * The modules of the reactor
+     */
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true, required = true)
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * Debian directory
+     */
+    @Parameter(property = "debian.dir")
+    private File debianDir;
+
+    /**
+     * Debian package (send from command line)
+     */
+    @Parameter(property = "debian.package")
+    private String debianPackage;
+
+    @Parameter(property = "maven.rules", defaultValue = "maven.rules", required = true)
+    private String mavenRules;
+
+    @Parameter(property = "maven.ignoreRules", defaultValue = "maven.ignoreRules", required = true)
+    private String mavenIgnoreRules;
+
+    @Parameter(property = "maven.publishedRules", defaultValue = "maven.publishedRules", required = true)
+    private String mavenPublishedRules;
+
+    /**
+     * Install the jar to /usr/share/java if true. Default is true
+     */
+    @Parameter(property = "install.to.usj", defaultValue = "true")
+    private boolean installToUsj = true;
+
+    /**
+     * Install the artifacts as hard links to the files built if possible
+     */
+    @Parameter(property = "debian.install.hardlinks", defaultValue = "false")
+    private boolean hardlinks;
+
+    /**
+     * Link the files installed with the same content as a file already installed in the package
+     */
+    @Parameter(property = "debian.install.dedup", defaultValue = "true")
+    private boolean dedup = true;
+
+    /**
+     * Index the packages of the jars installed into /usr/share/java
+     */
+    @Parameter(property = "debian.install.index", defaultValue = "false")
+    private boolean packageIndex;
+
+    /**
+     * Write the runtime classpath of the jars installed into /usr/share/java
+     */
+    @Parameter(property = "debian.install.classpath", defaultValue = "false")
+    private boolean classpathFiles;
+
+    /**
+     * Repack the jars installed with sorted entries and normalized times
+     */
+    @Parameter(property = "debian.install.repack", defaultValue = "false")
+    private boolean repack;
+
+    /**
+     * The maximum size in bytes of the classes stored uncompressed when the jars are repacked
+     */
+    @Parameter(property = "debian.install.repack.storeThreshold", defaultValue = "0")
+    private long repackStoreThreshold;
+
+    /**
+     * Location of the Maven repository used to resolve the dependencies
+     */
+    @Parameter(property = "debian.maven.repo", defaultValue = "/usr/share/maven-repo")
+    private File debianMavenRepo = new File("/usr/share/maven-repo");
+
+    /**
+     * Maven repository root
+     */
+    @Parameter(defaultValue = "${maven.repo.local}")
+    private File mavenRepoLocal;
+
+    /**
+     * If true, use local Maven repository for installation
+     */
+    @Parameter(property = "use.maven.repo.local")
+    private boolean useMavenRepoLocal;
+
+    /**
+     * If true, the modules unchanged since the previous installation are not installed again
+     */
+    @Parameter(property = "debian.install.incremental", defaultValue = "true")
+    private boolean incremental = true;
+
+    /**
+     * Number of modules installed in parallel, by default the number of processors
+     */
+    @Parameter(property = "debian.install.threads", defaultValue = "0")
+    private int threads;
+
+    // ----------------------------------------------------------------------
+    // Public methods
+    // ----------------------------------------------------------------------
+
+    public void execute() throws MojoExecutionException {
+        // Parsed once and only read afterwards by the installation of each module
+        ListOfPOMs listOfPOMs = new ListOfPOMs(new File(debianDir, debianPackage + ".poms"));
+        listOfPOMs.getFirstPOM();
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        poolSize = Math.max(1, Math.min(poolSize, reactorProjects.size()));
+        getLog().info("Installing " + reactorProjects.size() + " modules with " + poolSize + " threads");
+
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<Void>> installations = new ArrayList<Future<Void>>();
+            Map<String, Future<Void>> installationsByArtifact = new HashMap<String, Future<Void>>();
+            for (MavenProject project : reactorProjects) {
+                final InstallMojo mojo = createInstallMojo(project, listOfPOMs);
+
+                // The classpath of a module is resolved from the poms of its dependencies, the modules
+                // it depends on are installed first. They precede it in the reactor and are submitted
+                // before to the pool, waiting for them can't deadlock.
+                final List<Future<Void>> dependencies = new ArrayList<Future<Void>>();
+                if (classpathFiles) {
+                    for (Dependency dependency : project.getDependencies()) {
+                        Future<Void> installation = installationsByArtifact.get(dependency.getGroupId() + ":" + dependency.getArtifactId());
+                        if (installation != null) {
+                            dependencies.add(installation);
+                        }
+                    }
+                }
+
+                Future<Void> installation = executor.submit(new Callable<Void>() {
+                    public Void call() throws Exception {
+                        for (Future<Void> dependency : dependencies) {
+                            dependency.get();
+                        }
+                        mojo.execute();
+                        return null;
+                    }
+                });
+                installations.add(installation);
+                installationsByArtifact.put(project.getGroupId() + ":" + project.getArtifactId(), installation);
+            }
+
+            for (Future<Void> installation : installations) {
+                waitFor(installation);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public List<MavenProject> getReactorProjects() {
+        return reactorProjects;
+    }
+
+    public void setReactorProjects(List<MavenProject> reactorProjects) {
+        this.reactorProjects = reactorProjects;
+    }
+
+    public File getDebianDir() {
+        return debianDir;
+    }
+
+    public void setDebianDir(File debianDir) {
+        this.debianDir = debianDir;
+    }
+
+    public String getDebianPackage() {
+        return debianPackage;
+    }
+
+    public void setDebianPackage(String debianPackage) {
+        this.debianPackage = debianPackage;
+    }
+
+    public void setMavenRules(String mavenRules) {
+        this.mavenRules = mavenRules;
+    }
+
+    public void setMavenIgnoreRules(String mavenIgnoreRules) {
+        this.mavenIgnoreRules = mavenIgnoreRules;
+    }
+
+    public void setMavenPublishedRules(String mavenPublishedRules) {
+        this.mavenPublishedRules = mavenPublishedRules;
+    }
+
+    public void setInstallToUsj(boolean installToUsj) {
+        this.installToUsj = installToUsj;
+    }
+
+    public void setHardlinks(boolean hardlinks) {
+        this.hardlinks = hardlinks;
+    }
+
+    public void setDedup(boolean dedup) {
+        this.dedup = dedup;
+    }
+
+    public void setPackageIndex(boolean packageIndex) {
+        this.packageIndex = packageIndex;
+    }
+
+    public void setClasspathFiles(boolean classpathFiles) {
+        this.classpathFiles = classpathFiles;
+    }
+
+    public void setRepack(boolean repack) {
+        this.repack = repack;
+    }
+
+    public void setRepackStoreThreshold(long repackStoreThreshold) {
+        this.repackStoreThreshold = repackStoreThreshold;
+    }
+
+    public void setDebianMavenRepo(File debianMavenRepo) {
+        this.debianMavenRepo = debianMavenRepo;
+    }
+
+    public void setMavenRepoLocal(File mavenRepoLocal) {
+        this.mavenRepoLocal = mavenRepoLocal;
+    }
+
+    public void setUseMavenRepoLocal(boolean useMavenRepoLocal) {
+        this.useMavenRepoLocal = useMavenRepoLocal;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    // ----------------------------------------------------------------------
+    // Private methods
+    // ----------------------------------------------------------------------
+
+    /**
+     * Configures the install goal for a module like Maven does with the default values of its parameters
+     */
+    private InstallMojo createInstallMojo(MavenProject project, ListOfPOMs listOfPOMs) {
+        InstallMojo mojo = new InstallMojo();
+        mojo.setLog(getLog());
+        mojo.setGroupId(project.getGroupId());
+        mojo.setArtifactId(project.getArtifactId());
+        mojo.setDestGroupId(project.getGroupId());
+        mojo.setDestArtifactId(project.getArtifactId());
+        mojo.setVersion(project.getVersion());
+        mojo.setBasedir(project.getBasedir());
+        mojo.setRepoDir(project.getBasedir());
+        mojo.setJarDir(project.getBuild().getDirectory());
+        mojo.setFinalName(project.getBuild().getFinalName());
+        mojo.setDebianDir(debianDir);
+        mojo.setDebianPackage(debianPackage);
+        mojo.setDestPackage(debianPackage);
+        mojo.setMavenRules(mavenRules);
+        mojo.setMavenIgnoreRules(mavenIgnoreRules);
+        mojo.setMavenPublishedRules(mavenPublishedRules);
+        mojo.setInstallToUsj(installToUsj);
+        mojo.setHardlinks(hardlinks);
+        mojo.setDedup(dedup);
+        mojo.setPackageIndex(packageIndex);
+        mojo.setClasspathFiles(classpathFiles);
+        mojo.setDebianMavenRepo(debianMavenRepo);
+        mojo.setRepack(repack);
+        mojo.setRepackStoreThreshold(repackStoreThreshold);
+        mojo.setMavenRepoLocal(mavenRepoLocal);
+        mojo.setUseMavenRepoLocal(useMavenRepoLocal);
+        mojo.setIncremental(incremental);
+        mojo.setListOfPOMs(listOfPOMs);
+        return mojo;
+    }
+
+    private void waitFor(Future<Void> installation) throws MojoExecutionException {
+        try {
+            installation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while installing the modules", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // the installation of a module it depends on failed
+            while (cause instanceof ExecutionException) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof MojoExecutionException) {
+                throw (MojoExecutionException) cause;
+            }
+            throw new MojoExecutionException("Failed to install the modules", cause);
+        }
+    }
+}
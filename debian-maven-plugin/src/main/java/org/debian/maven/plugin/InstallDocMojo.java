@@ -26,7 +26,7 @@ import org.apache.maven.plugins.annotations.Parameter;
  *
  * @author Ludovic Claude
  */
-@Mojo(name = "install-doc")
+@Mojo(name = "install-doc", threadSafe = true)
 public class InstallDocMojo extends SysInstallDocMojo {
 
     /**
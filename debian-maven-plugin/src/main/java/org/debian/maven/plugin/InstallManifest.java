@@ -0,0 +1,351 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.debian.maven.repo.ListOfPOMs;
+import org.debian.maven.repo.POMOptions;
+
+/**
+ * Records the installation of a module: a hash of its inputs (the pom, the jar, the rules
+ * and the options of the installation) and the files and links created. The installation
+ * of a module can be skipped if its inputs haven't changed and the files installed are
+ * still there. The files of the modules removed since are deleted.
+ *
+ * <p>The manifests are stored in debian/.debhelper and are removed by dh_clean.</p>
+ */
+class InstallManifest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String SUFFIX = ".properties";
+
+    /** The manifest file of the module */
+    private final File file;
+
+    /** The path of the pom of the module relatively to the root of the source package */
+    private final String pomPath;
+
+    private final MessageDigest digest;
+
+    /** The digest of the inputs, computed once all the inputs are added */
+    private String inputs;
+
+    private final Set<String> outputs = new LinkedHashSet<String>();
+
+    /** The jars added to the package indexes shared by the modules, indexed by the path of the index */
+    private final Map<String, String> indexedJars = new LinkedHashMap<String, String>();
+
+    /**
+     * @param directory the directory of the manifests
+     * @param pomPath   the path of the pom of the module relatively to the root of the source package
+     */
+    InstallManifest(File directory, String pomPath) {
+        this.file = new File(directory, encode(pomPath) + SUFFIX);
+        this.pomPath = pomPath;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Adds an option of the installation to the inputs
+     */
+    public void addInput(String name, Object value) {
+        checkInputsOpen();
+        digest.update((name + '=' + value + '\n').getBytes(UTF8));
+    }
+
+    /**
+     * Adds the content of a file to the inputs, a missing file is a valid input
+     */
+    public void addInputFile(File input) throws IOException {
+        checkInputsOpen();
+        digest.update((input.getAbsolutePath() + '\n').getBytes(UTF8));
+        if (!input.isFile()) {
+            digest.update((byte) 0);
+            return;
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        InputStream in = new FileInputStream(input);
+        try {
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+            }
+        } finally {
+            in.close();
+        }
+        digest.update((byte) '\n');
+    }
+
+    /**
+     * Records a file or a link created by the installation
+     */
+    public void addOutput(String output) {
+        outputs.add(new File(output).getAbsolutePath());
+    }
+
+    /**
+     * Records the section of a jar added to a package index. The index is shared by the modules
+     * of the package, it isn't an output of the module and only the section of the jar is removed.
+     */
+    public void addIndexedJar(File index, String jarName) {
+        indexedJars.put(index.getAbsolutePath(), jarName);
+    }
+
+    /**
+     * Tells if the previous installation had the same inputs and if its files are still installed
+     */
+    public boolean isUpToDate() throws IOException {
+        Properties previous = load(file);
+        if (previous == null || !getInputs().equals(previous.getProperty("inputs"))) {
+            return false;
+        }
+
+        for (String output : getOutputs(previous)) {
+            if (!Files.exists(new File(output).toPath(), LinkOption.NOFOLLOW_LINKS)) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, String> indexedJar : getIndexedJars(previous).entrySet()) {
+            if (!PackageIndex.read(new File(indexedJar.getKey())).containsKey(indexedJar.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the files of the previous installation that weren't installed again
+     * and saves the manifest.
+     *
+     * @param root the directory containing the packages, the empty directories
+     *             left under it by the deletion are removed
+     */
+    public void save(File root) throws IOException {
+        Properties previous = load(file);
+        if (previous != null) {
+            for (String output : getOutputs(previous)) {
+                if (!outputs.contains(output)) {
+                    delete(output, root);
+                }
+            }
+            for (Map.Entry<String, String> indexedJar : getIndexedJars(previous).entrySet()) {
+                if (!indexedJar.getValue().equals(indexedJars.get(indexedJar.getKey()))) {
+                    PackageIndex.remove(new File(indexedJar.getKey()), indexedJar.getValue());
+                }
+            }
+        }
+
+        Properties manifest = new Properties();
+        manifest.setProperty("pom", pomPath);
+        manifest.setProperty("inputs", getInputs());
+        int i = 0;
+        for (String output : outputs) {
+            manifest.setProperty("output." + i++, output);
+        }
+        i = 0;
+        for (Map.Entry<String, String> indexedJar : indexedJars.entrySet()) {
+            manifest.setProperty("index." + i, indexedJar.getKey());
+            manifest.setProperty("index." + i++ + ".jar", indexedJar.getValue());
+        }
+
+        // The manifest is replaced atomically, an interrupted save is never read
+        file.getParentFile().mkdirs();
+        File tmp = new File(file.getPath() + ".tmp");
+        OutputStream out = new FileOutputStream(tmp);
+        try {
+            manifest.store(out, null);
+        } finally {
+            out.close();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the files recorded by the previous installation, or an empty list if the module
+     * hasn't been installed incrementally
+     */
+    public List<String> getPreviousOutputs() throws IOException {
+        Properties previous = load(file);
+        return previous != null ? getOutputs(previous) : new ArrayList<String>();
+    }
+
+    /**
+     * Removes the jars recorded by the previous installation from the package indexes
+     */
+    public void unindexPreviousJars() throws IOException {
+        Properties previous = load(file);
+        if (previous != null) {
+            for (Map.Entry<String, String> indexedJar : getIndexedJars(previous).entrySet()) {
+                PackageIndex.remove(new File(indexedJar.getKey()), indexedJar.getValue());
+            }
+        }
+    }
+
+    /**
+     * Deletes the manifest, the next installation of the module won't be skipped
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * Deletes the files installed by the modules that have been removed from the source package
+     * or that are now ignored, and their manifests.
+     *
+     * @param directory  the directory of the manifests
+     * @param baseDir    the root of the source package
+     * @param listOfPOMs the list of POMs of the package
+     * @param root       the directory containing the packages
+     * @return the paths of the poms of the modules removed
+     */
+    static List<String> removeStaleModules(File directory, File baseDir, ListOfPOMs listOfPOMs, File root) throws IOException {
+        List<String> removed = new ArrayList<String>();
+        File[] manifests = directory.listFiles();
+        if (manifests == null) {
+            return removed;
+        }
+
+        for (File manifestFile : manifests) {
+            if (!manifestFile.getName().endsWith(SUFFIX)) {
+                continue;
+            }
+            Properties manifest = load(manifestFile);
+            if (manifest == null || manifest.getProperty("pom") == null) {
+                continue;
+            }
+
+            String pom = manifest.getProperty("pom");
+            POMOptions options = listOfPOMs != null ? listOfPOMs.getPOMOptions(pom) : null;
+            if (new File(baseDir, pom).isFile() && (options == null || !options.isIgnore())) {
+                continue;
+            }
+
+            for (String output : getOutputs(manifest)) {
+                delete(output, root);
+            }
+            for (Map.Entry<String, String> indexedJar : getIndexedJars(manifest).entrySet()) {
+                PackageIndex.remove(new File(indexedJar.getKey()), indexedJar.getValue());
+            }
+            // Another module may have removed it concurrently
+            Files.deleteIfExists(manifestFile.toPath());
+            removed.add(pom);
+        }
+        return removed;
+    }
+
+    private String getInputs() {
+        if (inputs == null) {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            inputs = hex.toString();
+        }
+        return inputs;
+    }
+
+    private void checkInputsOpen() {
+        if (inputs != null) {
+            throw new IllegalStateException("The inputs of " + pomPath + " have already been hashed");
+        }
+    }
+
+    private static List<String> getOutputs(Properties manifest) {
+        List<String> outputs = new ArrayList<String>();
+        for (int i = 0; manifest.getProperty("output." + i) != null; i++) {
+            outputs.add(manifest.getProperty("output." + i));
+        }
+        return outputs;
+    }
+
+    private static Map<String, String> getIndexedJars(Properties manifest) {
+        Map<String, String> indexedJars = new LinkedHashMap<String, String>();
+        for (int i = 0; manifest.getProperty("index." + i) != null; i++) {
+            indexedJars.put(manifest.getProperty("index." + i), manifest.getProperty("index." + i + ".jar"));
+        }
+        return indexedJars;
+    }
+
+    private static Properties load(File manifestFile) throws IOException {
+        if (!manifestFile.isFile()) {
+            return null;
+        }
+        Properties manifest = new Properties();
+        InputStream in = new FileInputStream(manifestFile);
+        try {
+            manifest.load(in);
+        } finally {
+            in.close();
+        }
+        return manifest;
+    }
+
+    /**
+     * Deletes a file and its parent directories under the root that are left empty
+     */
+    private static void delete(String output, File root) throws IOException {
+        Path path = new File(output).toPath();
+        Files.deleteIfExists(path);
+
+        Path rootPath = root.getAbsoluteFile().toPath();
+        Path dir = path.getParent();
+        while (dir != null && dir.startsWith(rootPath) && !dir.equals(rootPath)) {
+            try {
+                Files.deleteIfExists(dir);
+            } catch (DirectoryNotEmptyException e) {
+                break;
+            }
+            dir = dir.getParent();
+        }
+    }
+
+    private static String encode(String pomPath) {
+        try {
+            return URLEncoder.encode(pomPath, "UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
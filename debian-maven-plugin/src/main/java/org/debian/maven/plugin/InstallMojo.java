@@ -24,7 +24,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 /**
  * Install pom and jar files into the debian/ directory
  */
-@Mojo(name = "install")
+@Mojo(name = "install", threadSafe = true)
 public class InstallMojo extends SysInstallMojo {
 
     /**
@@ -39,6 +39,13 @@ public class InstallMojo extends SysInstallMojo {
     @Parameter(property = "use.maven.repo.local")
     private boolean useMavenRepoLocal;
 
+    /**
+     * If true, the modules whose pom, jar, rules and options haven't changed since
+     * the previous installation are not installed again. Default is true
+     */
+    @Parameter(property = "debian.install.incremental", defaultValue = "true")
+    private boolean incremental = true;
+
     // ----------------------------------------------------------------------
     // Public methods
     // ----------------------------------------------------------------------
@@ -59,6 +66,15 @@ public class InstallMojo extends SysInstallMojo {
         this.useMavenRepoLocal = useMavenRepoLocal;
     }
 
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     // ----------------------------------------------------------------------
     // Private methods
     // ----------------------------------------------------------------------
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.debian.maven.packager.DependenciesSolver;
+import org.debian.maven.packager.util.PackageScanner;
+
+/**
+ * Install pom and jar files into the debian/ directory, then resolve the
+ * dependencies of the package once the last module of the reactor has been
+ * installed. This replaces the separate invocation of mh_resolve_dependencies
+ * at the end of the build.
+ */
+@Mojo(name = "install-resolve", threadSafe = true)
+public class InstallResolveMojo extends InstallMojo {
+
+    /**
+     * The projects installed so far in each build. The sessions are cloned for each module
+     * when the reactor is built in parallel, hence the builds are identified by their request.
+     */
+    private static final Map<MavenExecutionRequest, Set<MavenProject>> INSTALLED_PROJECTS = new WeakHashMap<MavenExecutionRequest, Set<MavenProject>>();
+
+    /**
+     * The current build session
+     */
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    private MavenSession session;
+
+    /**
+     * Should we also resolve Javadoc dependencies
+     */
+    @Parameter(property = "debian.resolveJavadoc", defaultValue = "false")
+    private boolean resolveJavadoc;
+
+    /**
+     * Try to be verbose
+     */
+    @Parameter(property = "verbose", defaultValue = "false")
+    private boolean verbose;
+
+    // ----------------------------------------------------------------------
+    // Public methods
+    // ----------------------------------------------------------------------
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        super.execute();
+
+        List<MavenProject> projects = session.getProjects();
+        if (isLastInstall(projects)) {
+            try {
+                resolveDependencies(projects);
+            } catch (IOException e) {
+                getLog().error("execution failed", e);
+                throw new MojoExecutionException("Failed to resolve the dependencies of " + getDebianPackage(), e);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // Private methods
+    // ----------------------------------------------------------------------
+
+    /**
+     * Tells if all the modules of the reactor have been installed once the current one is.
+     * With a parallel build the last module of the reactor isn't necessarily the last installed.
+     */
+    private boolean isLastInstall(List<MavenProject> projects) {
+        synchronized (INSTALLED_PROJECTS) {
+            Set<MavenProject> installed = INSTALLED_PROJECTS.get(session.getRequest());
+            if (installed == null) {
+                installed = new HashSet<MavenProject>();
+                INSTALLED_PROJECTS.put(session.getRequest(), installed);
+            }
+            installed.add(session.getCurrentProject());
+            return installed.containsAll(projects);
+        }
+    }
+
+    /**
+     * Resolves the dependencies of all the modules of the reactor
+     * and writes them in debian/&lt;package&gt;.substvars
+     */
+    private void resolveDependencies(List<MavenProject> projects) throws IOException, MojoExecutionException {
+        File baseDir = getDebianDir().getParentFile();
+
+        DependenciesSolver solver = new DependenciesSolver(getDebianDir(), new PackageScanner(true), false);
+        solver.setBaseDir(baseDir);
+        solver.setMavenRepo(getDebianMavenRepo());
+        solver.setPackageName(getDebianPackage());
+        solver.setGenerateJavadoc(resolveJavadoc);
+        solver.setExploreProjects(false);
+        solver.setVerbose(verbose);
+        solver.setListOfPoms(new File(getDebianDir(), getDebianPackage() + ".poms"));
+        solver.setProjects(projects);
+
+        if (solver.getListOfPOMs().getFirstPOM() == null) {
+            for (MavenProject project : projects) {
+                solver.getListOfPOMs().addPOM(project.getFile());
+            }
+        }
+
+        getLog().info("Resolving the dependencies of " + getDebianPackage());
+        solver.solveDependencies();
+
+        // Only the substvars are written during a build, the .poms and rules files are left untouched
+        solver.saveSubstvars();
+        renameSubstvars(new File(getDebianDir(), getDebianPackage() + ".substvars"));
+
+        if (!solver.getIssues().isEmpty()) {
+            for (String issue : solver.getIssues()) {
+                getLog().error(issue);
+            }
+            throw new MojoExecutionException("Some problems were found while resolving the dependencies of " + getDebianPackage()
+                    + ": " + solver.getIssues().get(0));
+        }
+    }
+
+    /**
+     * Renames the maven.* variables into maven:* variables usable in debian/control
+     */
+    private void renameSubstvars(File substvarsFile) throws IOException {
+        StringBuilder content = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new FileReader(substvarsFile));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("maven.")) {
+                    line = "maven:" + line.substring("maven.".length());
+                }
+                content.append(line).append('\n');
+            }
+        } finally {
+            reader.close();
+        }
+        FileUtils.fileWrite(substvarsFile, "UTF-8", content.toString());
+    }
+}
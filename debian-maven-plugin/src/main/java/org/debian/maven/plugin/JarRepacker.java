@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Repacks the jars installed to make them reproducible and faster to load:
+ * <ul>
+ *   <li>the entries are sorted by name, the manifest first as required by JarInputStream</li>
+ *   <li>the modification time of the entries is set to the date of the latest entry
+ *       of debian/changelog, the extra fields and the comments are removed</li>
+ *   <li>optionally the classes up to a given size are stored uncompressed, the class
+ *       loaders read them without inflating them at the cost of a larger jar</li>
+ * </ul>
+ * The entries are read once from the central directory of the jar, the jar isn't unpacked.
+ */
+public class JarRepacker {
+
+    /** The order of the entries: the META-INF directory and the manifest first, then by name */
+    private static final Comparator<String> ENTRY_ORDER = new Comparator<String>() {
+        public int compare(String name1, String name2) {
+            int rank1 = rank(name1);
+            int rank2 = rank(name2);
+            return rank1 != rank2 ? rank1 - rank2 : name1.compareTo(name2);
+        }
+
+        private int rank(String name) {
+            if (name.equals("META-INF/")) {
+                return 0;
+            } else if (name.equalsIgnoreCase("META-INF/MANIFEST.MF")) {
+                return 1;
+            }
+            return 2;
+        }
+    };
+
+    /** The time of the entries in milliseconds, or -1 to keep the time of the entries */
+    private final long timestamp;
+
+    /** The maximum size of the classes stored uncompressed, 0 to compress all the entries */
+    private final long storeThreshold;
+
+    private long sourceBytes;
+    private long repackedBytes;
+    private int jars;
+
+    /**
+     * @param timestamp      the time of the entries in milliseconds, or -1 to keep the time of the entries
+     * @param storeThreshold the maximum size of the classes stored uncompressed, 0 to compress all the entries
+     */
+    public JarRepacker(long timestamp, long storeThreshold) {
+        this.timestamp = timestamp;
+        this.storeThreshold = storeThreshold;
+    }
+
+    /**
+     * Returns the time of the latest entry of debian/changelog exported by the build system
+     * in DEB_CHANGELOG_TIMESTAMP (cdbs) or SOURCE_DATE_EPOCH (debhelper), or -1 if unknown.
+     */
+    public static long getChangelogTimestamp() {
+        for (String variable : new String[] {"DEB_CHANGELOG_TIMESTAMP", "SOURCE_DATE_EPOCH"}) {
+            String value = System.getenv(variable);
+            if (value != null && value.trim().length() > 0) {
+                try {
+                    return Long.parseLong(value.trim()) * 1000;
+                } catch (NumberFormatException e) {
+                    // try the next variable
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Repacks the source jar into the destination, replacing it if it exists
+     */
+    public void repack(File source, File dest) throws IOException {
+        File tmp = new File(dest.getPath() + ".tmp");
+        dest.getParentFile().mkdirs();
+
+        ZipFile zip = new ZipFile(source);
+        try {
+            // the first entry wins if the jar contains duplicate entries, like with the class loaders
+            Map<String, ZipEntry> entries = new LinkedHashMap<String, ZipEntry>();
+            Enumeration<? extends ZipEntry> enumeration = zip.entries();
+            while (enumeration.hasMoreElements()) {
+                ZipEntry entry = enumeration.nextElement();
+                if (!entries.containsKey(entry.getName())) {
+                    entries.put(entry.getName(), entry);
+                }
+            }
+            List<String> names = new ArrayList<String>(entries.keySet());
+            Collections.sort(names, ENTRY_ORDER);
+
+            ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 64 * 1024));
+            try {
+                byte[] buffer = new byte[64 * 1024];
+                for (String name : names) {
+                    ZipEntry entry = entries.get(name);
+                    ZipEntry repacked = new ZipEntry(name);
+                    repacked.setTime(timestamp != -1 ? toDosTime(timestamp) : entry.getTime());
+
+                    InputStream in = zip.getInputStream(entry);
+                    try {
+                        if (isStored(entry)) {
+                            byte[] content = readFully(in, buffer);
+                            CRC32 crc = new CRC32();
+                            crc.update(content);
+                            repacked.setMethod(ZipEntry.STORED);
+                            repacked.setSize(content.length);
+                            repacked.setCompressedSize(content.length);
+                            repacked.setCrc(crc.getValue());
+                            out.putNextEntry(repacked);
+                            out.write(content);
+                        } else {
+                            out.putNextEntry(repacked);
+                            int count;
+                            while ((count = in.read(buffer)) != -1) {
+                                out.write(buffer, 0, count);
+                            }
+                        }
+                    } finally {
+                        in.close();
+                    }
+                    out.closeEntry();
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            zip.close();
+        }
+
+        if (!tmp.renameTo(dest)) {
+            dest.delete();
+            if (!tmp.renameTo(dest)) {
+                throw new IOException("Unable to move " + tmp + " to " + dest);
+            }
+        }
+        if (timestamp != -1) {
+            dest.setLastModified(timestamp);
+        }
+
+        synchronized (this) {
+            jars++;
+            sourceBytes += source.length();
+            repackedBytes += dest.length();
+        }
+    }
+
+    /**
+     * Returns the number of jars repacked and their size before and after
+     */
+    public synchronized String getSummary() {
+        return jars + " jars, " + sourceBytes + " bytes repacked into " + repackedBytes + " bytes";
+    }
+
+    private boolean isStored(ZipEntry entry) {
+        if (entry.isDirectory()) {
+            return true;
+        }
+        return storeThreshold > 0 && entry.getName().endsWith(".class") && entry.getSize() >= 0 && entry.getSize() <= storeThreshold;
+    }
+
+    /**
+     * Converts the time to the value giving the same DOS date and time in all the time zones,
+     * the DOS time of the zip entries is in the local time zone.
+     */
+    private static long toDosTime(long time) {
+        return time - TimeZone.getDefault().getOffset(time);
+    }
+
+    private static byte[] readFully(InputStream in, byte[] buffer) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            content.write(buffer, 0, count);
+        }
+        return content.toByteArray();
+    }
+
+    /**
+     * Compares the size and the time to read all the classes of jars with the classes
+     * compressed and with the classes stored uncompressed:
+     *
+     * <pre>
+     * java -cp debian-maven-plugin.jar org.debian.maven.plugin.JarRepacker [threshold] jar...
+     * </pre>
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: JarRepacker [store threshold in bytes] <jar>...");
+            System.exit(1);
+        }
+
+        int first = 0;
+        long threshold = Long.MAX_VALUE;
+        if (args[0].matches("\\d+")) {
+            threshold = Long.parseLong(args[0]);
+            first = 1;
+        }
+
+        File dir = File.createTempFile("repack", "");
+        dir.delete();
+        dir.mkdirs();
+        try {
+            System.out.printf("%-40s %12s %12s %10s %10s%n", "jar", "deflated", "stored", "read (ms)", "read (ms)");
+            for (int i = first; i < args.length; i++) {
+                File jar = new File(args[i]);
+                File deflated = new File(dir, "deflated.jar");
+                File stored = new File(dir, "stored.jar");
+                new JarRepacker(0, 0).repack(jar, deflated);
+                new JarRepacker(0, threshold).repack(jar, stored);
+
+                // warm up, then measure
+                readClasses(deflated);
+                readClasses(stored);
+                long deflatedTime = readClasses(deflated);
+                long storedTime = readClasses(stored);
+
+                System.out.printf("%-40s %12d %12d %10.1f %10.1f%n", jar.getName(), deflated.length(), stored.length(),
+                        deflatedTime / 1e6, storedTime / 1e6);
+            }
+        } finally {
+            for (File file : dir.listFiles()) {
+                file.delete();
+            }
+            dir.delete();
+        }
+    }
+
+    /**
+     * Reads all the classes of a jar 20 times, like a class loader does, and returns the time in nanoseconds
+     */
+    private static long readClasses(File jar) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            ZipFile zip = new ZipFile(jar);
+            try {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.getName().endsWith(".class")) {
+                        InputStream in = zip.getInputStream(entry);
+                        try {
+                            readFully(in, buffer);
+                        } finally {
+                            in.close();
+                        }
+                    }
+                }
+            } finally {
+                zip.close();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
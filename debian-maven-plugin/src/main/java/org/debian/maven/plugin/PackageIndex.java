@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The index of the packages contained in the jars installed into /usr/share/java by a binary
+ * package. The index is written in the format of the META-INF/INDEX.LIST files of the jar
+ * specification: a header followed by a section per jar listing its packages, for example:
+ *
+ * <pre>
+ * JarIndex-Version: 1.0
+ *
+ * plexus-compiler-api.jar
+ * org/codehaus/plexus/compiler
+ * org/codehaus/plexus/compiler/util
+ * </pre>
+ *
+ * The launchers and the class loaders can use it to find the jar containing a class
+ * without opening all the jars of the classpath.
+ */
+class PackageIndex {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    static final String HEADER = "JarIndex-Version: 1.0";
+
+    /** The locks serializing the updates of each index when the modules are installed in parallel */
+    private static final Map<File, Object> LOCKS = new HashMap<File, Object>();
+
+    private PackageIndex() {
+    }
+
+    /**
+     * Lists the packages of a jar, the entries are read from the central directory of the jar.
+     * The classes and the resources of the multi-release jars are indexed under their package.
+     */
+    static SortedSet<String> listPackages(File jar) throws IOException {
+        SortedSet<String> packages = new TreeSet<String>();
+        ZipFile zip = new ZipFile(jar);
+        try {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.startsWith("META-INF/versions/")) {
+                    int start = name.indexOf('/', "META-INF/versions/".length());
+                    name = start != -1 ? name.substring(start + 1) : "";
+                } else if (name.startsWith("META-INF/")) {
+                    continue;
+                }
+
+                int end = name.lastIndexOf('/');
+                if (end > 0 && end < name.length() - 1) {
+                    packages.add(name.substring(0, end));
+                }
+            }
+        } finally {
+            zip.close();
+        }
+        return packages;
+    }
+
+    /**
+     * Adds or replaces the section of a jar in the index.
+     *
+     * @param index    the index file, created if it doesn't exist
+     * @param jarName  the name of the jar in the directory of the index
+     * @param packages the packages of the jar
+     */
+    static void update(File index, String jarName, SortedSet<String> packages) throws IOException {
+        synchronized (getLock(index)) {
+            Map<String, SortedSet<String>> sections = read(index);
+            sections.put(jarName, packages);
+            write(index, sections);
+        }
+    }
+
+    /**
+     * Removes the section of a jar from the index, the index is deleted when it's left empty.
+     *
+     * @return true if the index contained the jar
+     */
+    static boolean remove(File index, String jarName) throws IOException {
+        synchronized (getLock(index)) {
+            Map<String, SortedSet<String>> sections = read(index);
+            if (sections.remove(jarName) == null) {
+                return false;
+            }
+            if (sections.isEmpty()) {
+                Files.deleteIfExists(index.toPath());
+            } else {
+                write(index, sections);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Reads the sections of the index, indexed by the name of the jar
+     */
+    static Map<String, SortedSet<String>> read(File index) throws IOException {
+        // sorted by jar, the index doesn't depend on the order of the modules installed in parallel
+        Map<String, SortedSet<String>> sections = new TreeMap<String, SortedSet<String>>();
+        if (!index.isFile()) {
+            return sections;
+        }
+
+        BufferedReader reader = Files.newBufferedReader(index.toPath(), UTF8);
+        try {
+            SortedSet<String> section = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() == 0) {
+                    section = null;
+                } else if (line.equals(HEADER)) {
+                    continue;
+                } else if (section == null) {
+                    section = new TreeSet<String>();
+                    sections.put(line, section);
+                } else {
+                    section.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return sections;
+    }
+
+    private static void write(File index, Map<String, SortedSet<String>> sections) throws IOException {
+        index.getParentFile().mkdirs();
+        File tmp = new File(index.getPath() + ".tmp");
+        Writer writer = Files.newBufferedWriter(tmp.toPath(), UTF8);
+        try {
+            writer.write(HEADER + "\n");
+            for (Map.Entry<String, SortedSet<String>> section : sections.entrySet()) {
+                writer.write("\n" + section.getKey() + "\n");
+                for (String pkg : section.getValue()) {
+                    writer.write(pkg + "\n");
+                }
+            }
+        } finally {
+            writer.close();
+        }
+        Files.move(tmp.toPath(), index.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Object getLock(File index) {
+        synchronized (LOCKS) {
+            File key = index.getAbsoluteFile();
+            Object lock = LOCKS.get(key);
+            if (lock == null) {
+                lock = new Object();
+                LOCKS.put(key, lock);
+            }
+            return lock;
+        }
+    }
+}
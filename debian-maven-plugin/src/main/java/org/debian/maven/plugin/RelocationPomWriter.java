@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.debian.maven.repo.Dependency;
+
+/**
+ * Writes the poms relocating artifacts to the artifact installed. The relocations of a module
+ * are added first and written together.
+ */
+class RelocationPomWriter {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String TEMPLATE =
+            "<project>\n" +
+            "  <modelVersion>4.0.0</modelVersion>\n" +
+            "  <groupId>${groupId}</groupId>\n" +
+            "  <artifactId>${artifactId}</artifactId>\n" +
+            "  <version>${version}</version>\n" +
+            "  <packaging>${packaging}</packaging>\n" +
+            "  <properties>\n" +
+            "    <debian.package>${debianPackage}</debian.package>\n" +
+            "  </properties>\n" +
+            "  <distributionManagement>\n" +
+            "    <relocation>\n" +
+            "      <groupId>${relocation.groupId}</groupId>\n" +
+            "      <artifactId>${relocation.artifactId}</artifactId>\n" +
+            "      <version>${relocation.version}</version>\n" +
+            "    </relocation>\n" +
+            "  </distributionManagement>\n" +
+            "</project>";
+
+    /** The template split into literal parts (even indexes) and variable names (odd indexes) */
+    private static final String[] COMPILED_TEMPLATE = compile(TEMPLATE);
+
+    /** The values of the variables shared by the relocations of the module */
+    private final Map<String, String> target = new HashMap<String, String>();
+
+    private final Map<File, String> poms = new LinkedHashMap<File, String>();
+
+    /**
+     * @param debianPackage the package installing the artifact
+     * @param groupId       the groupId of the artifact installed
+     * @param artifactId    the artifactId of the artifact installed
+     * @param version       the version of the artifact installed
+     */
+    RelocationPomWriter(String debianPackage, String groupId, String artifactId, String version) {
+        target.put("debianPackage", debianPackage);
+        target.put("relocation.groupId", groupId);
+        target.put("relocation.artifactId", artifactId);
+        target.put("relocation.version", version);
+    }
+
+    /**
+     * Adds the relocation of an artifact
+     *
+     * @param relocated the artifact relocated
+     * @param packaging the packaging of the relocated artifact, jar or pom
+     * @param pomFile   the pom file of the relocated artifact
+     */
+    public void add(Dependency relocated, String packaging, File pomFile) {
+        Map<String, String> variables = new HashMap<String, String>(target);
+        variables.put("groupId", relocated.getGroupId());
+        variables.put("artifactId", relocated.getArtifactId());
+        variables.put("version", relocated.getVersion());
+        variables.put("packaging", packaging);
+        poms.put(pomFile, render(variables));
+    }
+
+    /**
+     * Writes the poms added
+     *
+     * @return the pom files written
+     */
+    public List<File> write() throws IOException {
+        Set<File> directories = new HashSet<File>();
+        for (Map.Entry<File, String> pom : poms.entrySet()) {
+            File directory = pom.getKey().getParentFile();
+            if (directories.add(directory)) {
+                Files.createDirectories(directory.toPath());
+            }
+            Files.write(pom.getKey().toPath(), pom.getValue().getBytes(UTF8));
+        }
+
+        List<File> written = new ArrayList<File>(poms.keySet());
+        poms.clear();
+        return written;
+    }
+
+    static String render(Map<String, String> variables) {
+        StringBuilder pom = new StringBuilder(TEMPLATE.length() + 256);
+        for (int i = 0; i < COMPILED_TEMPLATE.length; i++) {
+            pom.append(i % 2 == 0 ? COMPILED_TEMPLATE[i] : variables.get(COMPILED_TEMPLATE[i]));
+        }
+        return pom.toString();
+    }
+
+    private static String[] compile(String template) {
+        List<String> parts = new ArrayList<String>();
+        Matcher matcher = Pattern.compile("\\$\\{([^}]+)\\}").matcher(template);
+        int start = 0;
+        while (matcher.find()) {
+            parts.add(template.substring(start, matcher.start()));
+            parts.add(matcher.group(1));
+            start = matcher.end();
+        }
+        parts.add(template.substring(start));
+        return parts.toArray(new String[parts.size()]);
+    }
+}
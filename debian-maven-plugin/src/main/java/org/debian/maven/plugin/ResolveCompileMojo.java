@@ -22,7 +22,7 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 /**
  * Resolves compile dependencies
  */
-@Mojo(name = "resolve-compile", aggregator = true, requiresDependencyResolution = ResolutionScope.COMPILE)
+@Mojo(name = "resolve-compile", aggregator = true, threadSafe = true, requiresDependencyResolution = ResolutionScope.COMPILE)
 public class ResolveCompileMojo extends ResolveNoneMojo
 {
 }
@@ -23,7 +23,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 /**
  * Dummy goal that just reads the pom.xml files including parents
  */
-@Mojo(name = "resolve-none", aggregator = true)
+@Mojo(name = "resolve-none", aggregator = true, threadSafe = true)
 public class ResolveNoneMojo extends AbstractMojo {
     
     public void execute() throws MojoExecutionException {
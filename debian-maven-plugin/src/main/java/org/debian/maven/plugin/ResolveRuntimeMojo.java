@@ -22,7 +22,7 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 /**
  * Resolves runtime dependencies
  */
-@Mojo(name = "resolve-runtime", aggregator = true, requiresDependencyResolution = ResolutionScope.RUNTIME)
+@Mojo(name = "resolve-runtime", aggregator = true, threadSafe = true, requiresDependencyResolution = ResolutionScope.RUNTIME)
 public class ResolveRuntimeMojo extends ResolveNoneMojo
 {
 }
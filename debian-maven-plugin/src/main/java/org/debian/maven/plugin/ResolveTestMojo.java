@@ -22,7 +22,7 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 /**
  * Resolves test dependencies
  */
-@Mojo(name="resolve-test", aggregator = true, requiresDependencyResolution = ResolutionScope.TEST)
+@Mojo(name="resolve-test", aggregator = true, threadSafe = true, requiresDependencyResolution = ResolutionScope.TEST)
 public class ResolveTestMojo extends ResolveNoneMojo
 {
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Computes the runtime classpath of an artifact from the cleaned poms installed in the Maven
+ * repositories of the packages being built and in the system Maven repository. The compile
+ * and runtime dependencies are walked breadth first, and like Maven the nearest version of
+ * an artifact wins. The optional dependencies are ignored.
+ *
+ * <p>The dependencies and the dependency management inherited from the parent poms are
+ * taken into account, as well as the exclusions declared along the path to a dependency.
+ * The dependency management of the artifact overrides the versions of the transitive
+ * dependencies.</p>
+ *
+ * <p>The paths returned are the paths of the jars once the packages are installed,
+ * for example /usr/share/maven-repo/junit/junit/3.x/junit-3.x.jar</p>
+ */
+class RuntimeClasspath {
+
+    private static final List<String> RUNTIME_SCOPES = Arrays.asList(null, "", "compile", "runtime");
+
+    /** The directories of the packages being built, e.g. debian/libfoo-java */
+    private final List<File> packageDirs;
+
+    /** The system Maven repository, e.g. /usr/share/maven-repo */
+    private final File systemRepository;
+
+    /** The dependencies not found in the repositories */
+    private final List<Dependency> missing = new ArrayList<Dependency>();
+
+    RuntimeClasspath(List<File> packageDirs, File systemRepository) {
+        this.packageDirs = packageDirs;
+        this.systemRepository = systemRepository;
+    }
+
+    /**
+     * Returns the runtime dependencies of the pom, flattened and without duplicates
+     */
+    public List<String> resolve(File pomFile) throws IOException {
+        Set<String> classpath = new LinkedHashSet<String>();
+        Set<String> visited = new HashSet<String>();
+
+        Model root = readPom(pomFile);
+        visited.add(key(root.getGroupId() != null ? root.getGroupId() : root.getParent().getGroupId(), root.getArtifactId(), null));
+        Map<String, Dependency> rootManagement = new HashMap<String, Dependency>();
+
+        Queue<Node> nodes = new LinkedList<Node>();
+        nodes.add(new Node(root, new HashSet<String>(), true));
+        while (!nodes.isEmpty()) {
+            Node node = nodes.remove();
+            Map<String, Dependency> management = new HashMap<String, Dependency>();
+            Map<String, Dependency> dependencies = new LinkedHashMap<String, Dependency>();
+            inherit(node.model, dependencies, node.root ? rootManagement : management);
+
+            for (Dependency dependency : dependencies.values()) {
+                String key = key(dependency.getGroupId(), dependency.getArtifactId(), dependency.getClassifier());
+                if (dependency.isOptional() || !RUNTIME_SCOPES.contains(dependency.getScope())
+                        || isExcluded(dependency, node.exclusions) || !visited.add(key)) {
+                    continue;
+                }
+
+                Dependency managed = rootManagement.get(key);
+                String version = dependency.getVersion();
+                if (managed != null && (!node.root || version == null)) {
+                    version = managed.getVersion();
+                }
+                if (version == null && management.containsKey(key)) {
+                    version = management.get(key).getVersion();
+                }
+
+                File dependencyPom = find(dependency.getGroupId(), dependency.getArtifactId(), version, ".pom");
+                if (dependencyPom == null) {
+                    missing.add(dependency);
+                    continue;
+                }
+
+                Set<String> exclusions = new HashSet<String>(node.exclusions);
+                addExclusions(exclusions, dependency);
+                addExclusions(exclusions, managed);
+                nodes.add(new Node(readPom(dependencyPom), exclusions, false));
+
+                String type = dependency.getType();
+                if (type == null || "jar".equals(type) || "bundle".equals(type)) {
+                    String classifier = dependency.getClassifier() != null ? "-" + dependency.getClassifier() : "";
+                    File jar = find(dependency.getGroupId(), dependency.getArtifactId(), version, classifier + ".jar");
+                    if (jar != null) {
+                        classpath.add(installedPath(jar));
+                    } else {
+                        missing.add(dependency);
+                    }
+                }
+            }
+        }
+        return new ArrayList<String>(classpath);
+    }
+
+    /**
+     * Returns the dependencies not found in the repositories by the previous resolutions
+     */
+    public List<Dependency> getMissing() {
+        return missing;
+    }
+
+    /**
+     * Collects the dependencies and the dependency management of the pom and of its parents,
+     * the declarations of the pom overriding the ones of its parents.
+     */
+    private void inherit(Model model, Map<String, Dependency> dependencies, Map<String, Dependency> management) throws IOException {
+        Set<String> parents = new HashSet<String>();
+        while (model != null) {
+            for (Dependency dependency : model.getDependencies()) {
+                String key = key(dependency.getGroupId(), dependency.getArtifactId(), dependency.getClassifier());
+                if (!dependencies.containsKey(key)) {
+                    dependencies.put(key, dependency);
+                }
+            }
+            if (model.getDependencyManagement() != null) {
+                for (Dependency dependency : model.getDependencyManagement().getDependencies()) {
+                    String key = key(dependency.getGroupId(), dependency.getArtifactId(), dependency.getClassifier());
+                    if (!management.containsKey(key)) {
+                        management.put(key, dependency);
+                    }
+                }
+            }
+
+            Parent parent = model.getParent();
+            model = null;
+            if (parent != null && parents.add(parent.getId())) {
+                File parentPom = find(parent.getGroupId(), parent.getArtifactId(), parent.getVersion(), ".pom");
+                if (parentPom == null) {
+                    parentPom = find(parent.getGroupId(), parent.getArtifactId(), null, ".pom");
+                }
+                if (parentPom != null) {
+                    model = readPom(parentPom);
+                } else {
+                    Dependency dependency = new Dependency();
+                    dependency.setGroupId(parent.getGroupId());
+                    dependency.setArtifactId(parent.getArtifactId());
+                    dependency.setVersion(parent.getVersion());
+                    dependency.setType("pom");
+                    missing.add(dependency);
+                }
+            }
+        }
+    }
+
+    private static void addExclusions(Set<String> exclusions, Dependency dependency) {
+        if (dependency != null) {
+            for (Exclusion exclusion : dependency.getExclusions()) {
+                exclusions.add(exclusion.getGroupId() + ":" + exclusion.getArtifactId());
+            }
+        }
+    }
+
+    private static boolean isExcluded(Dependency dependency, Set<String> exclusions) {
+        return exclusions.contains("*:*")
+                || exclusions.contains(dependency.getGroupId() + ":*")
+                || exclusions.contains("*:" + dependency.getArtifactId())
+                || exclusions.contains(dependency.getGroupId() + ":" + dependency.getArtifactId());
+    }
+
+    private static String key(String groupId, String artifactId, String classifier) {
+        return groupId + ":" + artifactId + ":" + classifier;
+    }
+
+    /**
+     * Looks for a file of the artifact in the packages being built first, then in the system repository.
+     * If the version isn't known the 'debian' version is used.
+     */
+    private File find(String groupId, String artifactId, String version, String suffix) {
+        if (version == null) {
+            version = "debian";
+        }
+        String path = groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + artifactId + "-" + version + suffix;
+
+        for (File packageDir : packageDirs) {
+            File file = new File(packageDir, "usr/share/maven-repo/" + path);
+            if (file.exists()) {
+                return file;
+            }
+        }
+        File file = new File(systemRepository, path);
+        return file.exists() ? file : null;
+    }
+
+    /**
+     * Returns the path of a file of a package being built once the package is installed
+     */
+    private String installedPath(File file) {
+        for (File packageDir : packageDirs) {
+            String prefix = packageDir.getAbsolutePath() + "/";
+            if (file.getAbsolutePath().startsWith(prefix)) {
+                return file.getAbsolutePath().substring(prefix.length() - 1);
+            }
+        }
+        return file.getAbsolutePath();
+    }
+
+    private static Model readPom(File pomFile) throws IOException {
+        InputStream in = new FileInputStream(pomFile);
+        try {
+            return new MavenXpp3Reader().read(in, false);
+        } catch (XmlPullParserException e) {
+            throw new IOException("Unable to read the pom " + pomFile, e);
+        } finally {
+            IOUtil.close(in);
+        }
+    }
+
+    /**
+     * A pom to walk, with the exclusions declared along the path from the root artifact
+     */
+    private static class Node {
+        final Model model;
+        final Set<String> exclusions;
+        /** Tells if the pom is the one of the root artifact */
+        final boolean root;
+
+        Node(Model model, Set<String> exclusions, boolean root) {
+            this.model = model;
+            this.exclusions = exclusions;
+            this.root = root;
+        }
+    }
+}
@@ -25,7 +25,7 @@ import org.apache.maven.plugins.annotations.Mojo;
  *
  * @author Ludovic Claude
  */
-@Mojo(name = "sysinstall-doc")
+@Mojo(name = "sysinstall-doc", threadSafe = true)
 public class SysInstallDocMojo extends SysInstallMojo {
 
     {
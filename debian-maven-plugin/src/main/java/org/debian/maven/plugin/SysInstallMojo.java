@@ -16,13 +16,10 @@
 
 package org.debian.maven.plugin;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Properties;
 import java.util.regex.Pattern;
 
 import org.apache.maven.plugin.AbstractMojo;
@@ -30,16 +27,15 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.codehaus.plexus.util.FileUtils;
-import org.codehaus.plexus.util.io.RawInputStreamFacade;
 import org.debian.maven.repo.Dependency;
 import org.debian.maven.repo.ListOfPOMs;
-import org.debian.maven.repo.POMCleaner;
+import org.debian.maven.repo.POMInfo;
 import org.debian.maven.repo.POMOptions;
 
 /**
  * Install pom and jar files into the /usr/share/hierarchy
  */
-@Mojo(name = "sysinstall")
+@Mojo(name = "sysinstall", threadSafe = true)
 public class SysInstallMojo extends AbstractMojo {
 
     /** Regex for detecting that package is a libXXX-java package */
@@ -146,6 +142,54 @@ public class SysInstallMojo extends AbstractMojo {
     @Parameter(property = "install.to.usj", defaultValue = "true")
     private boolean installToUsj = true;
 
+    /**
+     * Install the artifacts as hard links to the files built if possible. Enable this
+     * only if the files built are not modified after the installation. Default is false
+     */
+    @Parameter(property = "debian.install.hardlinks", defaultValue = "false")
+    private boolean hardlinks;
+
+    /**
+     * Link the files installed with the same content as a file already installed
+     * in the package instead of copying them. Default is true
+     */
+    @Parameter(property = "debian.install.dedup", defaultValue = "true")
+    private boolean dedup = true;
+
+    /**
+     * Index the packages of the jars installed into /usr/share/java in
+     * /usr/share/java/&lt;package&gt;.jarindex. Default is false
+     */
+    @Parameter(property = "debian.install.index", defaultValue = "false")
+    private boolean packageIndex;
+
+    /**
+     * Write the runtime classpath of the jars installed into /usr/share/java
+     * in /usr/share/java/&lt;name&gt;.classpath. Default is false
+     */
+    @Parameter(property = "debian.install.classpath", defaultValue = "false")
+    private boolean classpathFiles;
+
+    /**
+     * Repack the jars installed: sort the entries and set their time to the date of
+     * the latest entry of debian/changelog. Default is false
+     */
+    @Parameter(property = "debian.install.repack", defaultValue = "false")
+    private boolean repack;
+
+    /**
+     * When the jars are repacked, the maximum size in bytes of the classes stored
+     * uncompressed to load them faster. Default is 0, all the classes are compressed
+     */
+    @Parameter(property = "debian.install.repack.storeThreshold", defaultValue = "0")
+    private long repackStoreThreshold;
+
+    /**
+     * Location of the Maven repository used to resolve the dependencies
+     */
+    @Parameter(property = "debian.maven.repo", defaultValue = "/usr/share/maven-repo")
+    private File debianMavenRepo = new File("/usr/share/maven-repo");
+
     /**
      * Basename of the JAR inside /usr/share/java
      */
@@ -168,6 +212,36 @@ public class SysInstallMojo extends AbstractMojo {
      */
     private List<Dependency> relocatedArtifacts;
 
+    /**
+     * The list of POMs of the package, read from debian/&lt;package&gt;.poms if not set.
+     */
+    private ListOfPOMs listOfPOMs;
+
+    /**
+     * Copies the artifacts into the package, created on the first copy.
+     */
+    private ArtifactCopier copier;
+
+    /**
+     * Repacks the jars if enabled, created on the first jar installed.
+     */
+    private JarRepacker repacker;
+
+    /**
+     * The options of the pom in debian/&lt;package&gt;.poms
+     */
+    private POMOptions pomOption;
+
+    /**
+     * The cleaned pom
+     */
+    private POMInfo pomInfo;
+
+    /**
+     * The record of the installation if it's incremental
+     */
+    private InstallManifest manifest;
+
     // ----------------------------------------------------------------------
     // Public methods
     // ----------------------------------------------------------------------
@@ -175,6 +249,12 @@ public class SysInstallMojo extends AbstractMojo {
     public void execute() throws MojoExecutionException {
         try {
             runMojo();
+            if (copier != null) {
+                getLog().info("Bytes installed per copy strategy: " + copier.getSummary());
+            }
+            if (repacker != null) {
+                getLog().info("Repacked " + repacker.getSummary());
+            }
         } catch (IOException e) {
             getLog().error("execution failed", e);
             throw new MojoExecutionException("Failed to execute " + getClass().getSimpleName(), e);
@@ -349,6 +429,73 @@ public class SysInstallMojo extends AbstractMojo {
         this.version = version;
     }
 
+    public boolean isHardlinks() {
+        return hardlinks;
+    }
+
+    public void setHardlinks(boolean hardlinks) {
+        this.hardlinks = hardlinks;
+    }
+
+    public boolean isDedup() {
+        return dedup;
+    }
+
+    public void setDedup(boolean dedup) {
+        this.dedup = dedup;
+    }
+
+    public boolean isPackageIndex() {
+        return packageIndex;
+    }
+
+    public void setPackageIndex(boolean packageIndex) {
+        this.packageIndex = packageIndex;
+    }
+
+    public boolean isClasspathFiles() {
+        return classpathFiles;
+    }
+
+    public void setClasspathFiles(boolean classpathFiles) {
+        this.classpathFiles = classpathFiles;
+    }
+
+    public boolean isRepack() {
+        return repack;
+    }
+
+    public void setRepack(boolean repack) {
+        this.repack = repack;
+    }
+
+    public long getRepackStoreThreshold() {
+        return repackStoreThreshold;
+    }
+
+    public void setRepackStoreThreshold(long repackStoreThreshold) {
+        this.repackStoreThreshold = repackStoreThreshold;
+    }
+
+    public File getDebianMavenRepo() {
+        return debianMavenRepo;
+    }
+
+    public void setDebianMavenRepo(File debianMavenRepo) {
+        this.debianMavenRepo = debianMavenRepo;
+    }
+
+    public ListOfPOMs getListOfPOMs() {
+        return listOfPOMs;
+    }
+
+    /**
+     * Sets the list of POMs shared by the installations of the modules of the package.
+     */
+    public void setListOfPOMs(ListOfPOMs listOfPOMs) {
+        this.listOfPOMs = listOfPOMs;
+    }
+
     // ----------------------------------------------------------------------
     // Private methods
     // ----------------------------------------------------------------------
@@ -417,18 +564,10 @@ public class SysInstallMojo extends AbstractMojo {
         return basedir.getAbsolutePath() + "/target/pom.xml";
     }
 
-    private String cleanedPomPropertiesSrcPath() {
-        return basedir.getAbsolutePath() + "/target/pom.properties";
-    }
-
     private String debianPomSrcPath() {
         return basedir.getAbsolutePath() + "/target/pom.debian.xml";
     }
 
-    private String debianPomPropertiesSrcPath() {
-        return basedir.getAbsolutePath() + "/target/pom.debian.properties";
-    }
-
     private String pomDestPath() {
         return fullRepoPath() + pomName(destArtifactId, version);
     }
@@ -472,10 +611,6 @@ public class SysInstallMojo extends AbstractMojo {
         return fullRepoPath() + destJarName();
     }
 
-    protected final String jarDestRelPath() {
-        return "../" + version + "/" + destJarName();
-    }
-
     protected final String debianJarDestPath() {
         return debianFullRepoPath() + debianJarName();
     }
@@ -540,22 +675,52 @@ public class SysInstallMojo extends AbstractMojo {
     }
 
     /**
-     * command for creating the relative symlink
+     * Creates a relative symlink to the target
      */
     private void link(String target, String linkName) throws IOException {
-        Process process;
-        if (System.getProperty("os.name").contains("Windows")) {
-            File linkNameFile = new File(linkName).getAbsoluteFile();
-            linkNameFile.getParentFile().mkdirs();
-            process = new ProcessBuilder().command("cmd", "/C", "mklink", linkNameFile.getAbsolutePath(), target.replace('/', '\\')).start();
-        } else {
-            process = new ProcessBuilder().command("ln", "-s", target, linkName).start();
+        DirectoryUtils.createRelativeSymlink(target, linkName);
+        if (manifest != null) {
+            manifest.addOutput(linkName);
         }
+    }
 
+    /**
+     * Copies an artifact into the package
+     */
+    private void copyFile(File source, File dest) throws IOException {
+        if (copier == null) {
+            ContentRegistry registry = null;
+            if (dedup && packagePath().length() > 0) {
+                registry = ContentRegistry.forPackage(new File(packagePath()).toPath());
+            }
+            copier = new ArtifactCopier(hardlinks, registry);
+        }
+        copier.copy(source.toPath(), dest.toPath());
+        if (manifest != null) {
+            manifest.addOutput(dest.getPath());
+        }
+    }
+
+    /**
+     * Installs a jar into the package, repacking it if enabled
+     */
+    private void installJar(File jarFile, File dest) throws IOException {
+        if (!repack) {
+            copyFile(jarFile, dest);
+            return;
+        }
+
+        if (repacker == null) {
+            repacker = new JarRepacker(JarRepacker.getChangelogTimestamp(), repackStoreThreshold);
+        }
+        // the jar is repacked next to the original jar and then copied like the other
+        // artifacts, to be deduplicated or hardlinked
+        File repacked = File.createTempFile(jarFile.getName(), ".repack", jarFile.getAbsoluteFile().getParentFile());
         try {
-            process.waitFor();
-        } catch (InterruptedException e) {
-            throw new IOException(e);
+            repacker.repack(jarFile, repacked);
+            copyFile(repacked, dest);
+        } finally {
+            repacked.delete();
         }
     }
 
@@ -564,7 +729,8 @@ public class SysInstallMojo extends AbstractMojo {
         if (destinationDirectory.isDirectory()) {
             return;
         }
-        if (!destinationDirectory.mkdirs()) {
+        // The directory may have been created concurrently by the installation of another module
+        if (!destinationDirectory.mkdirs() && !destinationDirectory.isDirectory()) {
             throw new IOException("cannot create destination directory " + path);
         }
     }
@@ -576,10 +742,10 @@ public class SysInstallMojo extends AbstractMojo {
         File jarFile = new File(fullJarName());
         if (jarFile.exists()) {
             getLog().info("Install jar file into Maven repo: " + jarFile.getAbsolutePath());
-            FileUtils.copyFile(jarFile, new File(jarDestPath()));
+            installJar(jarFile, new File(jarDestPath()));
             if (debianVersion != null && !debianVersion.equals(version)) {
                 mkdir(debianFullRepoPath());
-                link(jarDestRelPath(), debianJarDestPath());
+                link(jarDestPath(), debianJarDestPath());
             }
         }
     }
@@ -592,12 +758,92 @@ public class SysInstallMojo extends AbstractMojo {
         if (jarFile.exists()) {
             getLog().info("Install jar for " + artifactId + " into /usr/share/java");
             mkdir(compatSharePath());
-            FileUtils.copyFile(jarFile, new File(versionedFullCompatPath()));
+            installJar(jarFile, new File(versionedFullCompatPath()));
             if (!noUsjVersionless) {
-                link(destUsjVersionnedJarName(), fullCompatPath());
-                link(destUsjVersionnedJarName(), versionedFullCompatPath());
+                link(versionedFullCompatPath(), fullCompatPath());
+            }
+            if (packageIndex) {
+                indexJar(jarFile);
+            }
+            if (classpathFiles) {
+                writeClasspathFile();
+            }
+        }
+    }
+
+    /**
+     * Writes the runtime classpath of the jar installed into /usr/share/java, starting with the jar itself
+     */
+    private void writeClasspathFile() throws IOException {
+        List<File> packageDirs = new ArrayList<File>();
+        if (packagePath().length() > 0) {
+            // The packages built by the source package, the package of the jar first
+            packageDirs.add(new File(packagePath()));
+            File[] dirs = debianDir.listFiles();
+            if (dirs != null) {
+                for (File dir : dirs) {
+                    if (new File(dir, "usr/share/maven-repo").isDirectory() && !packageDirs.contains(dir)) {
+                        packageDirs.add(dir);
+                    }
+                }
             }
         }
+
+        RuntimeClasspath resolver = new RuntimeClasspath(packageDirs, debianMavenRepo);
+        List<String> classpath = new ArrayList<String>();
+        classpath.add("/usr/share/java/" + (noUsjVersionless ? destUsjVersionnedJarName() : destUsjJarName()));
+        classpath.addAll(resolver.resolve(new File(cleanedPomSrcPath())));
+        for (org.apache.maven.model.Dependency dependency : resolver.getMissing()) {
+            getLog().warn("Runtime dependency " + dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion()
+                    + " not found, it's not in the classpath of " + artifactId);
+        }
+
+        File classpathFile = classpathFile();
+        getLog().info("Write the runtime classpath of " + destUsjJarName() + " in " + classpathFile.getName());
+        StringBuilder content = new StringBuilder();
+        for (String entry : classpath) {
+            content.append(content.length() > 0 ? ":" : "").append(entry);
+        }
+        FileUtils.fileWrite(classpathFile, "UTF-8", content + "\n");
+        if (manifest != null) {
+            manifest.addOutput(classpathFile.getPath());
+        }
+    }
+
+    /**
+     * Example: /usr/share/java/xml-apis.classpath
+     */
+    private File classpathFile() {
+        String name = destUsjJarName();
+        return new File(compatSharePath() + name.substring(0, name.length() - ".jar".length()) + ".classpath");
+    }
+
+    /**
+     * Adds the packages of the jar to the index of the jars installed into /usr/share/java by the package
+     */
+    private void indexJar(File jarFile) throws IOException {
+        File index = packageIndexFile();
+        String jarName = noUsjVersionless ? destUsjVersionnedJarName() : destUsjJarName();
+        getLog().info("Index the packages of " + jarName + " in " + index.getName());
+        PackageIndex.update(index, jarName, PackageIndex.listPackages(jarFile));
+        if (manifest != null) {
+            manifest.addIndexedJar(index, jarName);
+        }
+    }
+
+    /**
+     * Removes the jar from the index of the jars installed into /usr/share/java by the package
+     */
+    protected void unindexJar() throws IOException {
+        File index = packageIndexFile();
+        String jarName = noUsjVersionless ? destUsjVersionnedJarName() : destUsjJarName();
+        if (PackageIndex.remove(index, jarName)) {
+            getLog().info("Removed " + jarName + " from " + index.getName());
+        }
+    }
+
+    private File packageIndexFile() {
+        return new File(compatSharePath() + destPackage + ".jarindex");
     }
 
     /**
@@ -607,45 +853,46 @@ public class SysInstallMojo extends AbstractMojo {
         File jarFile = new File(fullJarName());
         if (jarFile.exists()) {
             mkdir(fullRepoPath());
-            String targetPath = "";
-
-            targetPath = versionedFullCompatPath();
+            String targetPath = versionedFullCompatPath();
 
-            link(DirectoryUtils.relativePath(fullRepoPath(), targetPath), jarDestPath());
+            link(targetPath, jarDestPath());
             if (debianVersion != null && !debianVersion.equals(version)) {
                 mkdir(debianFullRepoPath());
-                link(DirectoryUtils.relativePath(debianFullRepoPath(), targetPath), debianJarDestPath());
+                link(targetPath, debianJarDestPath());
             }
         }
     }
 
     /**
-     * clean the pom.xml
+     * Returns the pom to clean: the saved pom if it exists as it was untouched by the transform operation
      */
-    private void cleanPom() {
-        File pomOptionsFile = new File(debianDir, debianPackage + ".poms");
-        ListOfPOMs listOfPOMs = new ListOfPOMs(pomOptionsFile);
-
-        // Use the saved pom before cleaning as it was untouched by the transform operation
-        String pomPath = pomSrcPath() + ".save";
-        File pomFile = new File(pomPath);
-        String originalPomPath = pomSrcPath();
-        File originalPom = new File(originalPomPath);
+    private File pomToClean() {
+        File pomFile = new File(pomSrcPath() + ".save");
         if (!pomFile.exists()) {
-            pomFile = originalPom;
-            pomPath = originalPomPath;
+            pomFile = new File(pomSrcPath());
         }
+        return pomFile;
+    }
 
-        String relativePomPath = originalPom.getAbsolutePath();
-        relativePomPath = relativePomPath.substring(debianDir.getParentFile().getAbsolutePath().length() + 1);
-
-        POMOptions pomOption = listOfPOMs.getPOMOptions(relativePomPath);
+    /**
+     * Returns the path of the pom relatively to the root of the source package
+     */
+    private String relativePomPath() {
+        String relativePomPath = new File(pomSrcPath()).getAbsolutePath();
+        return relativePomPath.substring(debianDir.getParentFile().getAbsolutePath().length() + 1);
+    }
 
-        if (pomOption != null && pomOption.isIgnore()) {
-            throw new RuntimeException("POM file " + pomFile + " should be ignored");
+    /**
+     * read the options of the pom in debian/&lt;package&gt;.poms
+     */
+    protected void readPomOptions() {
+        if (listOfPOMs == null) {
+            listOfPOMs = new ListOfPOMs(new File(debianDir, debianPackage + ".poms"));
         }
 
-        if (pomOption != null) {
+        pomOption = listOfPOMs.getPOMOptions(relativePomPath());
+
+        if (pomOption != null && !pomOption.isIgnore()) {
             if (pomOption.getDestPackage() != null) {
                 destPackage = pomOption.getDestPackage();
             }
@@ -684,74 +931,68 @@ public class SysInstallMojo extends AbstractMojo {
 
             relocatedArtifacts = pomOption.getRelocatedArtifacts();
         }
+    }
+
+    /**
+     * Tells if the pom is ignored in debian/&lt;package&gt;.poms
+     */
+    protected boolean isIgnored() {
+        return pomOption != null && pomOption.isIgnore();
+    }
 
-        List<String> params = new ArrayList<String>();
-        params.add("--keep-pom-version");
+    /**
+     * clean the pom.xml
+     */
+    protected void cleanPom() throws IOException {
+        cleanPom(new File(cleanedPomSrcPath()), new File(debianPomSrcPath()));
+    }
+
+    /**
+     * clean the pom.xml into the specified cleaned and debian poms
+     */
+    protected void cleanPom(File cleanedPomFile, File debianPomFile) throws IOException {
+        File pomFile = pomToClean();
         boolean hasPackageVersion = pomOption != null && pomOption.getHasPackageVersion();
-        if (hasPackageVersion) {
-            params.add("--has-package-version");
-        }
+        File mavenRulesFile = new File(debianDir, mavenRules).getAbsoluteFile();
+        File mavenIgnoreRulesFile = new File(debianDir, mavenIgnoreRules).getAbsoluteFile();
+        File mavenPublishedRulesFile = new File(debianDir, mavenPublishedRules).getAbsoluteFile();
 
-        params.add("--package=" + destPackage);
-        String mavenRulesPath = new File(debianDir, mavenRules).getAbsolutePath();
-        params.add("--rules=" + mavenRulesPath);
-        String mavenIgnoreRulesPath = new File(debianDir, mavenIgnoreRules).getAbsolutePath();
-        params.add("--ignore-rules=" + mavenIgnoreRulesPath);
-        String mavenPublishedRulesPath = new File(debianDir, mavenPublishedRules).getAbsolutePath();
-        params.add("--published-rules=" + mavenPublishedRulesPath);
+        DebianPomCleaner cleaner = DebianPomCleaner.forRules(mavenRulesFile, mavenIgnoreRulesFile, mavenPublishedRulesFile);
+        cleaner.setDebianPackage(destPackage);
+        cleaner.setHasPackageVersion(hasPackageVersion);
 
         getLog().info("Cleaning pom file: " + pomFile + " with options:");
         getLog().info("\t--keep-pom-version --package=" + destPackage + (hasPackageVersion ? " --has-package-version" : ""));
-        getLog().info("\t--rules=" + mavenRulesPath);
-        getLog().info("\t--ignore-rules=" + mavenIgnoreRulesPath);
-        getLog().info("\t--published-rules=" + mavenPublishedRulesPath);
+        getLog().info("\t--rules=" + mavenRulesFile);
+        getLog().info("\t--ignore-rules=" + mavenIgnoreRulesFile);
+        getLog().info("\t--published-rules=" + mavenPublishedRulesFile);
 
         // add optional --no-parent option
         if (pomOption != null && pomOption.isNoParent()) {
-            params.add("--no-parent");
+            cleaner.setNoParent(true);
             getLog().info("\t--no-parent");
         }
 
         // add options --keep-elements option
         if (pomOption != null && pomOption.getKeepElements() != null) {
-            params.add("--keep-elements=" + pomOption.getKeepElements());
+            cleaner.setKeepElements(pomOption.getKeepElements());
             getLog().info("\t--keep-elements=" + pomOption.getKeepElements());
         }
 
-        params.add(pomFile.getAbsolutePath());
-        params.add(cleanedPomSrcPath());
-        params.add(cleanedPomPropertiesSrcPath());
-
-        POMCleaner.main(params.toArray(new String[params.size()]));
-
-        Properties pomProperties = new Properties();
-        try {
-            pomProperties.load(new FileReader(cleanedPomPropertiesSrcPath()));
-        } catch (IOException ex) {
-            ex.printStackTrace();
-        }
-        destGroupId = pomProperties.getProperty("groupId");
-        destArtifactId = pomProperties.getProperty("artifactId");
-        debianVersion = pomProperties.getProperty("debianVersion");
-
-        if (debianVersion != null && !debianVersion.equals(version)) {
-            params.remove(0);
-            params.remove(params.size() - 1);
-            params.remove(params.size() - 1);
-            params.add(debianPomSrcPath());
-            params.add(debianPomPropertiesSrcPath());
-
-            POMCleaner.main(params.toArray(new String[params.size()]));
-        }
+        DebianPomCleaner.CleanedPom cleanedPom = cleaner.clean(pomFile, cleanedPomFile, debianPomFile);
+        pomInfo = cleanedPom.getPomInfo();
+        destGroupId = cleanedPom.getGroupId();
+        destArtifactId = cleanedPom.getArtifactId();
+        debianVersion = cleanedPom.getDebianVersion();
     }
 
     /**
      * copy the pom.xml
      */
     protected void copyPom() throws IOException {
-        FileUtils.copyFile(new File(cleanedPomSrcPath()), new File(pomDestPath()));
+        copyFile(new File(cleanedPomSrcPath()), new File(pomDestPath()));
         if (debianVersion != null && !debianVersion.equals(version)) {
-            FileUtils.copyFile(new File(debianPomSrcPath()), new File(debianPomDestPath()));
+            copyFile(new File(debianPomSrcPath()), new File(debianPomDestPath()));
         }
     }
 
@@ -759,41 +1000,26 @@ public class SysInstallMojo extends AbstractMojo {
      * Install the relocated poms
      */
     protected void relocatePoms() throws IOException {
-        if (relocatedArtifacts != null) {
+        if (relocatedArtifacts != null && !relocatedArtifacts.isEmpty()) {
+            String type = new File(fullJarName()).exists() ? "jar" : "pom";
+            RelocationPomWriter writer = new RelocationPomWriter(destPackage, destGroupId, destArtifactId, debianVersion);
             for (Dependency relocated : relocatedArtifacts) {
-                relocated.setType(new File(fullJarName()).exists() ? "jar" : "pom");
+                relocated.setType(type);
 
                 getLog().info("Relocating " + relocated.formatCompactNotation());
 
                 File relocatedPath = new File(packagePath() + "/usr/share/maven-repo" + artifactPath(relocated.getGroupId(), relocated.getArtifactId(), relocated.getVersion()));
-                File relocatedPom = new File(relocatedPath, pomName(relocated.getArtifactId(), relocated.getVersion()));
-                String pom = createRelocationPom(relocated);
+                writer.add(relocated, type, new File(relocatedPath, pomName(relocated.getArtifactId(), relocated.getVersion())));
+            }
 
-                FileUtils.copyStreamToFile(new RawInputStreamFacade(new ByteArrayInputStream(pom.getBytes("UTF-8"))), relocatedPom);
+            for (File relocatedPom : writer.write()) {
+                if (manifest != null) {
+                    manifest.addOutput(relocatedPom.getPath());
+                }
             }
         }
     }
 
-    private String createRelocationPom(Dependency relocateArtifact) {
-        return "<project>\n" +
-                "  <modelVersion>4.0.0</modelVersion>\n" +
-                "  <groupId>" + relocateArtifact.getGroupId() + "</groupId>\n" +
-                "  <artifactId>" + relocateArtifact.getArtifactId() + "</artifactId>\n" +
-                "  <version>" + relocateArtifact.getVersion() + "</version>\n" +
-                "  <packaging>" + relocateArtifact.getType() + "</packaging>\n" +
-                "  <properties>\n" +
-                "    <debian.package>" + destPackage + "</debian.package>\n" +
-                "  </properties>\n" +
-                "  <distributionManagement>\n" +
-                "    <relocation>\n" +
-                "      <groupId>" + destGroupId + "</groupId>\n" +
-                "      <artifactId>" + destArtifactId + "</artifactId>\n" +
-                "      <version>" + debianVersion + "</version>\n" +
-                "    </relocation>\n" +
-                "  </distributionManagement>\n" +
-                "</project>";
-    }
-
     /**
      * Prepare the destination  directories: remove the directory symlinks that were created
      * by copy-repo.sh if they exist as they point to a directory owned by root and that cannot
@@ -809,6 +1035,27 @@ public class SysInstallMojo extends AbstractMojo {
      * do the actual work
      */
     protected void runMojo() throws IOException {
+        readPomOptions();
+        if (isIgnored()) {
+            throw new RuntimeException("POM file " + pomToClean() + " should be ignored");
+        }
+
+        if (isIncremental()) {
+            File manifestDir = manifestDir();
+            for (String removed : InstallManifest.removeStaleModules(manifestDir, debianDir.getParentFile(), listOfPOMs, debianDir)) {
+                getLog().info("Removed the files installed by " + removed);
+            }
+
+            manifest = createManifest();
+            addInputs(manifest);
+            // the classpath file depends on the poms of the other modules and of the system
+            // repository, which aren't inputs of the manifest
+            if (!classpathFiles && manifest.isUpToDate()) {
+                getLog().info("Skipping the installation of " + relativePomPath() + ", its inputs haven't changed");
+                return;
+            }
+        }
+
         cleanPom();
         prepareDestDirs();
         copyPom();
@@ -819,5 +1066,93 @@ public class SysInstallMojo extends AbstractMojo {
         } else {
             copyJar();
         }
+
+        if (manifest != null) {
+            manifest.save(debianDir);
+        }
+    }
+
+    /**
+     * The directory of the manifests of the incremental installations
+     */
+    protected File manifestDir() {
+        return new File(debianDir, ".debhelper/maven-debian-helper/install");
+    }
+
+    /**
+     * Returns the manifest of the installation of the module
+     */
+    protected InstallManifest createManifest() {
+        return new InstallManifest(manifestDir(), relativePomPath());
+    }
+
+    /**
+     * Returns the files, links and directories installed for the module. The coordinates
+     * of the artifact must have been cleaned as they are for the installation.
+     */
+    protected List<String> installedPaths() {
+        List<String> paths = new ArrayList<String>();
+        paths.add(fullRepoPath());
+        if (debianVersion != null && !debianVersion.equals(version)) {
+            paths.add(debianFullRepoPath());
+        }
+        if (relocatedArtifacts != null) {
+            for (Dependency relocated : relocatedArtifacts) {
+                paths.add(packagePath() + "/usr/share/maven-repo" + artifactPath(relocated.getGroupId(), relocated.getArtifactId(), relocated.getVersion())
+                        + pomName(relocated.getArtifactId(), relocated.getVersion()));
+            }
+        }
+        paths.add(fullCompatPath());
+        if (installToUsj) {
+            paths.add(versionedFullCompatPath());
+            paths.add(classpathFile().getPath());
+        }
+        return paths;
+    }
+
+    /**
+     * Tells if the installation is skipped when the inputs of the module haven't changed
+     * since the previous installation. Only the installations into debian/ are incremental.
+     */
+    protected boolean isIncremental() {
+        return false;
+    }
+
+    /**
+     * Adds to the manifest the files and the options determining the files installed
+     */
+    protected void addInputs(InstallManifest manifest) throws IOException {
+        manifest.addInput("mojo", getClass().getName());
+        manifest.addInput("groupId", groupId);
+        manifest.addInput("artifactId", artifactId);
+        manifest.addInput("version", version);
+        manifest.addInput("jar", jarName());
+        manifest.addInput("destPackage", destPackage);
+        manifest.addInput("destination", fullRepoPath());
+        manifest.addInput("installToUsj", installToUsj);
+        manifest.addInput("usjName", usjName);
+        manifest.addInput("usjVersion", usjVersion);
+        manifest.addInput("noUsjVersionless", noUsjVersionless);
+        manifest.addInput("hardlinks", hardlinks);
+        manifest.addInput("dedup", dedup);
+        manifest.addInput("packageIndex", packageIndex);
+        manifest.addInput("classpathFiles", classpathFiles);
+        manifest.addInput("repack", repack ? repackStoreThreshold + "@" + JarRepacker.getChangelogTimestamp() : "no");
+        if (pomOption != null) {
+            manifest.addInput("hasPackageVersion", pomOption.getHasPackageVersion());
+            manifest.addInput("noParent", pomOption.isNoParent());
+            manifest.addInput("keepElements", pomOption.getKeepElements());
+        }
+        if (relocatedArtifacts != null) {
+            for (Dependency relocated : relocatedArtifacts) {
+                manifest.addInput("relocated", relocated.formatCompactNotation());
+            }
+        }
+
+        manifest.addInputFile(pomToClean());
+        manifest.addInputFile(new File(fullJarName()));
+        manifest.addInputFile(new File(debianDir, mavenRules));
+        manifest.addInputFile(new File(debianDir, mavenIgnoreRules));
+        manifest.addInputFile(new File(debianDir, mavenPublishedRules));
     }
 }
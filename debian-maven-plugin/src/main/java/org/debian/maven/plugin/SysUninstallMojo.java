@@ -16,15 +16,17 @@
 
 package org.debian.maven.plugin;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.maven.plugins.annotations.Mojo;
-import org.codehaus.plexus.util.FileUtils;
 
 /**
  * Remove installed files and symlinks from the /usr/share hierarchy
  */
-@Mojo(name = "sysuninstall")
+@Mojo(name = "sysuninstall", threadSafe = true)
 public class SysUninstallMojo extends SysInstallMojo {
     // ----------------------------------------------------------------------
     // Mojo parameters
@@ -38,9 +40,49 @@ public class SysUninstallMojo extends SysInstallMojo {
     // Private methods
     // ----------------------------------------------------------------------
 
+    /**
+     * Removes the files recorded in the manifest of the installation if it's incremental,
+     * and the files, links and directories created by the installation of the module
+     * as recomputed from the pom and its options. Nothing is written into the project.
+     */
     @Override
     protected void runMojo() throws IOException {
-        FileUtils.forceDelete(fullRepoPath());
-        FileUtils.fileDelete(fullCompatPath());
+        readPomOptions();
+        if (isIgnored()) {
+            getLog().info("Skipping the uninstallation of " + getBasedir() + ", its pom is ignored");
+            return;
+        }
+        // the pom is cleaned to compute the paths installed, but not into the project
+        File cleanedPom = File.createTempFile("pom", ".xml");
+        File debianPom = File.createTempFile("pom.debian", ".xml");
+        try {
+            cleanPom(cleanedPom, debianPom);
+        } finally {
+            cleanedPom.delete();
+            debianPom.delete();
+        }
+
+        List<String> paths = new ArrayList<String>();
+        InstallManifest manifest = null;
+        if (isIncremental()) {
+            manifest = createManifest();
+            paths.addAll(manifest.getPreviousOutputs());
+            manifest.unindexPreviousJars();
+        }
+        paths.addAll(installedPaths());
+
+        if (isInstallToUsj()) {
+            unindexJar();
+        }
+
+        List<String> removed = new Uninstaller(new File(packagePath() + "/usr/share/maven-repo")).uninstall(paths);
+        for (String path : removed) {
+            getLog().debug("Removed " + path);
+        }
+        getLog().info("Removed " + removed.size() + " files and directories installed by " + getGroupId() + ":" + getArtifactId());
+
+        if (manifest != null) {
+            manifest.delete();
+        }
     }
 }
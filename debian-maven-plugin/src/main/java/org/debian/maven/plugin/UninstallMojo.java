@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * Remove the files and symlinks installed into the debian/ directory
+ */
+@Mojo(name = "uninstall", threadSafe = true)
+public class UninstallMojo extends SysUninstallMojo {
+
+    // ----------------------------------------------------------------------
+    // Private methods
+    // ----------------------------------------------------------------------
+
+    /**
+     * Returns e.g. $CURDIR/debian/libfoobar-java
+     */
+    @Override
+    protected String packagePath() {
+        return getDebianDir() + "/" + getDestPackage();
+    }
+
+    /**
+     * The files recorded by the incremental installations into debian/ are removed too
+     */
+    @Override
+    protected boolean isIncremental() {
+        return true;
+    }
+}
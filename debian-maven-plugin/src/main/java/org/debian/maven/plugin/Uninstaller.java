@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Deletes the files, links and directory trees installed. The directory trees are walked
+ * in parallel, the symbolic links are deleted without being followed. The parent
+ * directories left empty are removed up to the root directory.
+ */
+class Uninstaller {
+
+    /** The directory containing the files installed, it's never removed */
+    private final Path root;
+
+    private final Queue<String> removed = new ConcurrentLinkedQueue<String>();
+
+    private final Queue<IOException> failures = new ConcurrentLinkedQueue<IOException>();
+
+    /**
+     * @param root the directory containing the files installed, the empty directories left
+     *             under it are removed
+     */
+    Uninstaller(File root) {
+        this.root = root.getAbsoluteFile().toPath().normalize();
+    }
+
+    /**
+     * Deletes the files and the directory trees
+     *
+     * @return the files, links and directories removed, sorted by path
+     */
+    public List<String> uninstall(Collection<String> paths) throws IOException {
+        final List<DeleteTask> tasks = new ArrayList<DeleteTask>();
+        for (String path : new LinkedHashSet<String>(paths)) {
+            tasks.add(new DeleteTask(new File(path).getAbsoluteFile().toPath().normalize()));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        if (!failures.isEmpty()) {
+            IOException failure = failures.remove();
+            for (IOException e : failures) {
+                failure.addSuppressed(e);
+            }
+            throw failure;
+        }
+
+        for (DeleteTask task : tasks) {
+            removeEmptyParents(task.path);
+        }
+
+        List<String> result = new ArrayList<String>(removed);
+        Collections.sort(result);
+        return result;
+    }
+
+    private void removeEmptyParents(Path path) throws IOException {
+        Path dir = path.getParent();
+        while (dir != null && dir.startsWith(root) && !dir.equals(root)) {
+            try {
+                if (!Files.deleteIfExists(dir)) {
+                    break;
+                }
+            } catch (DirectoryNotEmptyException e) {
+                break;
+            }
+            removed.add(dir.toString());
+            dir = dir.getParent();
+        }
+    }
+
+    /**
+     * Deletes a file, or a directory after its content. The sub directories are deleted by forked tasks.
+     */
+    private class DeleteTask extends RecursiveAction {
+
+        private final Path path;
+
+        DeleteTask(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    List<DeleteTask> subdirs = new ArrayList<DeleteTask>();
+                    DirectoryStream<Path> children = Files.newDirectoryStream(path);
+                    try {
+                        for (Path child : children) {
+                            if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                                subdirs.add(new DeleteTask(child));
+                            } else {
+                                delete(child);
+                            }
+                        }
+                    } finally {
+                        children.close();
+                    }
+                    invokeAll(subdirs);
+                }
+                delete(path);
+            } catch (IOException e) {
+                failures.add(e);
+            }
+        }
+
+        private void delete(Path file) throws IOException {
+            if (Files.deleteIfExists(file)) {
+                removed.add(file.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.debian.maven.plugin.ArtifactCopier.Strategy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactCopierTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testCopy() throws Exception {
+        Path source = createFile("target/foo.jar", "foo");
+        Path dest = tmpDir.getRoot().toPath().resolve("debian/libfoo-java/usr/share/java/foo.jar");
+
+        ArtifactCopier copier = new ArtifactCopier(false);
+        assertEquals(Strategy.TRANSFER, copier.copy(source, dest));
+
+        assertArrayEquals(Files.readAllBytes(source), Files.readAllBytes(dest));
+        assertEquals("The modification time should be preserved", Files.getLastModifiedTime(source), Files.getLastModifiedTime(dest));
+        assertFalse(Files.isSameFile(source, dest));
+        assertEquals(3, copier.getBytes(Strategy.TRANSFER));
+        assertEquals("dedup: 0, reflink: 0, hardlink: 0, transfer: 3", copier.getSummary());
+    }
+
+    @Test
+    public void testHardlink() throws Exception {
+        Path source = createFile("target/foo.jar", "foo");
+        Path dest = tmpDir.getRoot().toPath().resolve("debian/libfoo-java/usr/share/java/foo.jar");
+
+        ArtifactCopier copier = new ArtifactCopier(true);
+        assertEquals(Strategy.HARDLINK, copier.copy(source, dest));
+        assertTrue(Files.isSameFile(source, dest));
+        assertEquals(3, copier.getBytes(Strategy.HARDLINK));
+
+        // the source is now shared, another installation copies it
+        Path dest2 = tmpDir.getRoot().toPath().resolve("debian/libfoo-java/usr/share/java/foo-1.0.jar");
+        assertEquals(Strategy.TRANSFER, copier.copy(source, dest2));
+    }
+
+    @Test
+    public void testReplaceLinkedDestination() throws Exception {
+        Path source = createFile("target/foo.jar", "foo");
+        Path dest = tmpDir.getRoot().toPath().resolve("debian/libfoo-java/usr/share/java/foo.jar");
+        new ArtifactCopier(true).copy(source, dest);
+
+        // installing another file must not modify the source linked
+        Path previous = createFile("target/previous.jar", "previous");
+        Files.setLastModifiedTime(previous, FileTime.fromMillis(0));
+        new ArtifactCopier(false).copy(previous, dest);
+
+        assertEquals("previous", new String(Files.readAllBytes(dest), "UTF-8"));
+        assertEquals("foo", new String(Files.readAllBytes(source), "UTF-8"));
+        assertEquals(FileTime.fromMillis(0), Files.getLastModifiedTime(dest));
+    }
+
+    @Test
+    public void testDedup() throws Exception {
+        Path packageDir = tmpDir.getRoot().toPath().resolve("debian/libfoo-java");
+        ArtifactCopier copier = new ArtifactCopier(false, new ContentRegistry(packageDir));
+
+        Path jar = packageDir.resolve("usr/share/java/foo.jar");
+        assertEquals(Strategy.TRANSFER, copier.copy(createFile("foo/target/foo.jar", "foo"), jar));
+        assertEquals(Strategy.TRANSFER, copier.copy(createFile("bar/target/bar.jar", "bar"), packageDir.resolve("usr/share/java/bar.jar")));
+
+        // same content as foo.jar
+        Path testJar = packageDir.resolve("usr/share/java/foo-tests.jar");
+        assertEquals(Strategy.DEDUP, copier.copy(createFile("foo/target/foo-tests.jar", "foo"), testJar));
+        assertTrue(Files.isSameFile(jar, testJar));
+        assertEquals("dedup: 3, reflink: 0, hardlink: 0, transfer: 6", copier.getSummary());
+
+        // the files outside of the package aren't linked
+        Path outside = tmpDir.getRoot().toPath().resolve("repo/foo.jar");
+        assertEquals(Strategy.TRANSFER, copier.copy(createFile("foo/target/foo-copy.jar", "foo"), outside));
+    }
+
+    private Path createFile(String path, String content) throws Exception {
+        Path file = tmpDir.getRoot().toPath().resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes("UTF-8"));
+        return file;
+    }
+}
@@ -17,15 +17,66 @@
 package org.debian.maven.plugin;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class DirectoryUtilsTest {
 
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testCreateRelativeSymlink() throws Exception {
+        File target = createFile("usr/share/maven-repo/my/test/file.jar");
+        String link = tmpDir.getRoot() + "/usr/share/java/file.jar";
+
+        assertEquals(Paths.get("../maven-repo/my/test/file.jar"), DirectoryUtils.createRelativeSymlink(target.getPath(), link));
+        assertEquals(Paths.get("../maven-repo/my/test/file.jar"), Files.readSymbolicLink(Paths.get(link)));
+        assertTrue(Files.isSameFile(target.toPath(), Paths.get(link)));
+
+        // creating the same link again is harmless
+        DirectoryUtils.createRelativeSymlink(target.getPath(), link);
+        assertEquals(Paths.get("../maven-repo/my/test/file.jar"), Files.readSymbolicLink(Paths.get(link)));
+    }
+
+    @Test
+    public void testReplaceSymlink() throws Exception {
+        File target = createFile("usr/share/java/file-1.1.jar");
+        Path link = Paths.get(tmpDir.getRoot() + "/usr/share/java/file.jar");
+        Files.createSymbolicLink(link, Paths.get("file-1.0.jar"));
+
+        DirectoryUtils.createRelativeSymlink(target.getPath(), link.toString());
+        assertEquals(Paths.get("file-1.1.jar"), Files.readSymbolicLink(link));
+    }
+
     @Test
-    public void testRelativePath() {
+    public void testExistingFile() throws Exception {
+        File target = createFile("usr/share/java/file-1.0.jar");
+        File file = createFile("usr/share/java/file.jar");
 
-        assertEquals("../maven-repo/my/test/file.jar", DirectoryUtils.relativePath("/usr/share/java", "/usr/share/maven-repo/my/test/file.jar"));
+        try {
+            DirectoryUtils.createRelativeSymlink(target.getPath(), file.getPath());
+            fail("The existing file should not be replaced");
+        } catch (IOException e) {
+            assertTrue(Files.isRegularFile(file.toPath(), LinkOption.NOFOLLOW_LINKS));
+        }
+    }
 
+    private File createFile(String path) throws IOException {
+        File file = new File(tmpDir.getRoot(), path);
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+        return file;
     }
 }
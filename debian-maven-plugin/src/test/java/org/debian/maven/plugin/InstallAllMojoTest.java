@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InstallAllMojoTest {
+
+    private File debianDir;
+    private File packageDir;
+
+    @Before
+    public void setUp() throws Exception {
+        debianDir = new File(getClass().getResource("/plexus-compiler/debian/maven.rules").toURI()).getParentFile();
+        packageDir = new File(debianDir, "libplexus-compiler-java");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(packageDir);
+        FileUtils.deleteDirectory(new File(debianDir, ".debhelper"));
+    }
+
+    @Test
+    public void testInstallAllModules() throws Exception {
+        InstallAllMojo mojo = new InstallAllMojo();
+        mojo.setReactorProjects(Arrays.asList(createProject("plexus-compiler-api"), createProject("plexus-compiler-test")));
+        mojo.setDebianDir(debianDir);
+        mojo.setDebianPackage("libplexus-compiler-java");
+        mojo.setMavenRules("maven.rules");
+        mojo.setMavenIgnoreRules("maven.ignoreRules");
+        mojo.setMavenPublishedRules("maven.publishedRules");
+        mojo.setInstallToUsj(false);
+        mojo.setThreads(2);
+
+        mojo.execute();
+
+        for (String artifactId : new String[] {"plexus-compiler-api", "plexus-compiler-test"}) {
+            String repoPath = "usr/share/maven-repo/org/codehaus/plexus/" + artifactId;
+            File versionedJar = new File(packageDir, repoPath + "/1.8.2/" + artifactId + "-1.8.2.jar");
+            assertTrue(versionedJar + " not installed", versionedJar.isFile());
+            assertTrue(new File(packageDir, repoPath + "/1.8.2/" + artifactId + "-1.8.2.pom").isFile());
+
+            File debianJar = new File(packageDir, repoPath + "/1.x/" + artifactId + "-1.x.jar");
+            assertSameFile(versionedJar, debianJar);
+            assertTrue(new File(packageDir, repoPath + "/1.x/" + artifactId + "-1.x.pom").isFile());
+        }
+    }
+
+    @Test
+    public void testIncrementalInstall() throws Exception {
+        InstallAllMojo mojo = new InstallAllMojo();
+        mojo.setReactorProjects(Arrays.asList(createProject("plexus-compiler-api"), createProject("plexus-compiler-test")));
+        mojo.setDebianDir(debianDir);
+        mojo.setDebianPackage("libplexus-compiler-java");
+        mojo.setMavenRules("maven.rules");
+        mojo.setMavenIgnoreRules("maven.ignoreRules");
+        mojo.setMavenPublishedRules("maven.publishedRules");
+        mojo.setInstallToUsj(false);
+
+        mojo.execute();
+
+        String repoPath = "usr/share/maven-repo/org/codehaus/plexus/plexus-compiler-api";
+        File pom = new File(packageDir, repoPath + "/1.8.2/plexus-compiler-api-1.8.2.pom");
+        FileUtils.fileWrite(pom, "unchanged");
+
+        // the inputs haven't changed, the module isn't installed again
+        mojo.execute();
+        assertEquals("unchanged", FileUtils.fileRead(pom));
+
+        // a file installed is missing, the module is installed again
+        File debianJar = new File(packageDir, repoPath + "/1.x/plexus-compiler-api-1.x.jar");
+        assertTrue(debianJar.delete());
+        mojo.execute();
+        assertTrue(debianJar.exists());
+        assertFalse("unchanged".equals(FileUtils.fileRead(pom)));
+    }
+
+    @Test
+    public void testIncrementalInstallWithClasspathFiles() throws Exception {
+        InstallAllMojo mojo = new InstallAllMojo();
+        mojo.setReactorProjects(Arrays.asList(createProject("plexus-compiler-api"), createProject("plexus-compiler-test")));
+        mojo.setDebianDir(debianDir);
+        mojo.setDebianPackage("libplexus-compiler-java");
+        mojo.setMavenRules("maven.rules");
+        mojo.setMavenIgnoreRules("maven.ignoreRules");
+        mojo.setMavenPublishedRules("maven.publishedRules");
+        mojo.setClasspathFiles(true);
+
+        mojo.execute();
+
+        File pom = new File(packageDir, "usr/share/maven-repo/org/codehaus/plexus/plexus-compiler-api/1.8.2/plexus-compiler-api-1.8.2.pom");
+        FileUtils.fileWrite(pom, "unchanged");
+
+        // the classpath may depend on the other modules, the module is always installed again
+        mojo.execute();
+        assertFalse("unchanged".equals(FileUtils.fileRead(pom)));
+    }
+
+    private MavenProject createProject(String artifactId) {
+        File basedir = new File(debianDir.getParentFile(), artifactId);
+
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.codehaus.plexus");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.8.2");
+        project.setFile(new File(basedir, "pom.xml"));
+        project.getBuild().setDirectory(new File(basedir, "target").getAbsolutePath());
+        project.getBuild().setFinalName(artifactId + "-1.8.2");
+        return project;
+    }
+
+    /**
+     * Checks if the actual file is a link to the expected file.
+     */
+    private void assertSameFile(File expected, File actual) throws IOException {
+        if (!System.getProperty("os.name").contains("Windows")) {
+            assertEquals(expected.getCanonicalFile(), actual.getCanonicalFile());
+        }
+    }
+}
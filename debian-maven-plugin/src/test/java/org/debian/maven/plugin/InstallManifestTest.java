@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class InstallManifestTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    private File baseDir;
+    private File debianDir;
+    private File manifestDir;
+    private File index;
+
+    @Before
+    public void setUp() throws Exception {
+        baseDir = tmpDir.getRoot();
+        debianDir = new File(baseDir, "debian");
+        manifestDir = new File(debianDir, ".debhelper/maven-debian-helper/install");
+        index = new File(debianDir, "libfoo-java/usr/share/java/libfoo-java.jarindex");
+        new File(baseDir, "foo").mkdirs();
+        new File(baseDir, "foo/pom.xml").createNewFile();
+        new File(baseDir, "bar").mkdirs();
+        new File(baseDir, "bar/pom.xml").createNewFile();
+    }
+
+    private void install(String module, boolean indexed) throws Exception {
+        InstallManifest manifest = new InstallManifest(manifestDir, module + "/pom.xml");
+        manifest.addInput("packageIndex", indexed);
+        if (indexed) {
+            PackageIndex.update(index, module + ".jar", new TreeSet<String>(Arrays.asList("org/" + module)));
+            manifest.addIndexedJar(index, module + ".jar");
+        }
+        manifest.save(debianDir);
+    }
+
+    @Test
+    public void testRemoveStaleModuleKeepsTheSharedIndex() throws Exception {
+        install("foo", true);
+        install("bar", true);
+
+        new File(baseDir, "foo/pom.xml").delete();
+        assertEquals(Arrays.asList("foo/pom.xml"), InstallManifest.removeStaleModules(manifestDir, baseDir, null, debianDir));
+
+        assertTrue(index.isFile());
+        assertEquals(Arrays.asList("bar.jar"), Arrays.asList(PackageIndex.read(index).keySet().toArray()));
+    }
+
+    @Test
+    public void testModuleNoLongerIndexed() throws Exception {
+        install("foo", true);
+        install("bar", true);
+        install("foo", false);
+
+        assertEquals(Arrays.asList("bar.jar"), Arrays.asList(PackageIndex.read(index).keySet().toArray()));
+    }
+
+    @Test
+    public void testUpToDateWithTheSectionOfTheModule() throws Exception {
+        install("foo", true);
+
+        InstallManifest manifest = new InstallManifest(manifestDir, "foo/pom.xml");
+        manifest.addInput("packageIndex", true);
+        assertTrue(manifest.isUpToDate());
+
+        PackageIndex.remove(index, "foo.jar");
+        manifest = new InstallManifest(manifestDir, "foo/pom.xml");
+        manifest.addInput("packageIndex", true);
+        assertFalse("section removed from the index", manifest.isUpToDate());
+    }
+}
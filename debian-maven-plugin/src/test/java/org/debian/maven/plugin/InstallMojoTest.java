@@ -17,12 +17,19 @@
 package org.debian.maven.plugin;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.codehaus.plexus.util.FileUtils;
 import org.junit.After;
@@ -45,6 +52,7 @@ public class InstallMojoTest {
 
         File debianDir = getFileInClasspath("plexus-compiler/debian/maven.rules").getParentFile();
         FileUtils.deleteDirectory(new File(debianDir, "libplexus-compiler-java"));
+        FileUtils.deleteDirectory(new File(debianDir, ".debhelper"));
     }
 
     @Test
@@ -81,6 +89,108 @@ public class InstallMojoTest {
         assertNotNull(debianRepoPom);
     }
 
+    @Test
+    public void testUninstall() throws Exception {
+        File debianDir = getFileInClasspath("plexus-compiler/debian/maven.rules").getParentFile();
+        SysInstallMojo[] mojos = { new InstallMojo(), new UninstallMojo() };
+        for (SysInstallMojo mojo : mojos) {
+            mojo.setBasedir(getFileInClasspath("plexus-compiler/plexus-compiler-test/pom.xml").getParentFile());
+            mojo.setDebianDir(debianDir);
+            mojo.setDestGroupId("org.codehaus.plexus");
+            mojo.setGroupId("org.codehaus.plexus");
+            mojo.setArtifactId("plexus-compiler-test");
+            mojo.setDestArtifactId("plexus-compiler-test");
+            mojo.setInstallToUsj(false);
+            mojo.setJarDir(getFileInClasspath("plexus-compiler/plexus-compiler-test/target/plexus-compiler-test-1.8.2.jar").getParentFile().getAbsolutePath());
+            mojo.setMavenRules("maven.rules");
+            mojo.setMavenIgnoreRules("maven.ignoreRules");
+            mojo.setMavenPublishedRules("maven.publishedRules");
+            mojo.setNoUsjVersionless(false);
+            mojo.setDebianPackage("libplexus-compiler-java");
+            mojo.setDestPackage("libplexus-compiler-java");
+            mojo.setVersion("1.8.2");
+            mojo.setDebianVersion("1.x");
+
+            mojo.execute();
+        }
+
+        File repo = new File(debianDir, "libplexus-compiler-java/usr/share/maven-repo");
+        assertTrue("the maven repository should be kept", repo.isDirectory());
+        assertEquals("the empty directories should be removed", 0, repo.list().length);
+        assertEquals("the manifest should be removed", 0, new File(debianDir, ".debhelper/maven-debian-helper/install").list().length);
+    }
+
+    @Test
+    public void testUninstallDoesNotWriteIntoTheProject() throws Exception {
+        File basedir = getFileInClasspath("plexus-compiler/plexus-compiler-test/pom.xml").getParentFile();
+        File cleanedPom = new File(basedir, "target/pom.xml");
+        File debianPom = new File(basedir, "target/pom.debian.xml");
+        cleanedPom.delete();
+        debianPom.delete();
+
+        SysInstallMojo mojo = new UninstallMojo();
+        mojo.setBasedir(basedir);
+        mojo.setDebianDir(getFileInClasspath("plexus-compiler/debian/maven.rules").getParentFile());
+        mojo.setDestGroupId("org.codehaus.plexus");
+        mojo.setGroupId("org.codehaus.plexus");
+        mojo.setArtifactId("plexus-compiler-test");
+        mojo.setDestArtifactId("plexus-compiler-test");
+        mojo.setInstallToUsj(false);
+        mojo.setJarDir(cleanedPom.getParent());
+        mojo.setMavenRules("maven.rules");
+        mojo.setMavenIgnoreRules("maven.ignoreRules");
+        mojo.setMavenPublishedRules("maven.publishedRules");
+        mojo.setDebianPackage("libplexus-compiler-java");
+        mojo.setDestPackage("libplexus-compiler-java");
+        mojo.setVersion("1.8.2");
+
+        mojo.execute();
+
+        assertFalse("the cleaned pom shouldn't be written into the project", cleanedPom.exists());
+        assertFalse("the debian pom shouldn't be written into the project", debianPom.exists());
+    }
+
+    @Test
+    public void testRepackedJarsDeduplicated() throws Exception {
+        final File jar = new File(testDir, "plexus-compiler-test-1.8.2.jar");
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+        out.putNextEntry(new ZipEntry("org/codehaus/plexus/compiler/Test.class"));
+        out.write(new byte[] {(byte) 0xca, (byte) 0xfe, (byte) 0xba, (byte) 0xbe});
+        out.close();
+
+        for (String artifactId : new String[] {"plexus-compiler-api", "plexus-compiler-test"}) {
+            SysInstallMojo mojo = new InstallMojo();
+            mojo.setBasedir(getFileInClasspath("plexus-compiler/" + artifactId + "/pom.xml").getParentFile());
+            mojo.setDebianDir(getFileInClasspath("plexus-compiler/debian/maven.rules").getParentFile());
+            mojo.setDestGroupId("org.codehaus.plexus");
+            mojo.setGroupId("org.codehaus.plexus");
+            mojo.setArtifactId(artifactId);
+            mojo.setDestArtifactId(artifactId);
+            mojo.setInstallToUsj(false);
+            mojo.setJarDir(jar.getParentFile().getAbsolutePath());
+            mojo.setFinalName("plexus-compiler-test-1.8.2");
+            mojo.setMavenRules("maven.rules");
+            mojo.setMavenIgnoreRules("maven.ignoreRules");
+            mojo.setMavenPublishedRules("maven.publishedRules");
+            mojo.setDebianPackage("libplexus-compiler-java");
+            mojo.setDestPackage("libplexus-compiler-java");
+            mojo.setVersion("1.8.2");
+            mojo.setRepack(true);
+
+            mojo.execute();
+        }
+
+        File repo = getFileInClasspath("plexus-compiler/debian/libplexus-compiler-java/usr/share/maven-repo/org/codehaus/plexus");
+        File repacked1 = new File(repo, "plexus-compiler-api/1.8.2/plexus-compiler-api-1.8.2.jar");
+        File repacked2 = new File(repo, "plexus-compiler-test/1.8.2/plexus-compiler-test-1.8.2.jar");
+        assertTrue("the repacked jars should be deduplicated", Files.isSameFile(repacked1.toPath(), repacked2.toPath()));
+        assertEquals("the temporary repacked jars should be removed", 1, jar.getParentFile().list(new FilenameFilter() {
+            public boolean accept(File dir, String name) {
+                return name.startsWith(jar.getName());
+            }
+        }).length);
+    }
+
     // Bug#665799: maven-debian-helper: jar files installed to /usr/share/java AND /usr/share/maven-repo
     @Test
     public void testInstallJarToRepoAndUsj() throws Exception {
@@ -163,6 +273,39 @@ public class InstallMojoTest {
         assertNotNull(debianRepoPom);
     }
 
+    @Test
+    public void testInstallJarWithoutRule() throws Exception {
+        // no rule for the module, the default rules give the 'debian' version
+        File debianDir = new File(testDir, "debian");
+        debianDir.mkdirs();
+
+        mojo = new InstallMojo();
+        mojo.setBasedir(getFileInClasspath("plexus-compiler/plexus-compiler-test/pom.xml").getParentFile());
+        mojo.setDebianDir(debianDir);
+        mojo.setDestGroupId("org.codehaus.plexus");
+        mojo.setGroupId("org.codehaus.plexus");
+        mojo.setArtifactId("plexus-compiler-test");
+        mojo.setDestArtifactId("plexus-compiler-test");
+        mojo.setInstallToUsj(false);
+        mojo.setJarDir(getFileInClasspath("plexus-compiler/plexus-compiler-test/target/plexus-compiler-test-1.8.2.jar").getParentFile().getAbsolutePath());
+        mojo.setMavenRules("maven.rules");
+        mojo.setMavenIgnoreRules("maven.ignoreRules");
+        mojo.setMavenPublishedRules("maven.publishedRules");
+        mojo.setNoUsjVersionless(false);
+        mojo.setDebianPackage("libplexus-compiler-java");
+        mojo.setDestPackage("libplexus-compiler-java");
+        mojo.setVersion("1.8.2");
+
+        mojo.execute();
+
+        File repoDir = new File(debianDir, "libplexus-compiler-java/usr/share/maven-repo/org/codehaus/plexus/plexus-compiler-test");
+        assertTrue(new File(repoDir, "1.8.2/plexus-compiler-test-1.8.2.jar").exists());
+        assertTrue(new File(repoDir, "1.8.2/plexus-compiler-test-1.8.2.pom").exists());
+        assertTrue("debian version not installed", new File(repoDir, "debian").isDirectory());
+        assertTrue(new File(repoDir, "debian/plexus-compiler-test-debian.jar").exists());
+        assertTrue(new File(repoDir, "debian/plexus-compiler-test-debian.pom").exists());
+    }
+
     /**
      * Checks if the actual file is a link to the expected file.
      */
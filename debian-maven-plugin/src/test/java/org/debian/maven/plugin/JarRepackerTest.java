@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarRepackerTest {
+
+    /** 2026-01-01 00:00:00 UTC */
+    private static final long TIMESTAMP = 1767225600000L;
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testRepack() throws Exception {
+        File jar = createJar("foo.jar", 1000000000000L, "org/foo/Foo.class", "META-INF/MANIFEST.MF", "org/foo/Big.class", "META-INF/", "org/foo/foo.properties");
+        File repacked = new File(tmpDir.getRoot(), "usr/share/java/foo.jar");
+
+        new JarRepacker(TIMESTAMP, 20).repack(jar, repacked);
+
+        ZipFile zip = new ZipFile(repacked);
+        try {
+            List<String> names = new ArrayList<String>();
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                names.add(entry.getName());
+                // the DOS time of the entries is the same in all the time zones
+                assertEquals(entry.getName(), "2026-01-01 00:00", new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date(entry.getTime())));
+            }
+            assertEquals(Arrays.asList("META-INF/", "META-INF/MANIFEST.MF", "org/foo/Big.class", "org/foo/Foo.class", "org/foo/foo.properties"), names);
+
+            assertEquals(ZipEntry.STORED, zip.getEntry("org/foo/Foo.class").getMethod());
+            assertEquals("the class is larger than the threshold", ZipEntry.DEFLATED, zip.getEntry("org/foo/Big.class").getMethod());
+            assertEquals(ZipEntry.DEFLATED, zip.getEntry("org/foo/foo.properties").getMethod());
+        } finally {
+            zip.close();
+        }
+        assertEquals(TIMESTAMP, repacked.lastModified());
+    }
+
+    @Test
+    public void testReproducible() throws Exception {
+        File jar1 = createJar("foo1.jar", 1000000000000L, "b/B.class", "a/A.class");
+        File jar2 = createJar("foo2.jar", 1100000000000L, "a/A.class", "b/B.class");
+        File repacked1 = new File(tmpDir.getRoot(), "repacked1.jar");
+        File repacked2 = new File(tmpDir.getRoot(), "repacked2.jar");
+
+        JarRepacker repacker = new JarRepacker(TIMESTAMP, 0);
+        repacker.repack(jar1, repacked1);
+        repacker.repack(jar2, repacked2);
+
+        assertArrayEquals(Files.readAllBytes(repacked1.toPath()), Files.readAllBytes(repacked2.toPath()));
+    }
+
+    private File createJar(String name, long time, String... entries) throws Exception {
+        File jar = tmpDir.newFile(name);
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            for (String entry : entries) {
+                ZipEntry zipEntry = new ZipEntry(entry);
+                zipEntry.setTime(time);
+                out.putNextEntry(zipEntry);
+                if (!entry.endsWith("/")) {
+                    // the content is compressed to less than the size of the big class
+                    out.write((entry.contains("Big") ? "big class content, larger than the threshold" : "class").getBytes("UTF-8"));
+                }
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+        return jar;
+    }
+}
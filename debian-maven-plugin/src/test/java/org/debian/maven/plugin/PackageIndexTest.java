@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PackageIndexTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testListPackages() throws Exception {
+        File jar = createJar("foo.jar",
+                "META-INF/MANIFEST.MF",
+                "META-INF/maven/org.foo/foo/pom.xml",
+                "META-INF/versions/9/org/foo/internal/Java9.class",
+                "org/",
+                "org/foo/",
+                "org/foo/Foo.class",
+                "org/foo/bar/Bar.class",
+                "org/foo/bar/messages.properties",
+                "log4j.properties");
+
+        assertEquals(Arrays.asList("org/foo", "org/foo/bar", "org/foo/internal"), Arrays.asList(PackageIndex.listPackages(jar).toArray()));
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        File index = new File(tmpDir.getRoot(), "usr/share/java/libfoo-java.jarindex");
+
+        PackageIndex.update(index, "foo.jar", packages("org/foo", "org/foo/bar"));
+        PackageIndex.update(index, "foo-api.jar", packages("org/foo/api"));
+        // installing the jar again replaces its section
+        PackageIndex.update(index, "foo.jar", packages("org/foo"));
+
+        // the sections are sorted by jar
+        assertEquals("JarIndex-Version: 1.0\n\nfoo-api.jar\norg/foo/api\n\nfoo.jar\norg/foo\n", FileUtils.fileRead(index));
+
+        Map<String, SortedSet<String>> sections = PackageIndex.read(index);
+        assertEquals(packages("org/foo/api"), sections.get("foo-api.jar"));
+    }
+
+    @Test
+    public void testReproducibleOrder() throws Exception {
+        File index1 = new File(tmpDir.getRoot(), "1/libfoo-java.jarindex");
+        PackageIndex.update(index1, "foo.jar", packages("org/foo"));
+        PackageIndex.update(index1, "bar.jar", packages("org/bar"));
+
+        File index2 = new File(tmpDir.getRoot(), "2/libfoo-java.jarindex");
+        PackageIndex.update(index2, "bar.jar", packages("org/bar"));
+        PackageIndex.update(index2, "foo.jar", packages("org/foo"));
+
+        assertEquals(FileUtils.fileRead(index1), FileUtils.fileRead(index2));
+    }
+
+    private SortedSet<String> packages(String... packages) {
+        return new TreeSet<String>(Arrays.asList(packages));
+    }
+
+    private File createJar(String name, String... entries) throws Exception {
+        File jar = tmpDir.newFile(name);
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            for (String entry : entries) {
+                out.putNextEntry(new ZipEntry(entry));
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+        return jar;
+    }
+}
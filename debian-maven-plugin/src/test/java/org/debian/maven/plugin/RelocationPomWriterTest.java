@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.debian.maven.repo.Dependency;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RelocationPomWriterTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testWrite() throws Exception {
+        File pom1 = new File(tmpDir.getRoot(), "geronimo-spec/geronimo-spec-jta/1.0/geronimo-spec-jta-1.0.pom");
+        File pom2 = new File(tmpDir.getRoot(), "geronimo-spec/geronimo-spec-j2ee/1.0/geronimo-spec-j2ee-1.0.pom");
+
+        RelocationPomWriter writer = new RelocationPomWriter("libgeronimo-jta-1.1-spec-java", "org.apache.geronimo.specs", "geronimo-jta_1.1_spec", "1.1.1");
+        writer.add(new Dependency("geronimo-spec", "geronimo-spec-jta", "jar", "1.0"), "jar", pom1);
+        writer.add(new Dependency("geronimo-spec", "geronimo-spec-j2ee", "jar", "1.0"), "jar", pom2);
+
+        List<File> written = writer.write();
+
+        assertEquals(Arrays.asList(pom1, pom2), written);
+        assertEquals("<project>\n" +
+                "  <modelVersion>4.0.0</modelVersion>\n" +
+                "  <groupId>geronimo-spec</groupId>\n" +
+                "  <artifactId>geronimo-spec-jta</artifactId>\n" +
+                "  <version>1.0</version>\n" +
+                "  <packaging>jar</packaging>\n" +
+                "  <properties>\n" +
+                "    <debian.package>libgeronimo-jta-1.1-spec-java</debian.package>\n" +
+                "  </properties>\n" +
+                "  <distributionManagement>\n" +
+                "    <relocation>\n" +
+                "      <groupId>org.apache.geronimo.specs</groupId>\n" +
+                "      <artifactId>geronimo-jta_1.1_spec</artifactId>\n" +
+                "      <version>1.1.1</version>\n" +
+                "    </relocation>\n" +
+                "  </distributionManagement>\n" +
+                "</project>", FileUtils.fileRead(pom1, "UTF-8"));
+        assertTrue(FileUtils.fileRead(pom2, "UTF-8").contains("<artifactId>geronimo-spec-j2ee</artifactId>"));
+
+        assertEquals("the poms are written once", 0, writer.write().size());
+    }
+}
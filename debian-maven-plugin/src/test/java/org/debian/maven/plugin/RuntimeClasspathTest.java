@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.apache.maven.model.Dependency;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RuntimeClasspathTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    private File packageDir;
+    private File systemRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        packageDir = tmpDir.newFolder("debian", "libfoo-java");
+        systemRepository = tmpDir.newFolder("usr", "share", "maven-repo");
+    }
+
+    @Test
+    public void testResolve() throws Exception {
+        File repository = new File(packageDir, "usr/share/maven-repo");
+        install(repository, "org.foo", "foo-core", "1.x", "<dependency><groupId>org.bar</groupId><artifactId>bar</artifactId><version>debian</version></dependency>");
+        install(systemRepository, "org.bar", "bar", "debian",
+                "<dependency><groupId>org.baz</groupId><artifactId>baz</artifactId><version>debian</version><scope>runtime</scope></dependency>"
+                + "<dependency><groupId>org.opt</groupId><artifactId>opt</artifactId><version>debian</version><optional>true</optional></dependency>"
+                + "<dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.x</version><scope>test</scope></dependency>");
+        install(systemRepository, "org.baz", "baz", "debian",
+                // already in the classpath
+                "<dependency><groupId>org.bar</groupId><artifactId>bar</artifactId><version>debian</version></dependency>");
+        install(systemRepository, "org.opt", "opt", "debian", "");
+
+        File pom = writePom(new File(tmpDir.getRoot(), "pom.xml"), "org.foo", "foo", "1.x",
+                "<dependency><groupId>org.foo</groupId><artifactId>foo-core</artifactId><version>1.x</version></dependency>"
+                + "<dependency><groupId>org.missing</groupId><artifactId>missing</artifactId><version>debian</version></dependency>"
+                + "<dependency><groupId>javax.servlet</groupId><artifactId>servlet-api</artifactId><version>3.1</version><scope>provided</scope></dependency>");
+
+        RuntimeClasspath resolver = new RuntimeClasspath(Collections.singletonList(packageDir), systemRepository);
+        List<String> classpath = resolver.resolve(pom);
+
+        assertEquals(Arrays.asList(
+                "/usr/share/maven-repo/org/foo/foo-core/1.x/foo-core-1.x.jar",
+                new File(systemRepository, "org/bar/bar/debian/bar-debian.jar").getAbsolutePath(),
+                new File(systemRepository, "org/baz/baz/debian/baz-debian.jar").getAbsolutePath()), classpath);
+
+        assertEquals(1, resolver.getMissing().size());
+        Dependency missing = resolver.getMissing().get(0);
+        assertEquals("missing", missing.getArtifactId());
+    }
+
+    @Test
+    public void testResolveInheritedDependencies() throws Exception {
+        installProject(systemRepository, "org.bar", "bar-parent", "debian", "<packaging>pom</packaging>"
+                + "<dependencyManagement><dependencies>"
+                + "<dependency><groupId>org.baz</groupId><artifactId>baz</artifactId><version>1.x</version></dependency>"
+                + "</dependencies></dependencyManagement>"
+                + "<dependencies><dependency><groupId>org.baz</groupId><artifactId>baz</artifactId></dependency></dependencies>");
+        installProject(systemRepository, "org.bar", "bar", "debian", "<parent><groupId>org.bar</groupId><artifactId>bar-parent</artifactId><version>debian</version></parent>");
+        install(systemRepository, "org.baz", "baz", "1.x", "");
+
+        File pom = writePom(new File(tmpDir.getRoot(), "pom.xml"), "org.foo", "foo", "1.x",
+                "<dependency><groupId>org.bar</groupId><artifactId>bar</artifactId><version>debian</version></dependency>");
+
+        RuntimeClasspath resolver = new RuntimeClasspath(Collections.singletonList(packageDir), systemRepository);
+        List<String> classpath = resolver.resolve(pom);
+
+        assertEquals(Arrays.asList(
+                new File(systemRepository, "org/bar/bar/debian/bar-debian.jar").getAbsolutePath(),
+                new File(systemRepository, "org/baz/baz/1.x/baz-1.x.jar").getAbsolutePath()), classpath);
+        assertEquals(0, resolver.getMissing().size());
+    }
+
+    @Test
+    public void testResolveWithExclusionsAndManagement() throws Exception {
+        install(systemRepository, "org.bar", "bar", "debian",
+                "<dependency><groupId>org.baz</groupId><artifactId>baz</artifactId><version>debian</version></dependency>"
+                + "<dependency><groupId>org.qux</groupId><artifactId>qux</artifactId><version>debian</version></dependency>");
+        install(systemRepository, "org.baz", "baz", "debian",
+                "<dependency><groupId>org.excluded</groupId><artifactId>excluded</artifactId><version>debian</version></dependency>");
+        install(systemRepository, "org.qux", "qux", "debian", "");
+        install(systemRepository, "org.qux", "qux", "2.x", "");
+        install(systemRepository, "org.excluded", "excluded", "debian", "");
+
+        File pom = new File(tmpDir.getRoot(), "pom.xml");
+        writeProject(pom, "org.foo", "foo", "1.x",
+                "<dependencyManagement><dependencies>"
+                + "<dependency><groupId>org.qux</groupId><artifactId>qux</artifactId><version>2.x</version></dependency>"
+                + "</dependencies></dependencyManagement>"
+                + "<dependencies><dependency><groupId>org.bar</groupId><artifactId>bar</artifactId><version>debian</version>"
+                + "<exclusions><exclusion><groupId>org.excluded</groupId><artifactId>*</artifactId></exclusion></exclusions>"
+                + "</dependency></dependencies>");
+
+        RuntimeClasspath resolver = new RuntimeClasspath(Collections.singletonList(packageDir), systemRepository);
+        List<String> classpath = resolver.resolve(pom);
+
+        assertEquals(Arrays.asList(
+                new File(systemRepository, "org/bar/bar/debian/bar-debian.jar").getAbsolutePath(),
+                new File(systemRepository, "org/baz/baz/debian/baz-debian.jar").getAbsolutePath(),
+                new File(systemRepository, "org/qux/qux/2.x/qux-2.x.jar").getAbsolutePath()), classpath);
+    }
+
+    private void install(File repository, String groupId, String artifactId, String version, String dependencies) throws Exception {
+        installProject(repository, groupId, artifactId, version, "<dependencies>" + dependencies + "</dependencies>");
+    }
+
+    private void installProject(File repository, String groupId, String artifactId, String version, String content) throws Exception {
+        File dir = new File(repository, groupId.replace('.', '/') + "/" + artifactId + "/" + version);
+        writeProject(new File(dir, artifactId + "-" + version + ".pom"), groupId, artifactId, version, content);
+        FileUtils.fileWrite(new File(dir, artifactId + "-" + version + ".jar"), "jar");
+    }
+
+    private File writePom(File pom, String groupId, String artifactId, String version, String dependencies) throws Exception {
+        return writeProject(pom, groupId, artifactId, version, "<dependencies>" + dependencies + "</dependencies>");
+    }
+
+    private File writeProject(File pom, String groupId, String artifactId, String version, String content) throws Exception {
+        pom.getParentFile().mkdirs();
+        FileUtils.fileWrite(pom, "UTF-8", "<project>\n"
+                + "  <modelVersion>4.0.0</modelVersion>\n"
+                + "  <groupId>" + groupId + "</groupId>\n"
+                + "  <artifactId>" + artifactId + "</artifactId>\n"
+                + "  <version>" + version + "</version>\n"
+                + "  " + content + "\n"
+                + "</project>\n");
+        return pom;
+    }
+}
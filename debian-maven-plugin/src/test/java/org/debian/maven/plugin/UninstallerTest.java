@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class UninstallerTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testUninstall() throws Exception {
+        File repo = tmpDir.newFolder("usr", "share", "maven-repo");
+        File versionDir = new File(repo, "org/foo/foo/1.0");
+        File debianDir = new File(repo, "org/foo/foo/debian");
+        File otherDir = new File(repo, "org/foo/bar/1.0");
+        write(new File(versionDir, "foo-1.0.pom"));
+        write(new File(versionDir, "foo-1.0.jar"));
+        write(new File(versionDir, "sub/dir/file"));
+        write(new File(debianDir, "foo-debian.pom"));
+        write(new File(otherDir, "bar-1.0.pom"));
+
+        // the target of a symbolic link to a directory is left untouched
+        File target = tmpDir.newFolder("target");
+        write(new File(target, "kept"));
+        Files.createSymbolicLink(new File(debianDir, "link").toPath(), target.toPath());
+
+        List<String> removed = new Uninstaller(repo).uninstall(Arrays.asList(
+                versionDir.getPath(), debianDir.getPath() + "/", new File(repo, "org/foo/missing/1.0").getPath()));
+
+        assertFalse(versionDir.exists());
+        assertFalse(debianDir.exists());
+        assertFalse("the empty directories should be removed", new File(repo, "org/foo/foo").exists());
+        assertTrue(otherDir.isDirectory());
+        assertTrue(new File(target, "kept").isFile());
+        assertEquals(10, removed.size());
+        assertTrue(removed.contains(new File(versionDir, "sub/dir/file").getPath()));
+        assertTrue(removed.contains(new File(repo, "org/foo/foo").getPath()));
+    }
+
+    private void write(File file) throws Exception {
+        file.getParentFile().mkdirs();
+        FileUtils.fileWrite(file, "UTF-8", file.getName());
+    }
+}
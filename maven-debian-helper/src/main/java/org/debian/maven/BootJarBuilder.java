@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Builds the boot jar of the Debian Maven launcher. The jars loaded by
+ * /etc/maven/m2-debian.conf are merged into a single jar, the first entry found
+ * taking precedence as in the class realm. The Sisu and Plexus component indexes
+ * and the service files of all the jars are aggregated, this way Maven looks up
+ * its components in one jar instead of going through every jar of the installation
+ * on startup.
+ *
+ * The boot jar is maintained by /usr/share/maven-debian-helper/maven-boot.sh,
+ * this class only depends on the JDK since it runs outside of Maven.
+ */
+public class BootJarBuilder {
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final String SISU_INDEX = "META-INF/sisu/javax.inject.Named";
+    private static final String PLEXUS_COMPONENTS = "META-INF/plexus/components.xml";
+    private static final String SERVICES = "META-INF/services/";
+
+    /** Names of the entries already written in the boot jar */
+    private final Set<String> entries = new HashSet<String>();
+
+    /** Aggregated content of the Sisu index and of the service files */
+    private final Map<String, Set<String>> indexes = new TreeMap<String, Set<String>>();
+
+    /** Aggregated Plexus components */
+    private final List<Element> components = new ArrayList<Element>();
+
+    private final Document componentSet;
+
+    private final JarOutputStream out;
+
+    /**
+     * Creates the boot jar.
+     *
+     * @param bootJar the jar to create
+     * @param multiRelease true if one of the merged jars is a multi-release jar
+     */
+    public BootJarBuilder(File bootJar, boolean multiRelease) throws IOException {
+        componentSet = newDocumentBuilder().newDocument();
+
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (multiRelease) {
+            manifest.getMainAttributes().putValue("Multi-Release", "true");
+        }
+        out = new JarOutputStream(new FileOutputStream(bootJar), manifest);
+        entries.add(MANIFEST);
+    }
+
+    /**
+     * Adds the entries of the specified jar that are not already in the boot jar,
+     * and collects its component indexes.
+     */
+    public void addJar(File file) throws IOException {
+        JarFile jar = new JarFile(file);
+        try {
+            for (Enumeration<JarEntry> e = jar.entries(); e.hasMoreElements(); ) {
+                JarEntry entry = e.nextElement();
+                String name = entry.getName();
+
+                if (SISU_INDEX.equals(name) || (name.startsWith(SERVICES) && !entry.isDirectory())) {
+                    addIndex(name, jar.getInputStream(entry));
+                } else if (PLEXUS_COMPONENTS.equals(name)) {
+                    addComponents(file, jar.getInputStream(entry));
+                } else if (!isExcluded(name) && entries.add(name)) {
+                    copyEntry(jar, entry);
+                }
+            }
+        } finally {
+            jar.close();
+        }
+    }
+
+    /**
+     * Writes the aggregated indexes and closes the boot jar.
+     */
+    public void close() throws IOException {
+        try {
+            for (Map.Entry<String, Set<String>> index : indexes.entrySet()) {
+                StringBuilder content = new StringBuilder();
+                for (String line : index.getValue()) {
+                    content.append(line).append('\n');
+                }
+                writeEntry(index.getKey(), content.toString().getBytes("UTF-8"));
+            }
+
+            if (!components.isEmpty()) {
+                writeEntry(PLEXUS_COMPONENTS, mergeComponents());
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Tells if the specified jar is a multi-release jar.
+     */
+    public static boolean isMultiRelease(File file) throws IOException {
+        JarFile jar = new JarFile(file);
+        try {
+            Manifest manifest = jar.getManifest();
+            return manifest != null && "true".equalsIgnoreCase(manifest.getMainAttributes().getValue("Multi-Release"));
+        } finally {
+            jar.close();
+        }
+    }
+
+    /**
+     * Usage: BootJarBuilder &lt;boot jar&gt; &lt;jar&gt;...
+     *
+     * The jars are merged in the order specified.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BootJarBuilder <boot jar> <jar>...");
+            System.exit(1);
+        }
+
+        boolean multiRelease = false;
+        for (int i = 1; i < args.length; i++) {
+            multiRelease |= isMultiRelease(new File(args[i]));
+        }
+
+        BootJarBuilder builder = new BootJarBuilder(new File(args[0]), multiRelease);
+        try {
+            for (int i = 1; i < args.length; i++) {
+                builder.addJar(new File(args[i]));
+            }
+        } finally {
+            builder.close();
+        }
+    }
+
+    private static boolean isExcluded(String name) {
+        if (!name.startsWith("META-INF/") || name.indexOf('/', "META-INF/".length()) != -1) {
+            return false;
+        }
+        return name.endsWith(".SF") || name.endsWith(".RSA") || name.endsWith(".DSA") || name.endsWith(".EC")
+                || name.equals("META-INF/INDEX.LIST") || name.equals(MANIFEST);
+    }
+
+    private void copyEntry(JarFile jar, JarEntry entry) throws IOException {
+        JarEntry copy = new JarEntry(entry.getName());
+        copy.setTime(entry.getTime());
+        out.putNextEntry(copy);
+        if (!entry.isDirectory()) {
+            InputStream in = jar.getInputStream(entry);
+            try {
+                byte[] buffer = new byte[8192];
+                int length;
+                while ((length = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, length);
+                }
+            } finally {
+                in.close();
+            }
+        }
+        out.closeEntry();
+    }
+
+    private void writeEntry(String name, byte[] content) throws IOException {
+        out.putNextEntry(new JarEntry(name));
+        out.write(content);
+        out.closeEntry();
+    }
+
+    /**
+     * Collects the class names listed in a Sisu index or a service file, in order and without duplicates.
+     */
+    private void addIndex(String name, InputStream in) throws IOException {
+        Set<String> lines = indexes.get(name);
+        if (lines == null) {
+            lines = new LinkedHashSet<String>();
+            indexes.put(name, lines);
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                if (comment != -1) {
+                    line = line.substring(0, comment);
+                }
+                line = line.trim();
+                if (line.length() > 0) {
+                    lines.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Collects the components declared in a Plexus components.xml file.
+     */
+    private void addComponents(File jar, InputStream in) throws IOException {
+        Document document;
+        try {
+            document = newDocumentBuilder().parse(in);
+        } catch (SAXException e) {
+            throw new IOException("Unable to parse " + PLEXUS_COMPONENTS + " in " + jar, e);
+        } finally {
+            in.close();
+        }
+
+        NodeList nodes = document.getDocumentElement().getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node instanceof Element && "components".equals(node.getNodeName())) {
+                NodeList children = node.getChildNodes();
+                for (int j = 0; j < children.getLength(); j++) {
+                    Node child = children.item(j);
+                    if (child instanceof Element && "component".equals(child.getNodeName())) {
+                        components.add((Element) componentSet.importNode(child, true));
+                    }
+                }
+            }
+        }
+    }
+
+    private byte[] mergeComponents() throws IOException {
+        Element root = componentSet.createElement("component-set");
+        Element list = componentSet.createElement("components");
+        componentSet.appendChild(root);
+        root.appendChild(list);
+        for (Element component : components) {
+            list.appendChild(component);
+        }
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.transform(new DOMSource(componentSet), new StreamResult(content));
+        } catch (TransformerException e) {
+            throw new IOException("Unable to write " + PLEXUS_COMPONENTS, e);
+        }
+        return content.toByteArray();
+    }
+
+    private static DocumentBuilder newDocumentBuilder() throws IOException {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IOException("Unable to create an XML parser", e);
+        }
+    }
+}
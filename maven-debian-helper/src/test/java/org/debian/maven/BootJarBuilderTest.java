@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BootJarBuilderTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testMergeJars() throws Exception {
+        File jar1 = createJar("first.jar",
+                "org/debian/Foo.class", "first",
+                "META-INF/sisu/javax.inject.Named", "org.debian.Foo\norg.debian.Bar\n",
+                "META-INF/services/org.debian.Service", "# comment\norg.debian.FooService\n",
+                "META-INF/plexus/components.xml", "<component-set><components><component><role>foo</role></component></components></component-set>",
+                "META-INF/FIRST.SF", "signature");
+        File jar2 = createJar("second.jar",
+                "org/debian/Foo.class", "second",
+                "org/debian/Baz.class", "baz",
+                "META-INF/sisu/javax.inject.Named", "org.debian.Bar\norg.debian.Baz\n",
+                "META-INF/services/org.debian.Service", "org.debian.BazService\n",
+                "META-INF/plexus/components.xml", "<component-set><components><component><role>baz</role></component></components></component-set>");
+
+        File bootJar = new File(tmpDir.getRoot(), "boot.jar");
+        BootJarBuilder builder = new BootJarBuilder(bootJar, false);
+        builder.addJar(jar1);
+        builder.addJar(jar2);
+        builder.close();
+
+        JarFile jar = new JarFile(bootJar);
+        try {
+            assertEquals("The first class found should be kept", "first", read(jar, "org/debian/Foo.class"));
+            assertEquals("baz", read(jar, "org/debian/Baz.class"));
+            assertEquals("org.debian.Foo\norg.debian.Bar\norg.debian.Baz\n", read(jar, "META-INF/sisu/javax.inject.Named"));
+            assertEquals("org.debian.FooService\norg.debian.BazService\n", read(jar, "META-INF/services/org.debian.Service"));
+            assertNull("Signatures should be removed", jar.getEntry("META-INF/FIRST.SF"));
+
+            String components = read(jar, "META-INF/plexus/components.xml");
+            assertTrue(components.contains("<role>foo</role>"));
+            assertTrue(components.contains("<role>baz</role>"));
+            assertTrue(components.indexOf("<role>foo</role>") < components.indexOf("<role>baz</role>"));
+        } finally {
+            jar.close();
+        }
+    }
+
+    @Test
+    public void testMultiRelease() throws Exception {
+        File bootJar = new File(tmpDir.getRoot(), "boot.jar");
+        new BootJarBuilder(bootJar, true).close();
+        assertTrue(BootJarBuilder.isMultiRelease(bootJar));
+
+        new BootJarBuilder(bootJar, false).close();
+        assertFalse(BootJarBuilder.isMultiRelease(bootJar));
+    }
+
+    private File createJar(String name, String... entries) throws IOException {
+        File file = new File(tmpDir.getRoot(), name);
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(file));
+        try {
+            for (int i = 0; i < entries.length; i += 2) {
+                out.putNextEntry(new JarEntry(entries[i]));
+                out.write(entries[i + 1].getBytes("UTF-8"));
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private String read(JarFile jar, String name) throws IOException {
+        InputStream in = jar.getInputStream(jar.getEntry(name));
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                content.write(buffer, 0, length);
+            }
+            return content.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+
+/**
+ * Generates the Debian files from the Velocity templates bundled with maven-debian-helper.
+ *
+ * <p>The templates are parsed once per JVM and shared by all the generators. The files
+ * are rendered in parallel, each with its own context chained to the common context,
+ * and replace the previous files atomically. The Velocity log is disabled.</p>
+ */
+class DebianFilesGenerator {
+
+    private static VelocityEngine engine;
+
+    /** The parsed templates indexed by name */
+    private static final ConcurrentHashMap<String, Template> templates = new ConcurrentHashMap<String, Template>();
+
+    /** The templates of the files to generate, indexed by file. A file added twice is generated once, with the last template */
+    private final Map<File, Output> outputs = new LinkedHashMap<File, Output>();
+
+    private final Queue<IOException> failures = new ConcurrentLinkedQueue<IOException>();
+
+    /**
+     * Adds a file to generate
+     */
+    public void add(String templateName, File destDir, String fileName) {
+        add(templateName, destDir, fileName, false);
+    }
+
+    /**
+     * Adds a file to generate
+     */
+    public void add(String templateName, File destDir, String fileName, boolean executable) {
+        File file = new File(destDir, fileName);
+        outputs.remove(file);
+        outputs.put(file, new Output(templateName, file, executable));
+    }
+
+    /**
+     * Generates the files added since the last call
+     *
+     * @return the files generated
+     */
+    public List<File> generate(final VelocityContext context) throws IOException {
+        final List<Output> tasks = new ArrayList<Output>(outputs.values());
+        outputs.clear();
+        for (Output output : tasks) {
+            output.context = new VelocityContext(context);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        if (!failures.isEmpty()) {
+            IOException failure = failures.remove();
+            for (IOException e : failures) {
+                failure.addSuppressed(e);
+            }
+            failures.clear();
+            throw failure;
+        }
+
+        List<File> files = new ArrayList<File>();
+        for (Output output : tasks) {
+            files.add(output.file);
+        }
+        return files;
+    }
+
+    static Template getTemplate(String name) throws Exception {
+        Template template = templates.get(name);
+        if (template == null) {
+            // parsing the same template twice concurrently is harmless, the first one is kept
+            template = getEngine().getTemplate(name, "UTF-8");
+            Template previous = templates.putIfAbsent(name, template);
+            if (previous != null) {
+                template = previous;
+            }
+        }
+        return template;
+    }
+
+    private static synchronized VelocityEngine getEngine() throws Exception {
+        if (engine == null) {
+            Properties properties = new Properties();
+            properties.put("resource.loader", "class");
+            properties.put("class.resource.loader.class", "org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader");
+            properties.put("runtime.log.logsystem.class", "org.apache.velocity.runtime.log.NullLogChute");
+            VelocityEngine velocityEngine = new VelocityEngine();
+            velocityEngine.init(properties);
+            engine = velocityEngine;
+        }
+        return engine;
+    }
+
+    /**
+     * A file rendered from a template
+     */
+    private class Output extends RecursiveAction {
+
+        private final String templateName;
+        private final File file;
+        private final boolean executable;
+        private VelocityContext context;
+
+        Output(String templateName, File file, boolean executable) {
+            this.templateName = templateName;
+            this.file = file;
+            this.executable = executable;
+        }
+
+        @Override
+        protected void compute() {
+            File tmp = new File(file.getAbsoluteFile().getParentFile(), "." + file.getName() + ".tmp");
+            try {
+                Template template = getTemplate(templateName);
+                tmp.getParentFile().mkdirs();
+                Writer out = new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8");
+                try {
+                    template.merge(context, out);
+                } finally {
+                    out.close();
+                }
+                if (executable) {
+                    tmp.setExecutable(true);
+                }
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (Exception e) {
+                tmp.delete();
+                failures.add(new IOException("Unable to generate " + file + " from " + templateName + ": " + e.getMessage(), e));
+            }
+        }
+    }
+}
@@ -109,16 +109,15 @@ public class DependenciesMojo extends AbstractMojo {
         DependenciesSolver solver = new DependenciesSolver(outputDirectory, new PackageScanner(offline), interactive);
 
         File basedir = project.getBasedir();
-        // TODO: use the list of project defined here for some initialisation step, I've forgotten what to do...
-        List<File> projects = new ArrayList<File>();
-        projects.add(project.getFile());
+        // the models built by Maven are reused, the POMs of the reactor aren't parsed again
+        List<MavenProject> projects = new ArrayList<MavenProject>();
+        projects.add(project);
         if (collectedProjects != null) {
-            for (MavenProject subProject : collectedProjects) {
-                projects.add(subProject.getFile());
-            }
+            projects.addAll(collectedProjects);
         }
 
         solver.setBaseDir(basedir);
+        solver.setProjects(projects);
         solver.mavenRepo = mavenRepo;
         solver.packageName = packageName;
         solver.generateJavadoc = resolveJavadoc;
@@ -23,6 +23,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -30,7 +33,11 @@ import java.util.regex.Pattern;
 
 import javax.xml.stream.XMLStreamException;
 
+import org.apache.maven.project.MavenProject;
 import org.debian.maven.packager.interaction.ChoiceQuestion;
+import org.debian.maven.packager.interaction.Preseed;
+import org.debian.maven.packager.interaction.Question;
+import org.debian.maven.packager.interaction.QuestionListener;
 import org.debian.maven.packager.interaction.SimpleQuestion;
 import org.debian.maven.packager.interaction.YesNoQuestion;
 import org.debian.maven.packager.util.*;
@@ -62,6 +69,9 @@ import static org.debian.maven.repo.DependencyRuleSetFiles.RulesType.*;
 public class DependenciesSolver {
 
     private static final Logger log = Logger.getLogger(DependenciesSolver.class.getName());
+
+    /** The number of threads searching the packages in the background */
+    private static final int PREFETCH_THREADS = 4;
     private final IgnoreDependencyQuestions ignoreDependencyQuestion;
 
     private File baseDir;
@@ -76,6 +86,11 @@ public class DependenciesSolver {
     List<String> issues = new ArrayList<String>();
     private List<Dependency> projectPoms = new ArrayList<Dependency>();
     private List<ToResolve> toResolve = new ArrayList<ToResolve>();
+    /** The index of the next dependencies to resolve in toResolve */
+    private int nextToResolve;
+    /** The dependencies whose packages have been searched in the background, by groupId:artifactId */
+    private Set<String> prefetchedDependencies = new HashSet<String>();
+    private ExecutorService prefetchExecutor;
     private Set<Dependency> knownProjectDependencies = new TreeSet<Dependency>();
     private Set<Dependency> ignoredDependencies = new TreeSet<Dependency>();
 
@@ -86,11 +101,16 @@ public class DependenciesSolver {
     private boolean askedToFilterModules = false;
     private boolean filterModules = false;
     boolean verbose = false;
+    /** The answers known in advance and the answers recorded, or null */
+    private Preseed preseed;
     private Map<String, POMInfo> pomInfoCache = new HashMap<String, POMInfo>();
 
     /** The original POMs for reference */
     private Map<String, POMInfo> originalPomInfoCache = new HashMap<String, POMInfo>();
 
+    /** The POMs of the projects already built by Maven, indexed by the path of their pom.xml */
+    private Map<String, POMInfo> projectModels = new HashMap<String, POMInfo>();
+
     /** Map of the previously selected rule for a given version */
     private Map<String, Rule> versionToRules = new HashMap<String, Rule>();
 
@@ -104,7 +124,11 @@ public class DependenciesSolver {
         this.outputDirectory = outputDirectory;
         this.scanner = scanner;
         this.interactive = interactive;
-        this.ignoreDependencyQuestion = new IgnoreDependencyQuestions(interactive);
+        try {
+            this.ignoreDependencyQuestion = new IgnoreDependencyQuestions(interactive, IgnoreRules.load(outputDirectory));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the ignore rules: " + e.getMessage(), e);
+        }
         pomTransformer.setVerbose(true);
         pomTransformer.setFixVersions(false);
         pomTransformer.setRulesFiles(initDependencyRuleSetFiles(outputDirectory, verbose));
@@ -225,6 +249,53 @@ public class DependenciesSolver {
         pomTransformer.getListOfPOMs().setBaseDir(baseDir);
     }
 
+    /**
+     * Uses the models of the projects built by Maven instead of reading their POMs again.
+     * The POMs of the other projects are read from the disk.
+     */
+    public void setProjects(Collection<MavenProject> projects) {
+        for (MavenProject project : projects) {
+            if (project.getFile() != null) {
+                projectModels.put(project.getFile().getAbsolutePath(), ProjectPOMReader.read(project));
+            }
+        }
+    }
+
+    public ListOfPOMs getListOfPOMs() {
+        return pomTransformer.getListOfPOMs();
+    }
+
+    public void setMavenRepo(File mavenRepo) {
+        this.mavenRepo = mavenRepo;
+    }
+
+    public void setPackageName(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public void setExploreProjects(boolean exploreProjects) {
+        this.exploreProjects = exploreProjects;
+    }
+
+    public void setGenerateJavadoc(boolean generateJavadoc) {
+        this.generateJavadoc = generateJavadoc;
+    }
+
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Sets the answers used instead of asking the user, the answers used are recorded in it.
+     */
+    public void setPreseed(Preseed preseed) {
+        this.preseed = preseed;
+    }
+
+    public List<String> getIssues() {
+        return issues;
+    }
+
     private Repository getRepository() {
         if (repository == null && mavenRepo != null) {
             repository = new Repository(mavenRepo);
@@ -239,39 +310,56 @@ public class DependenciesSolver {
 
         IOUtil.mkDirIfNotExists(outputDirectory);
 
-        if (exploreProjects) {
-            File pom;
-            if (pomTransformer.getListOfPOMs().getPomOptions().isEmpty()) {
-                pom = new File(baseDir, "pom.xml");
-                if (pom.exists()) {
-                    pomTransformer.getListOfPOMs().addPOM("pom.xml");
-                } else {
-                    pom = new File(baseDir, "debian/pom.xml");
+        if (interactive) {
+            Question.setListener(new Prefetcher());
+        }
+        Question.setPreseed(preseed);
+        Question.setInteractive(interactive);
+        try {
+            if (exploreProjects) {
+                File pom;
+                if (pomTransformer.getListOfPOMs().getPomOptions().isEmpty()) {
+                    pom = new File(baseDir, "pom.xml");
                     if (pom.exists()) {
-                        pomTransformer.getListOfPOMs().addPOM("debian/pom.xml");
+                        pomTransformer.getListOfPOMs().addPOM("pom.xml");
                     } else {
-                        System.err.println("Cannot find the POM file");
-                        return;
+                        pom = new File(baseDir, "debian/pom.xml");
+                        if (pom.exists()) {
+                            pomTransformer.getListOfPOMs().addPOM("debian/pom.xml");
+                        } else {
+                            System.err.println("Cannot find the POM file");
+                            return;
+                        }
                     }
+                } else {
+                    pom = new File(baseDir, pomTransformer.getListOfPOMs().getFirstPOM());
                 }
+                resolveDependencies(pom);
             } else {
-                pom = new File(baseDir, pomTransformer.getListOfPOMs().getFirstPOM());
-            }
-            resolveDependencies(pom);
-        } else {
-            pomTransformer.getListOfPOMs().foreachPoms(new POMHandler() {
+                pomTransformer.getListOfPOMs().foreachPoms(new POMHandler() {
 
-                public void handlePOM(File pomFile, boolean noParent, boolean hasPackageVersion) throws Exception {
-                    resolveDependencies(pomFile);
-                }
+                    public void handlePOM(File pomFile, boolean noParent, boolean hasPackageVersion) throws Exception {
+                        resolveDependencies(pomFile);
+                    }
 
-                public void ignorePOM(File pomFile) throws Exception {
-                }
-            });
-        }
+                    public void ignorePOM(File pomFile) throws Exception {
+                    }
+                });
+            }
 
-        for (ToResolve tr : toResolve) {
-            tr.resolve();
+            for (nextToResolve = 0; nextToResolve < toResolve.size(); nextToResolve++) {
+                toResolve.get(nextToResolve).resolve();
+            }
+        } finally {
+            if (interactive) {
+                Question.setListener(null);
+            }
+            Question.setPreseed(null);
+            Question.setInteractive(true);
+            if (prefetchExecutor != null) {
+                prefetchExecutor.shutdownNow();
+                prefetchExecutor = null;
+            }
         }
 
         if (!issues.isEmpty()) {
@@ -283,6 +371,52 @@ public class DependenciesSolver {
         }
     }
 
+    /**
+     * Searches in the background the packages of the dependencies left to resolve
+     * while the user answers a question. The dependencies found in the repository
+     * don't need any search and are skipped.
+     */
+    private class Prefetcher implements QuestionListener {
+
+        public void waitingForAnswer() {
+            for (int i = nextToResolve; i < toResolve.size(); i++) {
+                ToResolve tr = toResolve.get(i);
+                POMInfo pom = pomInfoCache.get(tr.sourcePom.getAbsolutePath());
+                if (pom == null || pom.getDependencies().get(tr.listType) == null) {
+                    continue;
+                }
+                for (Dependency dependency : pom.getDependencies().get(tr.listType)) {
+                    try {
+                        if (prefetchedDependencies.add(dependency.getGroupId() + ":" + dependency.getArtifactId())
+                                && getRepository().searchMatchingPOM(dependency) == null
+                                && getRepository().searchMatchingPOMsIgnoreVersion(dependency).isEmpty()) {
+                            scanner.prefetch(dependency, getPrefetchExecutor());
+                        }
+                    } catch (RuntimeException e) {
+                        // the dependency will be reported when it's resolved
+                        log.log(Level.FINE, "Cannot prefetch the package of " + dependency, e);
+                    }
+                }
+            }
+        }
+
+        public void answered() {
+        }
+    }
+
+    private ExecutorService getPrefetchExecutor() {
+        if (prefetchExecutor == null) {
+            prefetchExecutor = Executors.newFixedThreadPool(PREFETCH_THREADS, new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "Prefetch packages");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return prefetchExecutor;
+    }
+
     private void resolveDependencies(File projectPom) {
 
         if (pomTransformer.getListOfPOMs().getOrCreatePOMOptions(projectPom) != null && pomTransformer.getListOfPOMs().getOrCreatePOMOptions(projectPom).isIgnore()) {
@@ -328,9 +462,10 @@ public class DependenciesSolver {
 
             knownProjectDependencies.add(pom.getThisPom());
 
-            if (interactive && packageVersion == null) {
+            String upstreamVersionKey = Preseed.key("upstream-version", pom.getThisPom());
+            if ((interactive || Question.isPreseeded(upstreamVersionKey)) && packageVersion == null) {
                 String question = "Enter the upstream version for the package.";
-                String v = new SimpleQuestion(question, pom.getOriginalVersion()).ask();
+                String v = new SimpleQuestion(question, pom.getOriginalVersion()).withKey(upstreamVersionKey).ask();
                 if (v.isEmpty()) {
                     v = pom.getOriginalVersion();
                 }
@@ -343,7 +478,8 @@ public class DependenciesSolver {
             }
 
             if (filterModules) {
-                boolean includeModule = new YesNoQuestion("Include the module " + IOUtil.relativePath(baseDir, projectPom) + " ?", true).ask();
+                boolean includeModule = new YesNoQuestion("Include the module " + IOUtil.relativePath(baseDir, projectPom) + " ?", true)
+                        .withKey(Preseed.key("include-module", pom.getThisPom())).ask();
                 if (!includeModule) {
                     pomTransformer.getListOfPOMs().getOrCreatePOMOptions(projectPom).setIgnore(true);
                     pomTransformer.getRulesFiles().get(IGNORE).add(DependencyRule.newToMatch(pom.getThisPom()));
@@ -362,11 +498,13 @@ public class DependenciesSolver {
                 }
             }
 
-            if (interactive && !explicitlyMentionedInRules && !pom.getThisPom().isPlugin()) {
+            if ((interactive || Question.isPreseeded(Preseed.key("version-rule", pom.getThisPom())))
+                    && !explicitlyMentionedInRules && !pom.getThisPom().isPlugin()) {
                 Rule selectedRule = askForVersionRule(pom.getThisPom());
                 versionToRules.put(pom.getThisPom().getVersion(), selectedRule);
                 if (selectedRule.getPattern().equals("CUSTOM")) {
-                    String rule = new SimpleQuestion("Enter the pattern for your custom rule (in the form s/regex/replace/)").ask().toLowerCase();
+                    String rule = new SimpleQuestion("Enter the pattern for your custom rule (in the form s/regex/replace/)")
+                            .withKey(Preseed.key("custom-rule", pom.getThisPom())).ask().toLowerCase();
                     selectedRule = new Rule(rule, "My custom rule " + rule);
                     defaultRules.add(selectedRule);
                 }
@@ -382,7 +520,8 @@ public class DependenciesSolver {
                             " is a bundle.\n"
                             + "Inform mh_make that dependencies of type jar which may match this library should be transformed into bundles automatically?";
 
-                    boolean transformJarsIntoBundle = new YesNoQuestion(question2, true).ask();
+                    boolean transformJarsIntoBundle = new YesNoQuestion(question2, true)
+                            .withKey(Preseed.key("bundle-rule", pom.getThisPom())).ask();
 
                     if (transformJarsIntoBundle) {
                         String transformBundleRule = pom.getThisPom().getGroupId() + " " + pom.getThisPom().getArtifactId()
@@ -412,8 +551,10 @@ public class DependenciesSolver {
             toResolve.add(new ToResolve(projectPom, DependencyType.EXTENSIONS, true, true, false));
 
             if (exploreProjects && !pom.getModules().isEmpty()) {
-                if (interactive && !askedToFilterModules) {
-                    filterModules = !new YesNoQuestion("This project contains modules. Include all modules? (no to select them individually)", true).ask();
+                String includeModulesKey = Preseed.key("include-all-modules", pom.getThisPom());
+                if ((interactive || Question.isPreseeded(includeModulesKey)) && !askedToFilterModules) {
+                    filterModules = !new YesNoQuestion("This project contains modules. Include all modules? (no to select them individually)", true)
+                            .withKey(includeModulesKey).ask();
                     askedToFilterModules = true;
                 }
                 for (String module : pom.getModules()) {
@@ -421,9 +562,20 @@ public class DependenciesSolver {
                 }
             }
         } catch (Exception ex) {
+            // the solver runs in the Maven JVM, the error is reported to the caller with the other issues
             log.log(Level.SEVERE, "Error while resolving " + projectPom + ": " + ex.getMessage());
             log.log(Level.SEVERE, "", ex);
-            System.exit(1);
+            issues.add(IOUtil.relativePath(baseDir, projectPom) + ": Error while resolving the dependencies: " + ex);
+        }
+    }
+
+    /**
+     * Records the final answer to a question asked again until the answer is valid.
+     * The questions asked again have no key, a preseeded answer is never used twice.
+     */
+    private void recordAnswer(String key, String answer) {
+        if (preseed != null) {
+            preseed.record(key, answer);
         }
     }
 
@@ -455,7 +607,7 @@ public class DependenciesSolver {
             choicesDescriptions.add(choice.getDescription());
         }
 
-        int choice = new ChoiceQuestion(question, defaultChoice, choicesDescriptions).ask();
+        int choice = new ChoiceQuestion(question, defaultChoice, choicesDescriptions).withKey(Preseed.key("version-rule", dependency)).ask();
         return choices.get(choice);
     }
 
@@ -481,13 +633,11 @@ public class DependenciesSolver {
         return rules;
     }
 
-    private POMInfo getPOM(File projectPom) throws XMLStreamException, IOException {
+    POMInfo getPOM(File projectPom) throws XMLStreamException, IOException {
         POMInfo info = pomInfoCache.get(projectPom.getAbsolutePath());
         if (info != null) {
             return info;
         }
-        File tmpDest = File.createTempFile("pom", ".tmp", baseDir);
-        tmpDest.deleteOnExit();
         POMOptions options = pomTransformer.getListOfPOMs().getOrCreatePOMOptions(projectPom);
         boolean noParent = false;
         boolean hasPackageVersion = false;
@@ -496,7 +646,18 @@ public class DependenciesSolver {
             hasPackageVersion = options.getHasPackageVersion();
         }
 
-        info = pomTransformer.transformPom(projectPom, tmpDest, noParent, hasPackageVersion, false, false, null, null, true);
+        POMInfo model = projectModels.get(projectPom.getAbsolutePath());
+        if (model != null && !noParent && !hasPackageVersion) {
+            // the transformation of the model is done in memory, the POM isn't written
+            info = model.newPOMFromRules(pomTransformer.getRulesFiles().get(RULES).getRules(), getRepository());
+        } else {
+            // the model built by Maven is the effective model, the dependencies inherited from the parent
+            // and the interpolated versions can't be told apart, the POMs with the no-parent or
+            // has-package-version options are transformed from their source
+            File tmpDest = File.createTempFile("pom", ".tmp", baseDir);
+            tmpDest.deleteOnExit();
+            info = pomTransformer.transformPom(projectPom, tmpDest, noParent, hasPackageVersion, false, false, null, null, true);
+        }
         pomInfoCache.put(projectPom.getAbsolutePath(), info);
         return info;
     }
@@ -507,7 +668,10 @@ public class DependenciesSolver {
             return info;
         }
 
-        info = pomTransformer.readPom(projectPom);
+        info = projectModels.get(projectPom.getAbsolutePath());
+        if (info == null) {
+            info = pomTransformer.readPom(projectPom);
+        }
         originalPomInfoCache.put(projectPom.getAbsolutePath(), info);
         return info;
     }
@@ -642,7 +806,7 @@ public class DependenciesSolver {
         }
 
         if (pom == null) {
-            if (resolvingParent && ignoreDependencyQuestion.askIgnoreDependency(sourcePomLoc, dependency,
+            if (resolvingParent && ignoreDependencyQuestion.askIgnoreDependency(sourcePomLoc, dependency, "ignore-missing-parent",
                     "The parent POM cannot be found in the Maven repository for Debian. Ignore it?")) {
                 pomTransformer.getListOfPOMs().getOrCreatePOMOptions(sourcePom).setNoParent(true);
                 if (verbose) System.out.println("[no-parent]");
@@ -679,13 +843,14 @@ public class DependenciesSolver {
                 }
             }
 
-            if (interactive && pkg == null) {
+            String substitutionRuleKey = Preseed.key("substitution-rule", dependency);
+            if ((interactive || Question.isPreseeded(substitutionRuleKey)) && pkg == null) {
                 pkg = scanner.searchPkgContainingJar(dependency);
                 if (pkg != null) {
                     String question = "[error] Package " + pkg + " does not contain Maven dependency " + dependency + " but there seem to be a match\n"
                      + "If the package contains already Maven artifacts but the names don't match, try to enter a substitution rule\n"
                      + "of the form s/groupId/newGroupId/ s/artifactId/newArtifactId/ jar s/version/newVersion/ here:";
-                    String newRule = new SimpleQuestion(question).ask();
+                    String newRule = new SimpleQuestion(question).withKey(substitutionRuleKey).ask();
                     if (!newRule.isEmpty()) {
                         DependencyRule userRule = new DependencyRule(newRule);
                         pomTransformer.getRulesFiles().get(RULES).add(userRule);
@@ -695,7 +860,8 @@ public class DependenciesSolver {
                 } else {
                     String newRule = new SimpleQuestion(
                             "[error] Cannot resolve Maven dependency " + dependency + ". If you know a package that contains a compatible dependency,\n"
-                          + "try to enter a substitution rule of the form s/groupId/newGroupId/ s/artifactId/newArtifactId/ jar s/version/newVersion/ here:\n").ask();
+                          + "try to enter a substitution rule of the form s/groupId/newGroupId/ s/artifactId/newArtifactId/ jar s/version/newVersion/ here:\n")
+                            .withKey(substitutionRuleKey).ask();
                     while (!newRule.isEmpty()) {
                         DependencyRule userRule = new DependencyRule(newRule);
                         Dependency newDependency = dependency.applyRules(Arrays.asList(userRule));
@@ -704,12 +870,14 @@ public class DependenciesSolver {
                              + "Please enter a substitution rule of the form s/groupId/newGroupId/ s/artifactId/newArtifactId/ jar s/version/newVersion/ here,"
                              + "or press <Enter> to give up").ask();
                         } else {
+                            recordAnswer(substitutionRuleKey, newRule);
                             pomTransformer.getRulesFiles().get(RULES).add(userRule);
                             System.out.println("Rescanning /usr/share/maven-repo...");
                             pomTransformer.getRepository().scan();
                             return resolveDependency(dependency.applyRules(Arrays.asList(userRule)), sourcePom, buildTime, mavenExtension, management, false);
                         }
                     }
+                    recordAnswer(substitutionRuleKey, newRule);
                 }
             }
 
@@ -718,6 +886,7 @@ public class DependenciesSolver {
                 pomTransformer.getRepository().scan();
                 // Clear caches
                 scanner = scanner.newInstanceWithFreshCaches();
+                prefetchedDependencies.clear();
                 return resolveDependency(dependency, sourcePom, buildTime, mavenExtension, management, false);
             }
 
@@ -839,6 +1008,9 @@ public class DependenciesSolver {
             System.out.println("  --base-directory: path to root directory of package");
             System.out.println("  --non-explore: doesn't explore directories for pom.xml");
             System.out.println("  --build: build mode (don't write the .poms and rules files)");
+            System.out.println("  --preseed=<file>: read the answers to the questions from the file,");
+            System.out.println("    also in a non interactive session");
+            System.out.println("  --record-answers=<file>: write the answers to the questions in the file");
             return;
         }
 
@@ -853,6 +1025,8 @@ public class DependenciesSolver {
         boolean interactive = true;
         boolean offline = false;
         boolean build = false;
+        File preseedFile = null;
+        File recordFile = null;
 
         // Parse parameters
         int i = inc(-1, args);
@@ -886,6 +1060,10 @@ public class DependenciesSolver {
                 exploreProjects = false;
             } else if (arg.equals("--build")) {
                 build = true;
+            } else if (arg.startsWith("--preseed=")) {
+                preseedFile = new File(arg.substring("--preseed=".length()));
+            } else if (arg.startsWith("--record-answers=")) {
+                recordFile = new File(arg.substring("--record-answers=".length()));
             }
 
             i = inc(i, args);
@@ -919,8 +1097,27 @@ public class DependenciesSolver {
             solver.verbose = true;
         }
 
+        Preseed preseed = null;
+        if (preseedFile != null || recordFile != null) {
+            try {
+                preseed = preseedFile != null ? Preseed.load(preseedFile) : new Preseed();
+            } catch (IOException e) {
+                System.err.println("Unable to read the preseed file " + preseedFile + ": " + e.getMessage());
+                System.exit(1);
+            }
+            solver.setPreseed(preseed);
+        }
+
         solver.solveDependencies();
 
+        if (recordFile != null) {
+            try {
+                preseed.saveRecordedAnswers(recordFile);
+            } catch (IOException e) {
+                System.err.println("Unable to record the answers in " + recordFile + ": " + e.getMessage());
+            }
+        }
+
         // Don't overwrite the poms or rules files during a build
         if (!build) {
             solver.pomTransformer.getListOfPOMs().save();
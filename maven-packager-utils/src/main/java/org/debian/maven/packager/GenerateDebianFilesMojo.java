@@ -18,13 +18,14 @@ package org.debian.maven.packager;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -42,9 +43,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
 import org.debian.maven.packager.interaction.MultilineQuestion;
 import org.debian.maven.packager.interaction.SimpleQuestion;
+import org.debian.maven.packager.util.CopyrightStanza;
+import org.debian.maven.packager.util.Dep5License;
 import org.debian.maven.packager.util.LicensesScanner;
 import org.debian.maven.packager.util.PackageScanner;
 import org.debian.maven.repo.ListOfPOMs;
@@ -145,10 +147,7 @@ public class GenerateDebianFilesMojo extends AbstractMojo {
         }
 
         try {
-            Properties velocityProperties = new Properties();
-            velocityProperties.put("resource.loader", "class");
-            velocityProperties.put("class.resource.loader.class", "org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader");
-            Velocity.init(velocityProperties);
+            DebianFilesGenerator generator = new DebianFilesGenerator();
             VelocityContext context = new VelocityContext();
             context.put("package", packageName);
             context.put("binPackage", binPackageName);
@@ -160,7 +159,7 @@ public class GenerateDebianFilesMojo extends AbstractMojo {
             context.put("generateJavadoc", Boolean.valueOf(generateJavadoc));
             context.put("hasBuildXml", new File(project.getBasedir().getAbsolutePath(), "build.xml").exists());
 
-            Set<String> licenses = licensesScanner.discoverLicenses(project.getLicenses());
+            Set<String> licenses = licensesScanner.discoverLicenses(project.getLicenses(), project.getBasedir());
             context.put("licenses", licenses);
 
             if (licenses.size() == 1) {
@@ -177,6 +176,18 @@ public class GenerateDebianFilesMojo extends AbstractMojo {
             }
             context.put("packagerLicense", packagerLicense);
 
+            // The holders of the copyright statements of the most common files of the sources
+            List<CopyrightStanza> copyrightStanzas = licensesScanner.getCopyrightStanzas();
+            CopyrightStanza defaultCopyright = null;
+            if (!copyrightStanzas.isEmpty() && copyrightStanzas.get(0).isDefault()) {
+                defaultCopyright = copyrightStanzas.get(0);
+                copyrightStanzas = copyrightStanzas.subList(1, copyrightStanzas.size());
+            }
+            context.put("defaultCopyright", defaultCopyright);
+            context.put("copyrightStanzas", copyrightStanzas);
+
+            putLicenseParagraphs(context, licenses, defaultCopyright, copyrightStanzas, packagerLicense);
+
             String copyrightOwner = "";
             String projectTeam = "";
             if (project.getOrganization() != null) {
@@ -192,6 +203,9 @@ public class GenerateDebianFilesMojo extends AbstractMojo {
                     }
                 }
             }
+            if ((copyrightOwner == null || copyrightOwner.isEmpty()) && defaultCopyright != null) {
+                copyrightOwner = defaultCopyright.getHolders().iterator().next();
+            }
             if (copyrightOwner == null || copyrightOwner.isEmpty()) {
                 copyrightOwner = new SimpleQuestion("Could not find the copyright owner(s) for the upstream sources, please enter their name(s):").ask();
             }
@@ -299,7 +313,7 @@ public class GenerateDebianFilesMojo extends AbstractMojo {
                     context.put("tagMarker", tagMarker);
                     context.put("suffixUrl", suffixUrl);
 
-                    generateFile(context, "watch.svn.vm", outputDirectory, "watch");
+                    generator.add("watch.svn.vm", outputDirectory, "watch");
 
                 } else {
                     getLog().warn("Cannot locate the version in the download url (" + downloadUrl + ").");
@@ -318,7 +332,7 @@ public class GenerateDebianFilesMojo extends AbstractMojo {
                     context.put("userId", matcher.group(1));
                     context.put("repository", matcher.group(2));
 
-                    generateFile(context, "watch.github.vm", outputDirectory, "watch");
+                    generator.add("watch.github.vm", outputDirectory, "watch");
                 }
             }
 
@@ -326,33 +340,65 @@ public class GenerateDebianFilesMojo extends AbstractMojo {
                 getLog().warn("Cannot recognize the download url (" + downloadUrl + ").");
             }
 
-            generateFile(context, "README.source.vm", outputDirectory, "README.source");
-            generateFile(context, "copyright.vm", outputDirectory, "copyright");
-            generateFile(context, "rules.vm", outputDirectory, "rules", true);
+            generator.add("README.source.vm", outputDirectory, "README.source");
+            generator.add("copyright.vm", outputDirectory, "copyright");
+            generator.add("rules.vm", outputDirectory, "rules", true);
 
-            context.put("version.vm", mangleVersion(project.getVersion()) + "-1");
+            context.put("debianVersion", mangleVersion(project.getVersion()) + "-1");
 
-            generateFile(context, "rules.vm", new File("."), ".debianVersion");
+            generator.add("version.vm", project.getBasedir(), ".debianVersion");
 
             if (generateJavadoc) {
                 if (project.getPackaging().equals("pom") && collectedProjects.size() > 1) {
-                    generateFile(context, "java-doc.doc-base.api.multi.vm", outputDirectory, binPackageName + "-doc.doc-base.api");
-                    generateFile(context, "java-doc.install.multi.vm", outputDirectory, binPackageName + "-doc.install");
+                    generator.add("java-doc.doc-base.api.multi.vm", outputDirectory, binPackageName + "-doc.doc-base.api");
+                    generator.add("java-doc.install.multi.vm", outputDirectory, binPackageName + "-doc.install");
                 } else {
-                    generateFile(context, "java-doc.doc-base.api.vm", outputDirectory, binPackageName + "-doc.doc-base.api");
-                    generateFile(context, "java-doc.install.vm", outputDirectory, binPackageName + "-doc.install");
+                    generator.add("java-doc.doc-base.api.vm", outputDirectory, binPackageName + "-doc.doc-base.api");
+                    generator.add("java-doc.install.vm", outputDirectory, binPackageName + "-doc.install");
                 }
             }
 
-            generateFile(context, "maven.properties.vm", outputDirectory, "maven.properties");
-            generateFile(context, "control.vm", outputDirectory, "control");
-            generateFile(context, "format.vm", new File(outputDirectory, "source"), "format");
+            generator.add("maven.properties.vm", outputDirectory, "maven.properties");
+            generator.add("control.vm", outputDirectory, "control");
+            generator.add("format.vm", new File(outputDirectory, "source"), "format");
+
+            generator.generate(context);
 
         } catch (IOException ex) {
             ex.printStackTrace();
         }
     }
 
+    /**
+     * Puts in the context the licenses named in the Files stanzas of debian/copyright, each one
+     * gets a License paragraph, and the files in /usr/share/common-licenses with their text.
+     */
+    static void putLicenseParagraphs(VelocityContext context, Set<String> licenses, CopyrightStanza defaultCopyright,
+                                     List<CopyrightStanza> copyrightStanzas, String packagerLicense) {
+        Set<String> licenseParagraphs = new TreeSet<String>();
+        if (defaultCopyright != null && !defaultCopyright.getLicenses().isEmpty()) {
+            licenseParagraphs.addAll(defaultCopyright.getLicenses());
+        } else {
+            licenseParagraphs.addAll(licenses);
+        }
+        for (CopyrightStanza stanza : copyrightStanzas) {
+            licenseParagraphs.addAll(stanza.getLicenses());
+        }
+        if (packagerLicense != null) {
+            licenseParagraphs.add(packagerLicense);
+        }
+
+        Map<String, String> commonLicenses = new HashMap<String, String>();
+        for (String license : licenseParagraphs) {
+            String commonLicense = Dep5License.getCommonLicense(license);
+            if (commonLicense != null) {
+                commonLicenses.put(license, commonLicense);
+            }
+        }
+        context.put("licenseParagraphs", licenseParagraphs);
+        context.put("commonLicenses", commonLicenses);
+    }
+
     /**
      * Returns the email enclosed in &lt; ... &gt;.
      * 
@@ -439,22 +485,6 @@ public class GenerateDebianFilesMojo extends AbstractMojo {
         }
     }
 
-    private void generateFile(VelocityContext context, String templateName, File destDir, String fileName) throws IOException {
-        generateFile(context, templateName, destDir, fileName, false);
-    }
-
-    private void generateFile(VelocityContext context, String templateName, File destDir, String fileName, boolean executable) throws IOException {
-        destDir.mkdirs();
-        File file = new File(destDir, fileName);
-        FileWriter out = new FileWriter(file);
-        Velocity.mergeTemplate(templateName, "UTF8", context, out);
-        out.flush();
-        out.close();
-        if (executable) {
-            file.setExecutable(true);
-        }
-    }
-
     private List<String> split(String s) {
         List<String> l = new ArrayList<String>();
         if (s != null) {
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuilderFactory;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuildingResult;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.debian.maven.packager.interaction.Preseed;
+import org.debian.maven.packager.util.PackageScanner;
+import org.debian.maven.repo.POMHandler;
+
+/**
+ * Generates the Debian packaging of a Maven project in a single JVM: the dependencies
+ * are solved, the POMs are patched and the files in debian/ are generated. This replaces
+ * the separate invocations of DependenciesSolver, mh_patchpoms and Maven by mh_make.
+ *
+ * <p>The POMs of the project are read and interpolated once, their models are used
+ * by the solver and by the generation. The Maven repository scanned by the solver is
+ * reused to patch the POMs.</p>
+ *
+ * @see GenerateDebianFilesMojo
+ */
+public class MhMake {
+
+    private File baseDir = new File(System.getProperty("user.dir"));
+    private File mavenRepo = new File("/usr/share/maven-repo");
+    private String packageName;
+    private String binPackageName;
+    private String packager;
+    private String email;
+    private String packagerLicense = "Apache-2.0";
+    private String downloadUrl;
+    private boolean runTests;
+    private boolean generateJavadoc;
+    private boolean interactive = true;
+    private boolean verbose;
+    private File preseedFile;
+    private File recordFile;
+
+    void setBaseDir(File baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    void setMavenRepo(File mavenRepo) {
+        this.mavenRepo = mavenRepo;
+    }
+
+    void setPackageName(String packageName) {
+        this.packageName = packageName;
+    }
+
+    void setBinPackageName(String binPackageName) {
+        this.binPackageName = binPackageName;
+    }
+
+    void setInteractive(boolean interactive) {
+        this.interactive = interactive;
+    }
+
+    void setPreseedFile(File preseedFile) {
+        this.preseedFile = preseedFile;
+    }
+
+    void setRecordFile(File recordFile) {
+        this.recordFile = recordFile;
+    }
+
+    /**
+     * Reads the POM of the project and of its modules
+     *
+     * @return the projects, the root project first
+     */
+    List<MavenProject> readProjects() throws ModelBuildingException {
+        ModelBuilder builder = new DefaultModelBuilderFactory().newInstance();
+        RepositoryModelResolver resolver = new RepositoryModelResolver(mavenRepo);
+        List<MavenProject> projects = new ArrayList<MavenProject>();
+        readProject(builder, resolver, new File(baseDir, "pom.xml"), new HashMap<String, MavenProject>(), projects);
+        return projects;
+    }
+
+    private void readProject(ModelBuilder builder, RepositoryModelResolver resolver, File pomFile,
+                             Map<String, MavenProject> parents, List<MavenProject> projects) throws ModelBuildingException {
+        DefaultModelBuildingRequest request = new DefaultModelBuildingRequest();
+        request.setPomFile(pomFile);
+        request.setModelResolver(resolver);
+        request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
+        request.setProcessPlugins(false);
+        request.setSystemProperties(System.getProperties());
+        ModelBuildingResult result = builder.build(request);
+
+        MavenProject project = new MavenProject(result.getEffectiveModel());
+        project.setOriginalModel(result.getRawModel());
+        project.setFile(pomFile);
+
+        // the parents, from the reactor or from the repository, declare the plugins inherited
+        List<String> modelIds = result.getModelIds();
+        MavenProject child = project;
+        for (String modelId : modelIds.subList(1, modelIds.size())) {
+            if (modelId.isEmpty()) {
+                // the super POM
+                break;
+            }
+            MavenProject parent = parents.get(modelId);
+            if (parent == null) {
+                Model rawModel = result.getRawModel(modelId);
+                parent = new MavenProject(rawModel);
+                parent.setOriginalModel(rawModel);
+            }
+            child.setParent(parent);
+            child = parent;
+        }
+
+        projects.add(project);
+        parents.put(modelIds.get(0), project);
+
+        for (String module : project.getModules()) {
+            File modulePom = new File(pomFile.getParentFile(), module);
+            if (modulePom.isDirectory()) {
+                modulePom = new File(modulePom, "pom.xml");
+            }
+            readProject(builder, resolver, modulePom, parents, projects);
+        }
+    }
+
+    /**
+     * Solves the dependencies, patches the POMs and generates the Debian files
+     */
+    public void run() throws Exception {
+        File debianDir = new File(baseDir, "debian");
+
+        System.out.println("Reading the POMs...");
+        List<MavenProject> projects = readProjects();
+
+        DependenciesSolver solver = new DependenciesSolver(debianDir, new PackageScanner(false), interactive);
+        solver.runTests = runTests;
+        solver.setBaseDir(baseDir);
+        solver.setPackageName(binPackageName);
+        solver.setGenerateJavadoc(generateJavadoc);
+        solver.setMavenRepo(mavenRepo);
+        solver.setListOfPoms(new File(debianDir, binPackageName + ".poms"));
+        // the list of POMs is empty on a new package, the modules are found from the root POM
+        solver.setExploreProjects(true);
+        solver.setProjects(projects);
+        solver.setVerbose(verbose);
+
+        Preseed preseed = null;
+        if (preseedFile != null || recordFile != null) {
+            preseed = preseedFile != null ? Preseed.load(preseedFile) : new Preseed();
+            solver.setPreseed(preseed);
+        }
+
+        solver.solveDependencies();
+
+        if (recordFile != null) {
+            preseed.saveRecordedAnswers(recordFile);
+        }
+
+        solver.pomTransformer.getListOfPOMs().save();
+        solver.pomTransformer.getRulesFiles().save(debianDir);
+        solver.saveSubstvars();
+
+        if (!solver.getIssues().isEmpty()) {
+            throw new MojoExecutionException("Some problems were found in this project");
+        }
+
+        System.out.println("Patching the POMs...");
+        patchPoms(solver);
+
+        System.out.println("Generating the Debian files...");
+        GenerateDebianFilesMojo generator = new GenerateDebianFilesMojo();
+        generator.project = projects.get(0);
+        generator.collectedProjects = projects.subList(1, projects.size());
+        generator.outputDirectory = debianDir;
+        generator.packager = packager;
+        generator.email = email;
+        generator.packagerLicense = packagerLicense;
+        generator.packageName = packageName;
+        generator.binPackageName = binPackageName;
+        generator.downloadUrl = downloadUrl;
+        generator.runTests = runTests;
+        generator.generateJavadoc = generateJavadoc;
+        generator.execute();
+    }
+
+    /**
+     * Patches the POMs with the rules selected, the original POMs are saved in pom.xml.save
+     * to be restored with mh_unpatchpoms.
+     */
+    private void patchPoms(DependenciesSolver solver) throws Exception {
+        solver.pomTransformer.getListOfPOMs().foreachPoms(new POMHandler() {
+
+            public void handlePOM(File pomFile, boolean noParent, boolean hasPackageVersion) throws Exception {
+                File save = new File(pomFile.getPath() + ".save");
+                if (!save.exists()) {
+                    Files.copy(pomFile.toPath(), save.toPath());
+                }
+            }
+
+            public void ignorePOM(File pomFile) throws Exception {
+            }
+        });
+        solver.pomTransformer.transformPoms(binPackageName, true, null);
+    }
+
+    public static void main(String[] args) {
+        MhMake mhMake = new MhMake();
+        for (String arg : args) {
+            arg = arg.trim();
+            if (arg.startsWith("--package=")) {
+                mhMake.packageName = arg.substring("--package=".length());
+            } else if (arg.startsWith("--bin-package=")) {
+                mhMake.binPackageName = arg.substring("--bin-package=".length());
+            } else if (arg.startsWith("--packager=")) {
+                mhMake.packager = arg.substring("--packager=".length());
+            } else if (arg.startsWith("--email=")) {
+                mhMake.email = arg.substring("--email=".length());
+            } else if (arg.startsWith("--packager-license=")) {
+                mhMake.packagerLicense = arg.substring("--packager-license=".length());
+            } else if (arg.startsWith("--download-url=")) {
+                mhMake.downloadUrl = arg.substring("--download-url=".length());
+            } else if (arg.startsWith("--preseed=")) {
+                mhMake.preseedFile = new File(arg.substring("--preseed=".length()));
+            } else if (arg.startsWith("--record-answers=")) {
+                mhMake.recordFile = new File(arg.substring("--record-answers=".length()));
+            } else if (arg.startsWith("--maven-repo=")) {
+                mhMake.mavenRepo = new File(arg.substring("--maven-repo=".length()));
+            } else if (arg.equals("--run-tests")) {
+                mhMake.runTests = true;
+            } else if (arg.equals("--generate-javadoc")) {
+                mhMake.generateJavadoc = true;
+            } else if (arg.equals("--non-interactive")) {
+                mhMake.interactive = false;
+            } else if (arg.equals("--verbose") || arg.equals("-v")) {
+                mhMake.verbose = true;
+            }
+        }
+
+        if (mhMake.packageName == null || mhMake.binPackageName == null) {
+            System.err.println("Usage: MhMake --package=<package> --bin-package=<package> [--packager=<name>] [--email=<email>]");
+            System.err.println("         [--packager-license=<license>] [--download-url=<url>] [--maven-repo=<repo root>]");
+            System.err.println("         [--run-tests] [--generate-javadoc] [--non-interactive] [--verbose]");
+            System.err.println("         [--preseed=<file>] [--record-answers=<file>]");
+            System.exit(1);
+        }
+
+        try {
+            mhMake.run();
+        } catch (ModelBuildingException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        } catch (Exception e) {
+            System.err.println("mh_make failed: " + e.getMessage());
+            if (mhMake.verbose) {
+                e.printStackTrace();
+            }
+            System.exit(1);
+        }
+    }
+}
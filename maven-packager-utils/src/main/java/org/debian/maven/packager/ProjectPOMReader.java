@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.project.MavenProject;
+import org.debian.maven.repo.Dependency;
+import org.debian.maven.repo.POMInfo;
+import org.debian.maven.repo.POMInfo.DependencyType;
+
+/**
+ * Builds the POMInfo of a project from the model built by Maven, instead of reading
+ * and transforming its pom.xml again. The values come from the interpolated model,
+ * the properties and the versions inherited are thus already resolved.
+ *
+ * <p>The plugins added by the lifecycle or inherited from the super POM aren't
+ * declared by the project and are left out, only the plugins mentioned in the
+ * original model of the project or of its parents are kept.</p>
+ */
+public class ProjectPOMReader {
+
+    private static final String MAVEN_PLUGIN = "maven-plugin";
+
+    /**
+     * Returns the POMInfo of the project
+     */
+    public static POMInfo read(MavenProject project) {
+        Model model = project.getModel();
+        Set<String> declaredPlugins = getDeclaredPlugins(project);
+
+        POMInfo info = new POMInfo();
+        Dependency thisPom = new Dependency(model.getGroupId(), model.getArtifactId(), model.getPackaging(), model.getVersion());
+        info.setOriginalPom(new Dependency(thisPom));
+        info.setThisPom(thisPom);
+
+        Parent parent = model.getParent();
+        if (parent != null) {
+            info.setParent(new Dependency(parent.getGroupId(), parent.getArtifactId(), "pom", parent.getVersion(),
+                    null, false, null, parent.getRelativePath()));
+        }
+
+        info.setModules(new ArrayList<String>(model.getModules()));
+
+        Map<String, String> properties = new TreeMap<String, String>();
+        for (String name : model.getProperties().stringPropertyNames()) {
+            properties.put(name, model.getProperties().getProperty(name));
+        }
+        info.setProperties(properties);
+
+        Map<DependencyType, List<Dependency>> dependencies = new HashMap<DependencyType, List<Dependency>>();
+        for (DependencyType type : DependencyType.values()) {
+            dependencies.put(type, new ArrayList<Dependency>());
+        }
+
+        dependencies.get(DependencyType.DEPENDENCIES).addAll(toDependencies(model.getDependencies()));
+        if (model.getDependencyManagement() != null) {
+            dependencies.get(DependencyType.DEPENDENCY_MANAGEMENT_LIST).addAll(toDependencies(model.getDependencyManagement().getDependencies()));
+        }
+
+        Build build = model.getBuild();
+        if (build != null) {
+            for (Plugin plugin : build.getPlugins()) {
+                if (declaredPlugins.contains(plugin.getKey())) {
+                    dependencies.get(DependencyType.PLUGINS).add(toDependency(plugin));
+                    dependencies.get(DependencyType.PLUGIN_DEPENDENCIES).addAll(toDependencies(plugin.getDependencies()));
+                }
+            }
+            if (build.getPluginManagement() != null) {
+                for (Plugin plugin : build.getPluginManagement().getPlugins()) {
+                    if (declaredPlugins.contains(plugin.getKey())) {
+                        dependencies.get(DependencyType.PLUGIN_MANAGEMENT).add(toDependency(plugin));
+                    }
+                }
+            }
+            for (Extension extension : build.getExtensions()) {
+                dependencies.get(DependencyType.EXTENSIONS).add(new Dependency(extension.getGroupId(), extension.getArtifactId(), "jar", extension.getVersion()));
+            }
+        }
+
+        if (model.getReporting() != null) {
+            for (ReportPlugin plugin : model.getReporting().getPlugins()) {
+                dependencies.get(DependencyType.REPORTING_PLUGINS).add(new Dependency(plugin.getGroupId(), plugin.getArtifactId(), MAVEN_PLUGIN, plugin.getVersion()));
+            }
+        }
+
+        info.setDependencies(dependencies);
+        return info;
+    }
+
+    /**
+     * Returns the keys of the plugins declared by the project and its parents
+     */
+    private static Set<String> getDeclaredPlugins(MavenProject project) {
+        Set<String> keys = new HashSet<String>();
+        for (MavenProject p = project; p != null; p = p.getParent()) {
+            Build build = p.getOriginalModel().getBuild();
+            if (build != null) {
+                for (Plugin plugin : build.getPlugins()) {
+                    keys.add(plugin.getKey());
+                }
+                if (build.getPluginManagement() != null) {
+                    for (Plugin plugin : build.getPluginManagement().getPlugins()) {
+                        keys.add(plugin.getKey());
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static Dependency toDependency(Plugin plugin) {
+        return new Dependency(plugin.getGroupId(), plugin.getArtifactId(), MAVEN_PLUGIN, plugin.getVersion());
+    }
+
+    private static List<Dependency> toDependencies(List<org.apache.maven.model.Dependency> modelDependencies) {
+        List<Dependency> dependencies = new ArrayList<Dependency>();
+        for (org.apache.maven.model.Dependency dependency : modelDependencies) {
+            dependencies.add(new Dependency(dependency.getGroupId(), dependency.getArtifactId(), dependency.getType(), dependency.getVersion(),
+                    dependency.getScope(), dependency.isOptional(), dependency.getClassifier(), null));
+        }
+        return dependencies;
+    }
+}
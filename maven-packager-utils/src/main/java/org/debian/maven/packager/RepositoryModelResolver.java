@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelSource;
+import org.apache.maven.model.resolution.ModelResolver;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+
+/**
+ * Resolves the parent and the imported POMs in the Debian Maven repository. The upstream
+ * versions are rarely installed, the 'debian' version or else the latest version installed
+ * is used instead. The remote repositories declared by the POMs are ignored.
+ */
+class RepositoryModelResolver implements ModelResolver {
+
+    private final File repository;
+
+    RepositoryModelResolver(File repository) {
+        this.repository = repository;
+    }
+
+    public ModelSource resolveModel(String groupId, String artifactId, String version) throws UnresolvableModelException {
+        File artifactDir = new File(repository, groupId.replace('.', '/') + "/" + artifactId);
+
+        File pom = getPom(artifactDir, artifactId, version);
+        if (!pom.isFile()) {
+            pom = getPom(artifactDir, artifactId, "debian");
+        }
+        if (!pom.isFile()) {
+            String[] versions = artifactDir.list();
+            if (versions != null && versions.length > 0) {
+                Arrays.sort(versions);
+                pom = getPom(artifactDir, artifactId, versions[versions.length - 1]);
+            }
+        }
+        if (!pom.isFile()) {
+            throw new UnresolvableModelException("POM not found in " + repository, groupId, artifactId, version);
+        }
+        return new FileModelSource(pom);
+    }
+
+    private File getPom(File artifactDir, String artifactId, String version) {
+        return new File(artifactDir, version + "/" + artifactId + "-" + version + ".pom");
+    }
+
+    public ModelSource resolveModel(Parent parent) throws UnresolvableModelException {
+        return resolveModel(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+    }
+
+    public ModelSource resolveModel(Dependency dependency) throws UnresolvableModelException {
+        return resolveModel(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+    }
+
+    public void addRepository(Repository repository) {
+    }
+
+    public void addRepository(Repository repository, boolean replace) {
+    }
+
+    public ModelResolver newCopy() {
+        return this;
+    }
+}
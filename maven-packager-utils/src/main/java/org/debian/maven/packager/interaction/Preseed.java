@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.interaction;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.debian.maven.repo.Dependency;
+
+/**
+ * The answers to the questions known in advance, to run mh_make unattended, and the
+ * answers given during the session, to replay it later.
+ *
+ * <p>The questions are identified by a key made of the type of the question and of the
+ * coordinates of the artifact concerned, for example
+ * <tt>version-rule:org.foo:bar</tt>. The preseed files contain one answer per line,
+ * the key followed by the answer exactly as it would be typed. A key alone selects the
+ * default answer. The lines starting with '#' are comments.</p>
+ *
+ * <pre>
+ * # ignore the Maven Site plugin
+ * ignore-doc-plugin:org.apache.maven.plugins:maven-site-plugin y
+ * version-rule:org.foo:bar 2
+ * </pre>
+ *
+ * <p>The answers recorded are saved in the same format, a session replayed with its own
+ * record gets the same answers.</p>
+ */
+public class Preseed {
+
+    /** The answers read from the preseed file, indexed by key */
+    private final Map<String, String> answers = new HashMap<String, String>();
+
+    /** The answers used during the session, in the order of the questions */
+    private final Map<String, String> recordedAnswers = new LinkedHashMap<String, String>();
+
+    /**
+     * Returns the key of a question about an artifact
+     *
+     * @param type       the type of the question, for example 'version-rule'
+     * @param dependency the artifact concerned
+     */
+    public static String key(String type, Dependency dependency) {
+        return type + ":" + dependency.getGroupId() + ":" + dependency.getArtifactId();
+    }
+
+    /**
+     * Reads the answers of a preseed file
+     */
+    public static Preseed load(File file) throws IOException {
+        Preseed preseed = new Preseed();
+        BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] keyAndAnswer = line.split("\\s+", 2);
+                preseed.put(keyAndAnswer[0], keyAndAnswer.length > 1 ? keyAndAnswer[1] : "");
+            }
+        } finally {
+            in.close();
+        }
+        return preseed;
+    }
+
+    /**
+     * Sets the answer of a question
+     */
+    public synchronized void put(String key, String answer) {
+        answers.put(key, answer);
+    }
+
+    /**
+     * Tells if the answer of a question is known in advance
+     */
+    public synchronized boolean contains(String key) {
+        return answers.containsKey(key);
+    }
+
+    /**
+     * Returns the answer of a question, or null if it isn't known in advance
+     */
+    public synchronized String get(String key) {
+        return answers.get(key);
+    }
+
+    /**
+     * Records the answer given to a question. The last answer of a question asked again replaces the previous one.
+     */
+    public synchronized void record(String key, String answer) {
+        recordedAnswers.remove(key);
+        recordedAnswers.put(key, answer);
+    }
+
+    /**
+     * Returns the answers used during the session, in the order of the questions
+     */
+    public synchronized Map<String, String> getRecordedAnswers() {
+        return new LinkedHashMap<String, String>(recordedAnswers);
+    }
+
+    /**
+     * Writes the answers used during the session in a preseed file
+     */
+    public void saveRecordedAnswers(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        File tmp = new File(parent, "." + file.getName() + ".tmp");
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8"));
+        try {
+            out.println("# Answers recorded by mh_make, replay them with --preseed=" + file.getName());
+            for (Map.Entry<String, String> answer : getRecordedAnswers().entrySet()) {
+                if (answer.getValue().isEmpty()) {
+                    out.println(answer.getKey());
+                } else {
+                    out.println(answer.getKey() + " " + answer.getValue());
+                }
+            }
+        } finally {
+            out.close();
+        }
+        if (out.checkError()) {
+            tmp.delete();
+            throw new IOException("Unable to write " + file);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
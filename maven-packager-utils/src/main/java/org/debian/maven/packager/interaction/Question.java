@@ -28,7 +28,21 @@ import java.io.PrintWriter;
  */
 public abstract class Question<T> {
 
+    private static volatile QuestionListener listener;
+
+    /** The answers known in advance and the answers recorded */
+    private static volatile Preseed preseed;
+
+    /** Tells if the user can be asked, otherwise the questions not preseeded get the default answer */
+    private static volatile boolean interactive = true;
+
     protected String question;
+
+    /** The key identifying the question in the preseed files */
+    private String key;
+
+    /** Tells if the preseeded answer has already been used, an invalid answer isn't used twice */
+    private boolean preseeded;
     private BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
     private PrintWriter out = new PrintWriter(System.out, true);
 
@@ -36,6 +50,46 @@ public abstract class Question<T> {
         this.question = question;
     }
 
+    /**
+     * Sets the listener notified while the questions wait for the answer of the user.
+     */
+    public static void setListener(QuestionListener listener) {
+        Question.listener = listener;
+    }
+
+    /**
+     * Sets the answers used instead of asking the user, and where the answers are recorded.
+     */
+    public static void setPreseed(Preseed preseed) {
+        Question.preseed = preseed;
+    }
+
+    /**
+     * Enables or disables the input of the user. When disabled, the questions
+     * not preseeded get the default answer.
+     */
+    public static void setInteractive(boolean interactive) {
+        Question.interactive = interactive;
+    }
+
+    /**
+     * Tells if the answer of the question with the specified key is preseeded.
+     */
+    public static boolean isPreseeded(String key) {
+        Preseed preseed = Question.preseed;
+        return preseed != null && preseed.contains(key);
+    }
+
+    /**
+     * Sets the key identifying this question in the preseed files.
+     * 
+     * @see Preseed#key(String, org.debian.maven.repo.Dependency)
+     */
+    public Question<T> withKey(String key) {
+        this.key = key;
+        return this;
+    }
+
     void setInput(BufferedReader in) {
         this.in = in;
     }
@@ -45,12 +99,39 @@ public abstract class Question<T> {
     }
 
     protected String readLine() {
+        Preseed preseed = Question.preseed;
+        String line;
+        if (!preseeded && key != null && preseed != null && preseed.contains(key)) {
+            preseeded = true;
+            line = preseed.get(key).trim();
+            println(line);
+        } else if (!interactive) {
+            line = "";
+            println(line);
+        } else {
+            line = readInput();
+        }
+        if (key != null && preseed != null) {
+            preseed.record(key, line);
+        }
+        return line;
+    }
+
+    private String readInput() {
+        QuestionListener listener = Question.listener;
+        if (listener != null) {
+            listener.waitingForAnswer();
+        }
         try {
             String line = in.readLine();
             return line != null ? line.trim() : "";
         } catch (IOException e) {
             e.printStackTrace();
             return "";
+        } finally {
+            if (listener != null) {
+                listener.answered();
+            }
         }
     }
 
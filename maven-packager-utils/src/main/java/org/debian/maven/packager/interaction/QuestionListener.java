@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.interaction;
+
+/**
+ * Notified when a question waits for the answer of the user, for example to run
+ * some work in the background meanwhile.
+ */
+public interface QuestionListener {
+
+    /**
+     * Called before waiting for the answer of the user.
+     */
+    void waitingForAnswer();
+
+    /**
+     * Called once the answer has been read.
+     */
+    void answered();
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A Files stanza of debian/copyright in the DEP-5 format: the files with the same
+ * copyright holders and licenses, their holders with the years of the copyright
+ * and their licenses.
+ */
+public class CopyrightStanza {
+
+    private static final Pattern YEAR = Pattern.compile("(\\d{4})(?:\\s*-\\s*(\\d{4}|\\d{2})\\b)?");
+
+    /** The indentation of the continuation lines of the Copyright field */
+    private static final String CONTINUATION = "\n           ";
+
+    private final List<String> files;
+
+    /** The years of the copyright indexed by holder */
+    private final Map<String, SortedSet<Integer>> holders;
+
+    private final SortedSet<String> licenses;
+
+    CopyrightStanza(List<String> files, Map<String, SortedSet<Integer>> holders, SortedSet<String> licenses) {
+        this.files = files;
+        this.holders = holders;
+        this.licenses = licenses;
+    }
+
+    /**
+     * Returns the globs of the files, separated by spaces
+     */
+    public String getFiles() {
+        StringBuilder globs = new StringBuilder();
+        for (String file : files) {
+            globs.append(globs.length() > 0 ? " " : "").append(file);
+        }
+        return globs.toString();
+    }
+
+    /**
+     * Returns the value of the Copyright field, one holder per line: 2009-2012, Foo Bar
+     */
+    public String getCopyright() {
+        StringBuilder copyright = new StringBuilder();
+        for (Map.Entry<String, SortedSet<Integer>> holder : holders.entrySet()) {
+            copyright.append(copyright.length() > 0 ? CONTINUATION : "");
+            copyright.append(formatYears(holder.getValue())).append(", ").append(holder.getKey());
+        }
+        return copyright.toString();
+    }
+
+    /**
+     * Returns the value of the License field
+     */
+    public String getLicense() {
+        StringBuilder license = new StringBuilder();
+        for (String id : licenses) {
+            license.append(license.length() > 0 ? " and " : "").append(id);
+        }
+        return license.length() > 0 ? license.toString() : "UNKNOWN";
+    }
+
+    /**
+     * Returns the DEP-5 short names of the licenses of the files, empty if no license was found
+     */
+    public SortedSet<String> getLicenses() {
+        return licenses;
+    }
+
+    public Set<String> getHolders() {
+        return holders.keySet();
+    }
+
+    public boolean isDefault() {
+        return files.size() == 1 && files.get(0).equals("*");
+    }
+
+    /**
+     * Parses years like 2003, 2005-2008 or 2009-11
+     */
+    static SortedSet<Integer> parseYears(String text) {
+        SortedSet<Integer> years = new TreeSet<Integer>();
+        Matcher matcher = YEAR.matcher(text);
+        while (matcher.find()) {
+            int first = Integer.parseInt(matcher.group(1));
+            int last = first;
+            if (matcher.group(2) != null) {
+                last = Integer.parseInt(matcher.group(2));
+                if (last < 100) {
+                    last += first - first % 100;
+                }
+            }
+            for (int year = first; year <= last && year - first < 100; year++) {
+                years.add(year);
+            }
+        }
+        return years;
+    }
+
+    /**
+     * Formats the years as ranges, e.g. 2003, 2005-2008
+     */
+    static String formatYears(SortedSet<Integer> years) {
+        StringBuilder text = new StringBuilder();
+        Iterator<Integer> iterator = years.iterator();
+        Integer start = null;
+        Integer previous = null;
+        while (iterator.hasNext() || start != null) {
+            Integer year = iterator.hasNext() ? iterator.next() : null;
+            if (start != null && (year == null || year != previous + 1)) {
+                text.append(text.length() > 0 ? ", " : "").append(start);
+                if (!previous.equals(start)) {
+                    text.append('-').append(previous);
+                }
+                start = null;
+            }
+            if (year != null && start == null) {
+                start = year;
+            }
+            previous = year;
+        }
+        return text.toString();
+    }
+
+    /**
+     * Groups the files by copyright holders and licenses. The group with the most files
+     * becomes the default stanza (Files: *), the other groups list the directories whose
+     * files all belong to the group, and the remaining files. The files of debian/ are ignored.
+     *
+     * @param holdersByFile  the years of the copyright indexed by holder, for each file with copyright statements
+     * @param licensesByFile the licenses of each file
+     * @return the stanzas, the default stanza first
+     */
+    static List<CopyrightStanza> group(Map<String, Map<String, SortedSet<Integer>>> holdersByFile, Map<String, ? extends Set<String>> licensesByFile) {
+        // the groups of files, indexed by holders and licenses
+        Map<List<Object>, List<String>> groups = new LinkedHashMap<List<Object>, List<String>>();
+        Map<String, List<Object>> keys = new HashMap<String, List<Object>>();
+        for (String file : new TreeSet<String>(holdersByFile.keySet())) {
+            if (file.startsWith("debian/")) {
+                // the packaging has its own stanza
+                continue;
+            }
+            Set<String> licenses = licensesByFile.get(file);
+            List<Object> key = new ArrayList<Object>();
+            key.add(new TreeSet<String>(holdersByFile.get(file).keySet()));
+            key.add(licenses != null ? new TreeSet<String>(licenses) : new TreeSet<String>());
+            keys.put(file, key);
+            List<String> files = groups.get(key);
+            if (files == null) {
+                files = new ArrayList<String>();
+                groups.put(key, files);
+            }
+            files.add(file);
+        }
+        if (groups.isEmpty()) {
+            return new ArrayList<CopyrightStanza>();
+        }
+
+        List<Object> defaultKey = null;
+        for (Map.Entry<List<Object>, List<String>> group : groups.entrySet()) {
+            if (defaultKey == null || group.getValue().size() > groups.get(defaultKey).size()) {
+                defaultKey = group.getKey();
+            }
+        }
+
+        // the groups of the files in each directory, the files without statement are ignored
+        Map<String, Set<List<Object>>> groupsByDirectory = new HashMap<String, Set<List<Object>>>();
+        for (Map.Entry<String, List<Object>> file : keys.entrySet()) {
+            for (String dir = parent(file.getKey()); dir != null; dir = parent(dir)) {
+                Set<List<Object>> dirGroups = groupsByDirectory.get(dir);
+                if (dirGroups == null) {
+                    dirGroups = new HashSet<List<Object>>();
+                    groupsByDirectory.put(dir, dirGroups);
+                }
+                dirGroups.add(file.getValue());
+            }
+        }
+
+        List<CopyrightStanza> stanzas = new ArrayList<CopyrightStanza>();
+        stanzas.add(createStanza(Collections.singletonList("*"), groups.get(defaultKey), holdersByFile, licensesByFile));
+        for (Map.Entry<List<Object>, List<String>> group : groups.entrySet()) {
+            if (group.getKey().equals(defaultKey)) {
+                continue;
+            }
+            Set<String> globs = new LinkedHashSet<String>();
+            for (String file : group.getValue()) {
+                String glob = file;
+                for (String dir = parent(file); dir != null; dir = parent(dir)) {
+                    if (groupsByDirectory.get(dir).size() == 1) {
+                        glob = dir + "/*";
+                    }
+                }
+                globs.add(glob);
+            }
+            stanzas.add(createStanza(new ArrayList<String>(globs), group.getValue(), holdersByFile, licensesByFile));
+        }
+        return stanzas;
+    }
+
+    private static CopyrightStanza createStanza(List<String> globs, List<String> files,
+                                                Map<String, Map<String, SortedSet<Integer>>> holdersByFile, Map<String, ? extends Set<String>> licensesByFile) {
+        Map<String, SortedSet<Integer>> holders = new TreeMap<String, SortedSet<Integer>>();
+        SortedSet<String> licenses = new TreeSet<String>();
+        for (String file : files) {
+            for (Map.Entry<String, SortedSet<Integer>> holder : holdersByFile.get(file).entrySet()) {
+                SortedSet<Integer> years = holders.get(holder.getKey());
+                if (years == null) {
+                    years = new TreeSet<Integer>();
+                    holders.put(holder.getKey(), years);
+                }
+                years.addAll(holder.getValue());
+            }
+            if (licensesByFile.get(file) != null) {
+                licenses.addAll(licensesByFile.get(file));
+            }
+        }
+        return new CopyrightStanza(globs, holders, licenses);
+    }
+
+    /**
+     * Returns the parent directory of the path, or null for the files at the root
+     */
+    private static String parent(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash > 0 ? path.substring(0, slash) : null;
+    }
+}
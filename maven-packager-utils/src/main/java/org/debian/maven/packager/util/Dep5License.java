@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The short names of the licenses in the DEP-5 format of debian/copyright, built from
+ * the licenses reported by licensecheck for each file, for example
+ * 'GPL (v2 or later) (with Classpath exception)' becomes 'GPL-2+ with Classpath-exception'.
+ *
+ * <p>Unlike the ids of the licenses of the package given by {@link LicenseMatcher},
+ * the version, the 'or later' clause and the exception of the license are kept.</p>
+ */
+public class Dep5License {
+
+    /** A license reported by licensecheck: name (vX.Y or later) (with Foo exception) */
+    private static final Pattern LICENSECHECK = Pattern.compile("(.+?)(?: \\(v([\\d.]+)( or later)?\\))?(?: \\(with (.+) exception\\))?");
+
+    /** The short names of the licenses reported by licensecheck, without their version */
+    private static final Map<String, String> NAMES = new HashMap<String, String>();
+
+    /** The licenses whose version is written without the trailing .0, e.g. GPL-2 */
+    private static final Set<String> SHORT_VERSIONS = new HashSet<String>(Arrays.asList("GPL", "LGPL"));
+
+    /** The licenses whose text is in /usr/share/common-licenses */
+    private static final Set<String> COMMON_LICENSES = new HashSet<String>(Arrays.asList(
+            "Apache-2.0", "Artistic", "GFDL-1.2", "GPL-2", "GPL-3", "LGPL-2", "LGPL-2.1", "LGPL-3", "MPL-1.1", "MPL-2.0"));
+
+    static {
+        NAMES.put("Apache", "Apache");
+        NAMES.put("Artistic", "Artistic");
+        NAMES.put("BSD (2 clause)", "BSD-2-clause");
+        NAMES.put("BSD (3 clause)", "BSD-3-clause");
+        NAMES.put("BSD (4 clause)", "BSD-4-clause");
+        NAMES.put("CDDL", "CDDL");
+        NAMES.put("EPL", "EPL");
+        NAMES.put("GPL", "GPL");
+        NAMES.put("LGPL", "LGPL");
+        NAMES.put("MIT/X11 (BSD like)", "Expat");
+        NAMES.put("MPL", "MPL");
+        NAMES.put("Public domain", "public-domain");
+        NAMES.put("GENERATED FILE", LicenseMatcher.IGNORED);
+    }
+
+    private Dep5License() {
+    }
+
+    /**
+     * Returns the DEP-5 short name of a license reported by licensecheck,
+     * {@link LicenseMatcher#IGNORED} for the generated files, or null if the license isn't recognized
+     */
+    public static String fromLicenseCheck(String license) {
+        Matcher matcher = LICENSECHECK.matcher(license.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String name = NAMES.get(matcher.group(1));
+        if (name == null || name.equals(LicenseMatcher.IGNORED)) {
+            return name;
+        }
+
+        StringBuilder id = new StringBuilder(name);
+        String version = matcher.group(2);
+        if (version != null) {
+            if (SHORT_VERSIONS.contains(name) && version.endsWith(".0")) {
+                version = version.substring(0, version.length() - 2);
+            }
+            id.append('-').append(version);
+        }
+        if (matcher.group(3) != null) {
+            id.append('+');
+        }
+        if (matcher.group(4) != null) {
+            id.append(" with ").append(matcher.group(4).replace(' ', '-')).append("-exception");
+        }
+        return id.toString();
+    }
+
+    /**
+     * Returns the name of the file in /usr/share/common-licenses with the text of the license,
+     * or null if the text isn't installed on Debian systems
+     */
+    public static String getCommonLicense(String id) {
+        int exception = id.indexOf(" with ");
+        if (exception > 0) {
+            id = id.substring(0, exception);
+        }
+        if (id.endsWith("+")) {
+            id = id.substring(0, id.length() - 1);
+        }
+        return COMMON_LICENSES.contains(id) ? id : null;
+    }
+}
@@ -25,8 +25,16 @@ public class GetPackageContainingPatternResult implements OutputHandler {
     private final String extension;
     private final Map<String, String> result = new HashMap<String, String>();
 
+    /** Don't print the files found */
+    private final boolean quiet;
+
     public GetPackageContainingPatternResult(String extension) {
+        this(extension, false);
+    }
+
+    GetPackageContainingPatternResult(String extension, boolean quiet) {
         this.extension = extension;
+        this.quiet = quiet;
     }
 
     public void newLine(String line) {
@@ -46,7 +54,9 @@ public class GetPackageContainingPatternResult implements OutputHandler {
 
     protected String matchFile(String potentialMatch, String candidatePkg) {
         if (potentialMatch.endsWith(extension)) {
-          System.out.println("Found " + potentialMatch + " in " + candidatePkg);
+          if (!quiet) {
+              System.out.println("Found " + potentialMatch + " in " + candidatePkg);
+          }
           return potentialMatch;
         } else {
           return null;
@@ -32,6 +32,17 @@ public class GetPackageResult implements OutputHandler {
 
     private final Set<String> result = new TreeSet<String>();
 
+    /** Don't print the packages found */
+    private final boolean quiet;
+
+    public GetPackageResult() {
+        this(false);
+    }
+
+    GetPackageResult(boolean quiet) {
+        this.quiet = quiet;
+    }
+
     public void newLine(String line) {
         // Clean up lines of the form <pkg>: <file>
         int colon = line.indexOf(':');
@@ -39,7 +50,9 @@ public class GetPackageResult implements OutputHandler {
             String candidatePkg = line.substring(0, colon);
             // Ignore lines such as 'dpkg : xxx'
             if (candidatePkg.equals(candidatePkg.trim()) && !candidatePkg.startsWith("dpkg")) {
-                System.out.println("Found " + candidatePkg);
+                if (!quiet) {
+                    System.out.println("Found " + candidatePkg);
+                }
                 result.add(candidatePkg);
             }
         }
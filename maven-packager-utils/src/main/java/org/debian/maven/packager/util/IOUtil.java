@@ -20,6 +20,8 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -81,6 +83,83 @@ public class IOUtil {
         }
     }
 
+    /**
+     * Runs a command without printing anything, its output is kept to be replayed later
+     * by {@link #replayProcess(String[], ProcessOutput, OutputHandler)}.
+     */
+    static ProcessOutput runProcess(String[] cmd) {
+        ProcessOutput output = new ProcessOutput();
+        try {
+            ProcessBuilder pb = new ProcessBuilder(cmd);
+            pb.redirectErrorStream(true);
+            Process process = pb.start();
+            try {
+                BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                try {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        output.lines.add(line);
+                    }
+                } finally {
+                    in.close();
+                }
+                output.failed = process.waitFor() != 0;
+            } finally {
+                process.destroy();
+            }
+        } catch (IOException ex) {
+            output.exception = ex;
+        } catch (InterruptedException ex) {
+            output.exception = new IOException(ex);
+            Thread.currentThread().interrupt();
+        }
+        return output;
+    }
+
+    /**
+     * Passes the output of a command run previously to the handler, as if the command was executed now.
+     */
+    static void replayProcess(String[] cmd, ProcessOutput output, OutputHandler handler) {
+        System.out.print("> ");
+        for (String arg : cmd) {
+            System.out.print(arg + " ");
+        }
+        System.out.println();
+        if (output.exception != null) {
+            output.exception.printStackTrace();
+            handler.failure();
+            return;
+        }
+        for (String line : output.lines) {
+            handler.newLine(line);
+        }
+        if (output.failed) {
+            System.out.println(cmd[0] + " failed to execute successfully");
+            handler.failure();
+        }
+    }
+
+    /**
+     * Passes the output of a command run previously to the handler, without printing anything.
+     */
+    static void replayProcessQuietly(ProcessOutput output, OutputHandler handler) {
+        for (String line : output.lines) {
+            handler.newLine(line);
+        }
+        if (output.exception != null || output.failed) {
+            handler.failure();
+        }
+    }
+
+    /**
+     * The output of a command run in the background
+     */
+    static class ProcessOutput {
+        private final List<String> lines = new ArrayList<String>();
+        private boolean failed;
+        private IOException exception;
+    }
+
     public static void mkDirIfNotExists(File file) {
         if (!file.exists()) {
             file.mkdirs();
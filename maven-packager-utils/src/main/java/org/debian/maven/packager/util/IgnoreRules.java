@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.debian.maven.repo.Dependency;
+
+/**
+ * The artifacts that mh_make offers to ignore, indexed by groupId:artifactId. The rules
+ * are described by tables, see ignore-rules.table for the format. The table bundled with
+ * maven-debian-helper is completed by the table of the system and by the table of the
+ * package, if they exist.
+ *
+ * <p>The categories of an artifact are found with a single lookup in the index, the
+ * patterns with wildcards are tried only for the artifacts without an exact entry.</p>
+ */
+public class IgnoreRules {
+
+    /** The table of the system, completing the table bundled */
+    static final File SYSTEM_TABLE = new File("/etc/maven-debian-helper/ignore-rules.table");
+
+    /** The name of the tables, the table bundled and the table of the package in the debian directory */
+    static final String TABLE = "ignore-rules.table";
+
+    /**
+     * The reasons to ignore an artifact
+     */
+    public enum Category {
+        /** A dependency now provided by the JRE */
+        JRE("jre"),
+        /** A plugin not useful for the build or whose use is against the Debian policy */
+        PLUGIN("plugin"),
+        /** An extension not useful for the build or whose use is against the Debian policy */
+        EXTENSION("extension"),
+        /** A plugin that may be ignored in some cases */
+        OPTIONAL_PLUGIN("optional-plugin"),
+        /** A documentation or report plugin */
+        DOC_PLUGIN("doc-plugin"),
+        /** A plugin only used by the tests */
+        TEST_PLUGIN("test-plugin");
+
+        private final String name;
+
+        Category(String name) {
+            this.name = name;
+        }
+
+        static Category forName(String name) {
+            for (Category category : values()) {
+                if (category.name.equals(name)) {
+                    return category;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** The categories of the artifacts, indexed by groupId:artifactId */
+    private final Map<String, Set<Category>> index = new HashMap<String, Set<Category>>();
+
+    /** The categories of the artifacts matching the patterns, indexed by pattern */
+    private final Map<String, Glob> globs = new LinkedHashMap<String, Glob>();
+
+    /**
+     * Returns the rules of the table bundled with maven-debian-helper, completed by
+     * the tables of the system and of the package.
+     *
+     * @param debianDir the debian directory of the package, or null
+     */
+    public static IgnoreRules load(File debianDir) throws IOException {
+        IgnoreRules rules = new IgnoreRules();
+        InputStream in = IgnoreRules.class.getResourceAsStream("/" + TABLE);
+        try {
+            rules.read(new InputStreamReader(in, "UTF-8"), TABLE);
+        } finally {
+            in.close();
+        }
+        rules.readIfExists(SYSTEM_TABLE);
+        if (debianDir != null) {
+            rules.readIfExists(new File(debianDir, TABLE));
+        }
+        return rules;
+    }
+
+    private void readIfExists(File table) throws IOException {
+        if (table.isFile()) {
+            Reader reader = new InputStreamReader(new FileInputStream(table), "UTF-8");
+            try {
+                read(reader, table.getPath());
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Reads a table of rules, adding or removing categories to the rules read before
+     *
+     * @param table  the content of the table
+     * @param source the name of the table, for the error messages
+     */
+    public void read(Reader table, String source) throws IOException {
+        BufferedReader reader = new BufferedReader(table);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.length() == 0 || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] tokens = line.split("\\s+");
+            if (tokens.length < 2 || tokens[0].indexOf(':') <= 0) {
+                throw new IOException("Invalid ignore rule in " + source + " at line " + lineNumber + ": " + line);
+            }
+
+            String key = tokens[0];
+            Set<Category> categories = getOrCreate(key);
+            for (int i = 1; i < tokens.length; i++) {
+                boolean remove = tokens[i].startsWith("!");
+                Category category = Category.forName(remove ? tokens[i].substring(1) : tokens[i]);
+                if (category == null) {
+                    throw new IOException("Unknown category " + tokens[i] + " in " + source + " at line " + lineNumber);
+                }
+                if (remove) {
+                    categories.remove(category);
+                } else {
+                    categories.add(category);
+                }
+            }
+        }
+    }
+
+    private Set<Category> getOrCreate(String key) {
+        if (isGlob(key)) {
+            Glob glob = globs.get(key);
+            if (glob == null) {
+                glob = new Glob(key);
+                globs.put(key, glob);
+            }
+            return glob.categories;
+        }
+
+        Set<Category> categories = index.get(key);
+        if (categories == null) {
+            // the exact entry replaces the patterns, it starts with the categories of the patterns matching
+            categories = EnumSet.noneOf(Category.class);
+            categories.addAll(matchGlobs(key));
+            index.put(key, categories);
+        }
+        return categories;
+    }
+
+    private static boolean isGlob(String key) {
+        return key.indexOf('*') >= 0 || key.indexOf('?') >= 0;
+    }
+
+    /**
+     * Returns the categories of the artifact, empty if it isn't ignored
+     */
+    public Set<Category> getCategories(Dependency dependency) {
+        String key = dependency.getGroupId() + ":" + dependency.getArtifactId();
+        Set<Category> categories = index.get(key);
+        if (categories == null) {
+            categories = matchGlobs(key);
+        }
+        return Collections.unmodifiableSet(categories);
+    }
+
+    private Set<Category> matchGlobs(String key) {
+        Set<Category> categories = EnumSet.noneOf(Category.class);
+        for (Glob glob : globs.values()) {
+            if (glob.pattern.matcher(key).matches()) {
+                categories.addAll(glob.categories);
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * The categories of the artifacts matching a pattern with wildcards
+     */
+    private static class Glob {
+
+        private final Pattern pattern;
+        private final Set<Category> categories = EnumSet.noneOf(Category.class);
+
+        Glob(String glob) {
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (char c : glob.toCharArray()) {
+                if (c == '*' || c == '?') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            pattern = Pattern.compile(regex.toString());
+        }
+    }
+}
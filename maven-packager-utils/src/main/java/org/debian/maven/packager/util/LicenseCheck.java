@@ -0,0 +1,412 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Detects the licenses in the headers of the source files, like licensecheck does.
+ * The tree is walked once, the build outputs, the VCS metadata and the binary files
+ * are skipped and only the header of each file is read. The headers are classified
+ * in parallel, the copyright statements are extracted in the same pass. The results
+ * of the files that haven't changed since the previous scan can be taken from a cache.
+ *
+ * <p>The results are reported to the handler in the format of licensecheck,
+ * one line per license found: <code>./path/to/File.java: Apache (v2.0)</code>
+ * and one line per copyright holder: <code>./path/to/File.java: [Copyright: 2009-2012 Foo Bar]</code></p>
+ */
+public class LicenseCheck {
+
+    /** The size of the header read, licensecheck reads the first 60 lines */
+    private static final int HEADER_SIZE = 8 * 1024;
+
+    private static final int HEADER_LINES = 60;
+
+    /** The number of files classified by a task without forking */
+    private static final int BATCH_SIZE = 64;
+
+    private static final Set<String> SKIPPED_DIRS = new HashSet<String>(Arrays.asList(
+            "target", ".git", ".svn", ".hg", ".bzr", "CVS", ".pc", ".gradle", ".idea"));
+
+    private static final Set<String> BINARY_EXTENSIONS = new HashSet<String>(Arrays.asList(
+            "class", "jar", "war", "ear", "zip", "gz", "tgz", "bz2", "xz", "7z",
+            "png", "gif", "jpg", "jpeg", "ico", "bmp", "tif", "tiff", "pdf",
+            "so", "dll", "dylib", "exe", "o", "a", "ttf", "otf", "woff", "woff2", "ser", "bin"));
+
+    private static final Pattern VERSION = Pattern.compile("version (\\d(?:\\.\\d)?)");
+
+    /** A copyright statement: the copyright sign or word, the years and the holder */
+    private static final Pattern COPYRIGHT = Pattern.compile(
+            "(?:copyright\\s*(?:\\(c\\)|\u00c2?\u00a9|&copy;)?|\\(c\\)|\u00c2?\u00a9)\\s*"
+            + "((?:19|20)\\d\\d(?:\\s*(?:-|,|\\s)\\s*(?:(?:19|20)\\d\\d|\\d\\d)\\b)*)[\\s,.:]*(?:by\\s+)?(.*)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern ALL_RIGHTS_RESERVED = Pattern.compile("[\\s,.;]*all rights reserved.*$", Pattern.CASE_INSENSITIVE);
+
+    /** The results of the previous scans, or null */
+    private LicenseScanCache cache;
+
+    /**
+     * Reuses the results of the previous scans for the files that haven't changed
+     */
+    void setCache(LicenseScanCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Scans the files under the directory and reports the licenses found to the handler
+     */
+    public void check(File directory, OutputHandler handler) {
+        final Path root = directory.toPath();
+        final List<SourceFile> files = new ArrayList<SourceFile>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(root) && SKIPPED_DIRS.contains(dir.getFileName().toString())) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && attrs.size() > 0 && !isBinaryName(file.getFileName().toString())) {
+                        files.add(new SourceFile(file, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+            handler.failure();
+            return;
+        }
+
+        if (cache != null) {
+            try {
+                cache.load();
+            } catch (IOException e) {
+                System.out.println("Unable to read the license scan cache, all the files are scanned: " + e.getMessage());
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            for (String line : pool.invoke(new ClassifyTask(root, files, 0, files.size()))) {
+                handler.newLine(line);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (cache != null) {
+            System.out.println("License scan: " + cache.getSummary());
+            try {
+                cache.save();
+            } catch (IOException e) {
+                System.out.println("Unable to save the license scan cache: " + e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isBinaryName(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && BINARY_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Reads the header of the file, or returns null if the file is binary
+     */
+    static String readHeader(Path file) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file.toFile(), "r");
+        try {
+            FileChannel channel = in.getChannel();
+            int size = (int) Math.min(channel.size(), HEADER_SIZE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            StringBuilder header = new StringBuilder(size);
+            int lines = 0;
+            while (buffer.hasRemaining() && lines < HEADER_LINES) {
+                byte b = buffer.get();
+                if (b == 0) {
+                    return null;
+                }
+                if (b == '\n') {
+                    lines++;
+                }
+                // ISO-8859-1, the licenses are detected on ASCII text
+                header.append((char) (b & 0xff));
+            }
+            return header.toString();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Returns the licenses found in the header, with the names used by licensecheck
+     */
+    static List<String> classify(String header) {
+        String text = normalize(header);
+        List<String> licenses = new ArrayList<String>();
+
+        if (text.contains("generated by") || text.contains("do not edit")) {
+            licenses.add("GENERATED FILE");
+        }
+
+        if (text.contains("apache license") || text.contains("apache software license") || text.contains("www.apache.org/licenses/license-")) {
+            if (text.contains("version 2.0") || text.contains("license-2.0") || text.contains("version 2 ")) {
+                licenses.add("Apache (v2.0)");
+            } else if (text.contains("version 1.1") || text.contains("license-1.1")) {
+                licenses.add("Apache (v1.1)");
+            } else {
+                licenses.add("Apache");
+            }
+        }
+
+        if (text.contains("gnu lesser general public license") || text.contains("gnu library general public license")) {
+            licenses.add("LGPL" + version(text, "lesser general public license", "library general public license"));
+        } else if (text.contains("gnu general public license") || text.contains("gnu gpl")) {
+            String gpl = "GPL" + version(text, "general public license", "gnu gpl");
+            if (text.contains("classpath exception") || text.contains("linking this library statically or dynamically")) {
+                gpl += " (with Classpath exception)";
+            }
+            licenses.add(gpl);
+        }
+
+        if (text.contains("redistribution and use in source and binary forms")) {
+            if (text.contains("all advertising materials mentioning")) {
+                licenses.add("BSD (4 clause)");
+            } else if (text.contains("neither the name") || text.contains("names of its contributors may") || text.contains("name of the author may")) {
+                licenses.add("BSD (3 clause)");
+            } else {
+                licenses.add("BSD (2 clause)");
+            }
+        }
+
+        if (text.contains("permission is hereby granted, free of charge, to any person obtaining a copy")) {
+            licenses.add("MIT/X11 (BSD like)");
+        }
+
+        if (text.contains("eclipse public license")) {
+            licenses.add(text.contains("v2.0") || text.contains("epl-2.0") || text.contains("version 2.0") ? "EPL (v2.0)" : "EPL (v1.0)");
+        }
+
+        if (text.contains("mozilla public license")) {
+            licenses.add("MPL" + version(text, "mozilla public license"));
+        }
+
+        if (text.contains("common development and distribution license")) {
+            licenses.add(text.contains("version 1.1") || text.contains("cddl-1.1") ? "CDDL (v1.1)" : "CDDL (v1.0)");
+        }
+
+        if (text.contains("artistic license")) {
+            licenses.add("Artistic");
+        }
+
+        if (text.contains("placed in the public domain") || text.contains("released into the public domain")) {
+            licenses.add("Public domain");
+        }
+
+        return licenses;
+    }
+
+    /**
+     * Returns the copyright statements found in the header, formatted as: [Copyright: 2009-2012 Foo Bar]
+     */
+    static List<String> extractCopyrights(String header) {
+        List<String> copyrights = new ArrayList<String>();
+        for (String line : header.split("\n")) {
+            Matcher matcher = COPYRIGHT.matcher(line);
+            if (!matcher.find()) {
+                continue;
+            }
+            String holder = ALL_RIGHTS_RESERVED.matcher(matcher.group(2)).replaceFirst("");
+            holder = holder.replaceAll("\\s*\\*/.*$", "").replaceAll("\\s+", " ").replaceAll("[\\s,.;]+$", "").trim();
+            if (holder.length() < 2 || !Character.isLetterOrDigit(holder.charAt(0)) && holder.charAt(0) != '<') {
+                continue;
+            }
+            String years = CopyrightStanza.formatYears(CopyrightStanza.parseYears(matcher.group(1)));
+            copyrights.add("[Copyright: " + years + " " + holder + "]");
+        }
+        return copyrights;
+    }
+
+    /**
+     * Returns the version of the license named near the given phrases, formatted like licensecheck
+     */
+    private static String version(String text, String... names) {
+        int start = -1;
+        for (String name : names) {
+            int index = text.indexOf(name);
+            if (index >= 0 && (start == -1 || index < start)) {
+                start = index;
+            }
+        }
+        // the version follows the name of the license, or is stated in the next sentences
+        String near = text.substring(Math.max(0, start - 80), Math.min(text.length(), start + 300));
+        Matcher matcher = VERSION.matcher(near);
+        if (!matcher.find()) {
+            return "";
+        }
+        String version = matcher.group(1);
+        boolean later = near.contains("any later version") || near.contains("or later");
+        return " (v" + version + (later ? " or later" : "") + ")";
+    }
+
+    /**
+     * Lowercases the text and removes the comment markers and the line breaks
+     */
+    private static String normalize(String header) {
+        StringBuilder text = new StringBuilder(header.length());
+        boolean space = true;
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isWhitespace(c) || isCommentMarker(header, i)) {
+                if (!space) {
+                    text.append(' ');
+                    space = true;
+                }
+            } else {
+                text.append(Character.toLowerCase(c));
+                space = false;
+            }
+        }
+        return text.toString();
+    }
+
+    private static boolean isCommentMarker(String header, int i) {
+        char c = header.charAt(i);
+        if (c == '*' || c == '#') {
+            return true;
+        }
+        if (c != '/') {
+            return false;
+        }
+        // the slashes of //, /* and */ but not the slashes of the urls
+        char previous = i > 0 ? header.charAt(i - 1) : ' ';
+        char next = i + 1 < header.length() ? header.charAt(i + 1) : ' ';
+        return (next == '/' || next == '*' || previous == '*') && previous != ':' || previous == '/' && i > 1 && header.charAt(i - 2) != ':';
+    }
+
+    /**
+     * Classifies the headers of a range of files, forking the classification of the halves of large ranges
+     */
+    private class ClassifyTask extends RecursiveTask<List<String>> {
+
+        private final Path root;
+        private final List<SourceFile> files;
+        private final int start;
+        private final int end;
+
+        ClassifyTask(Path root, List<SourceFile> files, int start, int end) {
+            this.root = root;
+            this.files = files;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<String> compute() {
+            if (end - start > BATCH_SIZE) {
+                int middle = (start + end) >>> 1;
+                ClassifyTask first = new ClassifyTask(root, files, start, middle);
+                first.fork();
+                List<String> second = new ClassifyTask(root, files, middle, end).compute();
+                List<String> lines = first.join();
+                lines.addAll(second);
+                return lines;
+            }
+
+            List<String> lines = new ArrayList<String>();
+            for (SourceFile file : files.subList(start, end)) {
+                String path = "./" + root.relativize(file.path).toString().replace(File.separatorChar, '/');
+                try {
+                    for (String result : scan(path, file)) {
+                        lines.add(path + ": " + result);
+                    }
+                } catch (IOException e) {
+                    // unreadable file, licensecheck skips it too
+                }
+            }
+            return lines;
+        }
+
+        private List<String> scan(String path, SourceFile file) throws IOException {
+            List<String> licenses = cache != null ? cache.get(path, file.size, file.lastModified) : null;
+            if (licenses != null) {
+                return licenses;
+            }
+
+            String header = readHeader(file.path);
+            String headerHash = header != null ? LicenseScanCache.hash(header) : "binary";
+            if (cache != null) {
+                licenses = cache.get(path, file.size, file.lastModified, headerHash);
+                if (licenses != null) {
+                    return licenses;
+                }
+            }
+
+            List<String> results = new ArrayList<String>();
+            if (header != null) {
+                results.addAll(classify(header));
+                results.addAll(extractCopyrights(header));
+            }
+            if (cache != null) {
+                cache.put(path, file.size, file.lastModified, headerHash, results);
+            }
+            return results;
+        }
+    }
+
+    private static class SourceFile {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+
+        SourceFile(Path path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
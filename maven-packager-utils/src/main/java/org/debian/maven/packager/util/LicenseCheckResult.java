@@ -16,15 +16,35 @@
 
 package org.debian.maven.packager.util;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class LicenseCheckResult implements OutputHandler {
 
+    /** The copyright statement reported for a file: ./path: [Copyright: 2009-2012 Foo Bar] */
+    private static final Pattern COPYRIGHT = Pattern.compile("^\\./(.*?): \\[Copyright: ([\\d, -]*\\d) (.+)\\]$");
+
     private final Set<String> licenses = new TreeSet<String>();
     private final Set<String> copyrightOwners = new TreeSet<String>();
 
+    /** The licenses of each file, as DEP-5 short names when they are recognized */
+    private final Map<String, Set<String>> licensesByFile = new TreeMap<String, Set<String>>();
+
+    /** The years of the copyright indexed by holder, for each file */
+    private final Map<String, Map<String, SortedSet<Integer>>> holdersByFile = new TreeMap<String, Map<String, SortedSet<Integer>>>();
+
     public void newLine(String line) {
+        Matcher copyright = COPYRIGHT.matcher(line);
+        if (copyright.matches()) {
+            addCopyright(copyright.group(1), copyright.group(3), CopyrightStanza.parseYears(copyright.group(2)));
+            return;
+        }
         if (line.startsWith(".") && line.indexOf(":") > 0) {
             int col = line.lastIndexOf(":");
             String license = line.substring(col + 1).trim();
@@ -35,6 +55,40 @@ public class LicenseCheckResult implements OutputHandler {
                 license = license.substring(license.lastIndexOf("*") + 1).trim();
             }
             licenses.add(license);
+            if (line.startsWith("./")) {
+                addFileLicense(line.substring(2, col), license);
+            }
+        }
+    }
+
+    private void addFileLicense(String file, String license) {
+        String id = Dep5License.fromLicenseCheck(license);
+        if (id == null) {
+            id = LicenseMatcher.getDefault().match(license, "");
+        }
+        if (LicenseMatcher.IGNORED.equals(id)) {
+            return;
+        }
+        Set<String> fileLicenses = licensesByFile.get(file);
+        if (fileLicenses == null) {
+            fileLicenses = new TreeSet<String>();
+            licensesByFile.put(file, fileLicenses);
+        }
+        fileLicenses.add(id != null ? id : license);
+    }
+
+    private void addCopyright(String file, String holder, SortedSet<Integer> years) {
+        copyrightOwners.add(holder);
+        Map<String, SortedSet<Integer>> holders = holdersByFile.get(file);
+        if (holders == null) {
+            holders = new TreeMap<String, SortedSet<Integer>>();
+            holdersByFile.put(file, holders);
+        }
+        SortedSet<Integer> holderYears = holders.get(holder);
+        if (holderYears == null) {
+            holders.put(holder, years);
+        } else {
+            holderYears.addAll(years);
         }
     }
 
@@ -48,4 +102,12 @@ public class LicenseCheckResult implements OutputHandler {
     public Set<String> getCopyrightOwners() {
         return copyrightOwners;
     }
+
+    /**
+     * Returns the Files stanzas of debian/copyright grouping the files with the same
+     * copyright holders and licenses, the stanza of the most common holders first (Files: *).
+     */
+    public List<CopyrightStanza> getCopyrightStanzas() {
+        return CopyrightStanza.group(holdersByFile, licensesByFile);
+    }
 }
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes a license from its name and its url and returns its SPDX id. The licenses
+ * are described by a table, see licenses.table for the format.
+ *
+ * <p>The keywords of all the license families are searched at once with an Aho-Corasick
+ * automaton, then the versions of the family found are disambiguated with the conditions
+ * of its variants, the regular expressions being compiled when the table is read.</p>
+ */
+public class LicenseMatcher {
+
+    /** The id of the licenses recognized but not added to the licenses of the package */
+    public static final String IGNORED = "";
+
+    private static final String NAME = "name";
+
+    private static final Pattern CONDITION = Pattern.compile("(name|url)([:~])\"([^\"]*)\"");
+
+    private static LicenseMatcher defaultMatcher;
+
+    private final List<Family> families = new ArrayList<Family>();
+
+    /** The automaton searching the keywords of the families */
+    private final Node root = new Node();
+
+    /**
+     * Returns the matcher of the licenses described by the table bundled with maven-debian-helper
+     */
+    public static synchronized LicenseMatcher getDefault() {
+        if (defaultMatcher == null) {
+            InputStream in = LicenseMatcher.class.getResourceAsStream("/licenses.table");
+            try {
+                try {
+                    defaultMatcher = new LicenseMatcher(new InputStreamReader(in, "UTF-8"));
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read the table of the licenses", e);
+            }
+        }
+        return defaultMatcher;
+    }
+
+    /**
+     * Reads the table of the licenses
+     */
+    public LicenseMatcher(Reader table) throws IOException {
+        BufferedReader reader = new BufferedReader(table);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.length() == 0 || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] tokens = line.split("\\s+", 3);
+            if (tokens.length < 2 || !tokens[0].equals("license") && !tokens[0].equals("variant")) {
+                throw new IOException("Invalid license table at line " + lineNumber + ": " + line);
+            }
+            List<Condition> conditions = parseConditions(tokens.length > 2 ? tokens[2] : "", lineNumber);
+
+            if (tokens[0].equals("license")) {
+                Family family = new Family(families.size());
+                families.add(family);
+                for (Condition keyword : conditions) {
+                    if (keyword.pattern != null) {
+                        throw new IOException("The keywords of a license must be texts at line " + lineNumber);
+                    }
+                    addKeyword(keyword.text, keyword.name ? family.nameKeyword : family.urlKeyword);
+                }
+            } else if (families.isEmpty()) {
+                throw new IOException("Variant without license at line " + lineNumber);
+            } else {
+                families.get(families.size() - 1).variants.add(new Variant(tokens[1].equals("-") ? IGNORED : tokens[1], conditions));
+            }
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * Returns the SPDX id of the license, {@link #IGNORED} if the license is recognized
+     * but must be ignored, or null if it isn't recognized.
+     */
+    public String match(String licenseName, String licenseUrl) {
+        String name = licenseName.toLowerCase(Locale.ENGLISH);
+        String url = licenseUrl.toLowerCase(Locale.ENGLISH);
+
+        int first = Math.min(search(name, true), search(url, false));
+        if (first == Integer.MAX_VALUE) {
+            return null;
+        }
+        for (Variant variant : families.get(first).variants) {
+            if (variant.matches(name, url)) {
+                return variant.id;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index of the first family with a keyword in the text, or Integer.MAX_VALUE
+     */
+    private int search(String text, boolean name) {
+        int first = Integer.MAX_VALUE;
+        Node node = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (node != root && !node.next.containsKey(c)) {
+                node = node.fail;
+            }
+            Node next = node.next.get(c);
+            node = next != null ? next : root;
+            for (Keyword keyword : node.output) {
+                if (keyword.name == name && keyword.family < first) {
+                    first = keyword.family;
+                }
+            }
+        }
+        return first;
+    }
+
+    private void addKeyword(String text, Keyword keyword) {
+        Node node = root;
+        for (int i = 0; i < text.length(); i++) {
+            Node next = node.next.get(text.charAt(i));
+            if (next == null) {
+                next = new Node();
+                node.next.put(text.charAt(i), next);
+            }
+            node = next;
+        }
+        node.output.add(keyword);
+    }
+
+    /**
+     * Links each node to the node of its longest proper suffix, and merges the outputs of the suffixes
+     */
+    private void buildFailureLinks() {
+        Queue<Node> queue = new LinkedList<Node>();
+        for (Node child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (Map.Entry<Character, Node> edge : node.next.entrySet()) {
+                Node child = edge.getValue();
+                Node fail = node.fail;
+                while (fail != root && !fail.next.containsKey(edge.getKey())) {
+                    fail = fail.fail;
+                }
+                Node suffix = fail.next.get(edge.getKey());
+                child.fail = suffix != null && suffix != child ? suffix : root;
+                child.output.addAll(child.fail.output);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static List<Condition> parseConditions(String text, int lineNumber) throws IOException {
+        List<Condition> conditions = new ArrayList<Condition>();
+        Matcher matcher = CONDITION.matcher(text);
+        int end = 0;
+        while (matcher.find()) {
+            if (text.substring(end, matcher.start()).trim().length() > 0) {
+                break;
+            }
+            conditions.add(new Condition(matcher.group(1).equals(NAME), matcher.group(2).equals("~"), matcher.group(3)));
+            end = matcher.end();
+        }
+        if (text.substring(end).trim().length() > 0) {
+            throw new IOException("Invalid condition at line " + lineNumber + ": " + text.substring(end).trim());
+        }
+        return conditions;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> next = new HashMap<Character, Node>();
+        private final List<Keyword> output = new ArrayList<Keyword>();
+        private Node fail;
+    }
+
+    /**
+     * A keyword of a family, searched in the name or in the url of the license
+     */
+    private static class Keyword {
+        private final int family;
+        private final boolean name;
+
+        Keyword(int family, boolean name) {
+            this.family = family;
+            this.name = name;
+        }
+    }
+
+    private static class Family {
+        private final Keyword nameKeyword;
+        private final Keyword urlKeyword;
+        private final List<Variant> variants = new ArrayList<Variant>();
+
+        Family(int index) {
+            this.nameKeyword = new Keyword(index, true);
+            this.urlKeyword = new Keyword(index, false);
+        }
+    }
+
+    private static class Variant {
+        private final String id;
+        private final List<Condition> conditions;
+
+        Variant(String id, List<Condition> conditions) {
+            this.id = id;
+            this.conditions = conditions;
+        }
+
+        boolean matches(String name, String url) {
+            if (conditions.isEmpty()) {
+                return true;
+            }
+            for (Condition condition : conditions) {
+                if (condition.matches(condition.name ? name : url)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Condition {
+        private final boolean name;
+        private final String text;
+        private final Pattern pattern;
+
+        Condition(boolean name, boolean regex, String text) {
+            this.name = name;
+            this.text = text;
+            this.pattern = regex ? Pattern.compile(text) : null;
+        }
+
+        boolean matches(String value) {
+            return pattern != null ? pattern.matcher(value).find() : value.contains(text);
+        }
+    }
+}
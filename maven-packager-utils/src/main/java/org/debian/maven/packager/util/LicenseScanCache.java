@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the results of the license scan of the files of a source tree between the runs
+ * of mh_make. The results of a file are reused if its size and its modification time
+ * haven't changed, or if the hash of its header is the same, for example when the
+ * sources are extracted again. Only the new and the modified files are classified.
+ *
+ * <p>The caches are stored in $XDG_CACHE_HOME/maven-debian-helper/licenses, one file
+ * per source tree, and contain only the files found by the last scan. A cache written
+ * by another version of the scanner, or with another table of the licenses, is
+ * discarded.</p>
+ */
+class LicenseScanCache {
+
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * The version of the format of the cache and of the results of the scan. It must be
+     * increased when LicenseCheck.classify or LicenseCheck.extractCopyrights change.
+     */
+    static final int FORMAT_VERSION = 1;
+
+    /** The key of the version in the cache file, the paths of the files start with './' */
+    private static final String VERSION_KEY = "version";
+
+    private static String defaultVersion;
+
+    /** The cache file */
+    private final File file;
+
+    /** The version of the scanner, the entries of another version are ignored */
+    private final String version;
+
+    /** The entries read from the cache file, indexed by the path of the files */
+    private final Map<String, Entry> previous = new ConcurrentHashMap<String, Entry>();
+
+    /** The entries of the files found by the current scan */
+    private final Map<String, Entry> current = new ConcurrentHashMap<String, Entry>();
+
+    private int hits;
+    private int misses;
+
+    LicenseScanCache(File file) {
+        this(file, getDefaultVersion());
+    }
+
+    LicenseScanCache(File file, String version) {
+        this.file = file;
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the scanner: the version of the format and the hash of the table of the licenses
+     */
+    static synchronized String getDefaultVersion() {
+        if (defaultVersion == null) {
+            try {
+                InputStream in = LicenseScanCache.class.getResourceAsStream("/licenses.table");
+                try {
+                    ByteArrayOutputStream table = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[8192];
+                    int length;
+                    while ((length = in.read(buffer)) != -1) {
+                        table.write(buffer, 0, length);
+                    }
+                    defaultVersion = FORMAT_VERSION + "-" + hash(new String(table.toByteArray(), ISO_8859_1)).substring(0, 16);
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read the table of the licenses", e);
+            }
+        }
+        return defaultVersion;
+    }
+
+    /**
+     * Returns the cache of the license scan of the directory, in the cache directory of the user
+     */
+    static LicenseScanCache forDirectory(File directory) {
+        String cacheHome = System.getenv("XDG_CACHE_HOME");
+        if (cacheHome == null || cacheHome.length() == 0) {
+            cacheHome = System.getProperty("user.home") + "/.cache";
+        }
+        String root = directory.getAbsoluteFile().toPath().normalize().toString();
+        return new LicenseScanCache(new File(cacheHome, "maven-debian-helper/licenses/" + hash(root).substring(0, 16) + ".properties"));
+    }
+
+    /**
+     * Reads the cache file if it exists
+     */
+    void load() throws IOException {
+        if (!file.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(file);
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+        if (!version.equals(properties.getProperty(VERSION_KEY))) {
+            // written by another version of the scanner, all the files are scanned again
+            return;
+        }
+        properties.remove(VERSION_KEY);
+        for (String path : properties.stringPropertyNames()) {
+            Entry entry = Entry.parse(properties.getProperty(path));
+            if (entry != null) {
+                previous.put(path, entry);
+            }
+        }
+    }
+
+    /**
+     * Returns the results of the file if its size and modification time haven't changed since the previous scan
+     */
+    List<String> get(String path, long size, long lastModified) {
+        Entry entry = previous.get(path);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            current.put(path, entry);
+            hit();
+            return entry.results;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the results of the file if its header hasn't changed since the previous scan
+     */
+    List<String> get(String path, long size, long lastModified, String headerHash) {
+        Entry entry = previous.get(path);
+        if (entry != null && entry.headerHash.equals(headerHash)) {
+            current.put(path, new Entry(size, lastModified, headerHash, entry.results));
+            hit();
+            return entry.results;
+        }
+        return null;
+    }
+
+    /**
+     * Records the results of a file classified
+     */
+    void put(String path, long size, long lastModified, String headerHash, List<String> results) {
+        current.put(path, new Entry(size, lastModified, headerHash, results));
+        synchronized (this) {
+            misses++;
+        }
+    }
+
+    /**
+     * Writes the entries of the files found by the current scan
+     */
+    void save() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(VERSION_KEY, version);
+        for (Map.Entry<String, Entry> entry : current.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().format());
+        }
+
+        // The cache is replaced atomically, an interrupted save is never read
+        file.getParentFile().mkdirs();
+        File tmp = new File(file.getPath() + ".tmp");
+        OutputStream out = new FileOutputStream(tmp);
+        try {
+            properties.store(out, "License scan cache of maven-debian-helper");
+        } finally {
+            out.close();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the number of files whose results were reused and the number of files classified
+     */
+    synchronized String getSummary() {
+        return hits + " files unchanged, " + misses + " files scanned";
+    }
+
+    private synchronized void hit() {
+        hits++;
+    }
+
+    /**
+     * Hashes the header of a file, or the path of a source tree
+     */
+    static String hash(String text) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest(text.getBytes(ISO_8859_1))) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static class Entry {
+        private final long size;
+        private final long lastModified;
+        private final String headerHash;
+        private final List<String> results;
+
+        Entry(long size, long lastModified, String headerHash, List<String> results) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.headerHash = headerHash;
+            this.results = Collections.unmodifiableList(new ArrayList<String>(results));
+        }
+
+        /**
+         * Formats the entry as: size, modification time, header hash, results, separated by line breaks
+         */
+        String format() {
+            StringBuilder value = new StringBuilder();
+            value.append(size).append(SEPARATOR).append(lastModified).append(SEPARATOR).append(headerHash);
+            for (String result : results) {
+                value.append(SEPARATOR).append(result);
+            }
+            return value.toString();
+        }
+
+        static Entry parse(String value) {
+            String[] fields = value.split(SEPARATOR);
+            if (fields.length < 3) {
+                return null;
+            }
+            try {
+                return new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2],
+                        Arrays.asList(fields).subList(3, fields.length));
+            } catch (NumberFormatException e) {
+                // corrupted entry, the file is scanned again
+                return null;
+            }
+        }
+    }
+}
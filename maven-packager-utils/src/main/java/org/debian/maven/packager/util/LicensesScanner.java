@@ -19,13 +19,21 @@ package org.debian.maven.packager.util;
 import org.apache.maven.model.License;
 import org.debian.maven.packager.interaction.SimpleQuestion;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
 public class LicensesScanner {
 
-    public Set<String> discoverLicenses(List<License> projectLicenses) {
+    /** The Files stanzas of debian/copyright built from the copyright statements of the sources */
+    private List<CopyrightStanza> copyrightStanzas = new ArrayList<CopyrightStanza>();
+
+    /**
+     * Returns the licenses of the project and of the sources under the directory
+     */
+    public Set<String> discoverLicenses(List<License> projectLicenses, File sourceDir) {
         Set<String> licenses = new TreeSet<String>();
         for (License license : projectLicenses) {
             String licenseName = license.getName() != null ? license.getName() + " " : "";
@@ -43,9 +51,17 @@ public class LicensesScanner {
         System.out.println();
         System.out.println("Checking licenses in the upstream sources...");
         LicenseCheckResult licenseResult = new LicenseCheckResult();
-        IOUtil.executeProcess(new String[]{"/bin/sh", "-c", "licensecheck `find . -type f`"}, licenseResult);
+        LicenseCheck licenseCheck = new LicenseCheck();
+        licenseCheck.setCache(LicenseScanCache.forDirectory(sourceDir));
+        licenseCheck.check(sourceDir, licenseResult);
+        copyrightStanzas = licenseResult.getCopyrightStanzas();
         for (String license : licenseResult.getLicenses()) {
-            if (!recognizeLicense(licenses, license, "")) {
+            String id = Dep5License.fromLicenseCheck(license);
+            if (id != null) {
+                if (!id.equals(LicenseMatcher.IGNORED)) {
+                    licenses.add(id);
+                }
+            } else if (!recognizeLicense(licenses, license, "")) {
                 String s = new SimpleQuestion("License " + license + " was not recognized, " +
                                         "please enter a license name preferably in one of:" + getAvailableLicenses()).ask();
                 if (s.length() > 0) {
@@ -63,6 +79,14 @@ public class LicensesScanner {
         return licenses;
     }
 
+    /**
+     * Returns the Files stanzas of debian/copyright built by the last scan, the default stanza
+     * (Files: *) first, or an empty list if no copyright statement was found
+     */
+    public List<CopyrightStanza> getCopyrightStanzas() {
+        return copyrightStanzas;
+    }
+
     private String getAvailableLicenses() {
         return "Apache-2.0 Artistic BSD-2-clause BSD-3-clause BSD-4-clause ISC CC-BY CC-BY-SA\n"
              + "CC-BY-ND CC-BY-NC CC-BY-NC-SA CC-BY-NC-ND CC0 CDDL CDDL-1.1 CPL Eiffel EPL-1.0 EPL-2.0 Expat\n"
@@ -70,90 +94,20 @@ public class LicensesScanner {
              + "MPL-2.0 Perl PSF QPL W3C-Software ZLIB Zope";
     }
 
+    /**
+     * Adds the SPDX id of the license to the licenses if it's recognized in the table of the licenses
+     *
+     * @return true if the license is recognized
+     */
     boolean recognizeLicense(Set<String> licenses, String licenseName, String licenseUrl) {
-        boolean recognized = false;
-        licenseName = licenseName.toLowerCase();
-        licenseUrl = licenseUrl.toLowerCase();
-        if (licenseName.contains("mit ") || licenseUrl.contains("mit-license")) {
-            licenses.add("MIT");
-            recognized = true;
-        } else if (licenseName.matches(".*bsd \\(?2[ -]clause\\)?.*") || licenseUrl.contains("bsd-2-clause")) {
-            licenses.add("BSD-2-clause");
-            recognized = true;
-        } else if (licenseName.matches(".*bsd \\(?3[ -]clause\\)?.*") || licenseUrl.contains("bsd-3-clause")) {
-            licenses.add("BSD-3-clause");
-            recognized = true;
-        } else if (licenseName.matches(".*bsd \\(?4[ -]clause\\)?.*") || licenseUrl.contains("bsd-4-clause")) {
-            licenses.add("BSD-4-clause");
-            recognized = true;
-        } else if (licenseName.contains("bsd ") || licenseUrl.contains("bsd-license")) {
-            licenses.add("BSD");
-            recognized = true;
-        } else if (licenseName.contains("artistic ") || licenseUrl.contains("artistic-license")) {
-            licenses.add("Artistic");
-            recognized = true;
-        } else if (licenseName.contains("apache ") || licenseUrl.contains("apache")) {
-            if (licenseName.contains("2.") || licenseUrl.contains("2.")) {
-                licenses.add("Apache-2.0");
-                recognized = true;
-            } else if (licenseName.contains("1.0") || licenseUrl.contains("1.0")) {
-                licenses.add("Apache-1.0");
-                recognized = true;
-            } else if (licenseName.contains("1.1") || licenseUrl.contains("1.1")) {
-                licenses.add("Apache-1.1");
-                recognized = true;
-            }
-        } else if (licenseName.contains("eclipse") || licenseName.contains("epl") || licenseUrl.contains("epl")) {
-            if (licenseName.contains("1.0") || licenseUrl.contains("v10")) {
-                licenses.add("EPL-1.0");
-                recognized = true;
-            } else if (licenseName.contains("2.0") || licenseUrl.contains("2.0")) {
-                licenses.add("EPL-2.0");
-                recognized = true;
-            }
-        } else if (licenseName.contains("lgpl ") || licenseUrl.contains("lgpl")) {
-            if (licenseName.contains("2.1") || licenseUrl.contains("2.1")) {
-                licenses.add("LGPL-2.1");
-                recognized = true;
-            } else if (licenseName.contains("2") || licenseUrl.contains("2")) {
-                licenses.add("LGPL-2");
-                recognized = true;
-            } else if (licenseName.contains("3") || licenseUrl.contains("3")) {
-                licenses.add("LGPL-2");
-                recognized = true;
-            }
-        } else if (licenseName.contains("gpl ") || licenseUrl.contains("gpl")) {
-            if (licenseName.contains("2") || licenseUrl.contains("2")) {
-                licenses.add("GPL-2");
-                recognized = true;
-            } else if (licenseName.contains("3") || licenseUrl.contains("3")) {
-                licenses.add("GPL-3");
-                recognized = true;
-            }
-        } else if (licenseName.contains("mpl") || licenseUrl.contains("mpl")) {
-            if (licenseName.contains("1.1") || licenseUrl.contains("1.1")) {
-                licenses.add("MPL-1.1");
-                recognized = true;
-            } else if (licenseName.contains("2.0") || licenseUrl.contains("2.0")) {
-                licenses.add("MPL-2.0");
-                recognized = true;
-            }
-        } else if (licenseName.contains("cddl") || licenseUrl.contains("cddl")) {
-            if (licenseName.contains("1.1") || licenseUrl.contains("1.1")) {
-                licenses.add("CDDL-1.1");
-                recognized = true;
-            } else if (licenseName.contains("1.0") || licenseUrl.contains("1.0")) {
-                licenses.add("CDDL");
-                recognized = true;
-            }
-        } else if (licenseUrl.contains("http://creativecommons.org/licenses/by-sa/3.0")) {
-            licenses.add("CC-BY-SA-3.0");
-            recognized = true;
-        } else if (licenseName.contains("generated file")) {
-            // ignore the files reported as generated by licensecheck
-            recognized = true;
+        String id = LicenseMatcher.getDefault().match(licenseName, licenseUrl);
+        if (id == null) {
+            return false;
+        }
+        if (!id.equals(LicenseMatcher.IGNORED)) {
+            licenses.add(id);
         }
-        return recognized;
+        return true;
     }
 
 }
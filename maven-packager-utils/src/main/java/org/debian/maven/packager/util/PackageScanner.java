@@ -18,10 +18,13 @@ package org.debian.maven.packager.util;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import org.debian.maven.packager.DebianDependency;
 import org.debian.maven.repo.Dependency;
@@ -32,6 +35,8 @@ public class PackageScanner {
     // Keep the list of known files and their package
     private Map<File, String> filesInPackages = new HashMap<File, String>();
     private Map<String, List<String>> cacheOfSharedJars = new HashMap<String, List<String>>();
+    /** The outputs of the commands run in the background, each one is used once */
+    private final Map<List<String>, IOUtil.ProcessOutput> prefetchedOutputs = new ConcurrentHashMap<List<String>, IOUtil.ProcessOutput>();
 
     public PackageScanner(boolean offline) {
         this.offline = offline;
@@ -50,7 +55,7 @@ public class PackageScanner {
 
         GetPackageContainingPatternResult packageResult = new GetPackageContainingPatternResult(extension);
 
-        IOUtil.executeProcess(new String[]{"dpkg", "--search", dir.getAbsolutePath() + "/*/*"}, packageResult);
+        execute(searchPatternCommand(dir), packageResult);
 
         if (!packageResult.getPackages().isEmpty()) {
             String pkg = packageResult.getPackages().iterator().next();
@@ -68,7 +73,7 @@ public class PackageScanner {
             System.err.println("/usr/bin/apt-file not found. Give up looking for package containing " + dir);
             return null;
         }
-        IOUtil.executeProcess(new String[]{"apt-file", "search", dir.getAbsolutePath()}, packageResult);
+        execute(aptFileCommand(dir), packageResult);
         if (!packageResult.getPackages().isEmpty()) {
             String pkg = packageResult.getPackages().iterator().next();
             filesInPackages.put(cacheId, pkg);
@@ -81,12 +86,82 @@ public class PackageScanner {
 
     public DebianDependency searchPkgContainingPom(Dependency dependency) {
         // TODO shouldn't we use the mavenRepo property of DependencySolver for the mavenRepo path?
-        return searchPkg(new File("/usr/share/maven-repo/" + dependency.getGroupId().replace('.', '/')
-            + "/" + dependency.getArtifactId()) , ".pom");
+        return searchPkg(pomDirectory(dependency), ".pom");
     }
 
     public DebianDependency searchPkgContainingJar(Dependency dependency) {
-        return searchPkg(new File("/usr/share/java/" + dependency.getArtifactId() + ".jar"));
+        return searchPkg(jarFile(dependency));
+    }
+
+    private File pomDirectory(Dependency dependency) {
+        return new File("/usr/share/maven-repo/" + dependency.getGroupId().replace('.', '/') + "/" + dependency.getArtifactId());
+    }
+
+    private File jarFile(Dependency dependency) {
+        return new File("/usr/share/java/" + dependency.getArtifactId() + ".jar");
+    }
+
+    /**
+     * Runs in the background the commands searching the package containing the POM or the jar
+     * of a dependency not found in the repository, and the version of this package. Their outputs
+     * are used by the next searches instead of running the commands again, the searches thus give
+     * the same results and print the same messages.
+     */
+    public void prefetch(final Dependency dependency, Executor executor) {
+        executor.execute(new Runnable() {
+            public void run() {
+                GetPackageContainingPatternResult pomResult = new GetPackageContainingPatternResult(".pom", true);
+                prefetch(searchPatternCommand(pomDirectory(dependency)), pomResult);
+                if (pomResult.getPackages().isEmpty() && isAptFileAvailable()) {
+                    prefetch(aptFileCommand(pomDirectory(dependency)), pomResult);
+                }
+                if (!pomResult.getPackages().isEmpty()) {
+                    prefetch(statusCommand(pomResult.getPackages().iterator().next()), new GetPackageVersionResult());
+                    return;
+                }
+
+                GetPackageResult jarResult = new GetPackageResult(true);
+                prefetch(searchCommand(jarFile(dependency)), jarResult);
+                if (jarResult.getResult().isEmpty() && isAptFileAvailable()) {
+                    prefetch(aptFileCommand(jarFile(dependency)), jarResult);
+                }
+            }
+        });
+    }
+
+    private boolean isAptFileAvailable() {
+        return !offline && new File("/usr/bin/apt-file").exists();
+    }
+
+    private void prefetch(String[] cmd, OutputHandler handler) {
+        IOUtil.ProcessOutput output = IOUtil.runProcess(cmd);
+        prefetchedOutputs.put(Arrays.asList(cmd), output);
+        IOUtil.replayProcessQuietly(output, handler);
+    }
+
+    private void execute(String[] cmd, OutputHandler handler) {
+        IOUtil.ProcessOutput output = prefetchedOutputs.remove(Arrays.asList(cmd));
+        if (output != null) {
+            IOUtil.replayProcess(cmd, output, handler);
+        } else {
+            IOUtil.executeProcess(cmd, handler);
+        }
+    }
+
+    private static String[] searchPatternCommand(File dir) {
+        return new String[]{"dpkg", "--search", dir.getAbsolutePath() + "/*/*"};
+    }
+
+    private static String[] searchCommand(File file) {
+        return new String[]{"dpkg", "--search", file.getAbsolutePath()};
+    }
+
+    private static String[] aptFileCommand(File file) {
+        return new String[]{"apt-file", "search", file.getAbsolutePath()};
+    }
+
+    private static String[] statusCommand(String packageName) {
+        return new String[]{"dpkg", "--status", packageName};
     }
 
     /**
@@ -116,7 +191,7 @@ public class PackageScanner {
 
         GetPackageResult packageResult = new GetPackageResult();
 
-        IOUtil.executeProcess(new String[]{"dpkg", "--search", fileToSearch.getAbsolutePath()}, packageResult);
+        execute(searchCommand(fileToSearch), packageResult);
         if (!packageResult.getResult().isEmpty()) {
             String pkg = packageResult.getResult().iterator().next();
             filesInPackages.put(fileToSearch, pkg);
@@ -133,7 +208,7 @@ public class PackageScanner {
             System.err.println("/usr/bin/apt-file not found. Give up looking for package containing " + fileToSearch);
             return null;
         }
-        IOUtil.executeProcess(new String[]{"apt-file", "search", fileToSearch.getAbsolutePath()}, packageResult);
+        execute(aptFileCommand(fileToSearch), packageResult);
         if (!packageResult.getResult().isEmpty()) {
             String pkg = packageResult.getResult().iterator().next();
             filesInPackages.put(fileToSearch, pkg);
@@ -145,7 +220,7 @@ public class PackageScanner {
 
     public String getPackageVersion(DebianDependency pkg, boolean onlyInstalled) {
         GetPackageVersionResult packageResult = new GetPackageVersionResult();
-        IOUtil.executeProcess(new String[]{"dpkg", "--status", pkg.getPackageName()}, packageResult);
+        execute(statusCommand(pkg.getPackageName()), packageResult);
         if (packageResult.getResult() != null) {
             return packageResult.getResult();
         }
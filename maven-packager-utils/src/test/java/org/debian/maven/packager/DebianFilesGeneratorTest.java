@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.velocity.VelocityContext;
+import org.debian.maven.packager.util.CopyrightStanza;
+import org.debian.maven.packager.util.LicenseCheckResult;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class DebianFilesGeneratorTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testGenerate() throws Exception {
+        File debian = new File(tmpDir.getRoot(), "debian");
+        File version = new File(tmpDir.getRoot(), ".debianVersion");
+        Files.write(version.toPath(), "old".getBytes("UTF-8"));
+
+        DebianFilesGenerator generator = new DebianFilesGenerator();
+        generator.add("format.vm", new File(debian, "source"), "format");
+        generator.add("format.vm", tmpDir.getRoot(), ".debianVersion", true);
+        // replaces the previous template of the file
+        generator.add("version.vm", tmpDir.getRoot(), ".debianVersion", true);
+
+        VelocityContext context = new VelocityContext();
+        context.put("debianVersion", "1.0-1");
+
+        assertEquals(Arrays.asList(new File(new File(debian, "source"), "format"), version), generator.generate(context));
+        assertEquals("3.0 (quilt)", read(new File(debian, "source/format")).trim());
+        assertEquals("1.0-1", read(version).trim());
+        assertTrue(version.canExecute());
+        assertEquals(Arrays.asList("source"), Arrays.asList(debian.list()));
+
+        // nothing left to generate
+        assertTrue(generator.generate(context).isEmpty());
+    }
+
+    @Test
+    public void testCopyrightLicenses() throws Exception {
+        LicenseCheckResult result = new LicenseCheckResult();
+        result.newLine("./src/main/java/Foo.java: GPL (v2 or later) (with Classpath exception)");
+        result.newLine("./src/main/java/Foo.java: [Copyright: 2010 The Foo Project]");
+        result.newLine("./src/main/java/Bar.java: GPL (v2 or later) (with Classpath exception)");
+        result.newLine("./src/main/java/Bar.java: [Copyright: 2011 The Foo Project]");
+        result.newLine("./src/main/java/lib/Util.java: MIT/X11 (BSD like)");
+        result.newLine("./src/main/java/lib/Util.java: [Copyright: 2001 John Doe]");
+        List<CopyrightStanza> stanzas = result.getCopyrightStanzas();
+
+        MavenProject project = new MavenProject();
+        project.setName("Foo");
+        project.setUrl("http://foo.example.org");
+
+        VelocityContext context = new VelocityContext();
+        context.put("project", project);
+        context.put("licenses", new TreeSet<String>(Arrays.asList("GPL-2")));
+        context.put("defaultCopyright", stanzas.get(0));
+        context.put("copyrightStanzas", stanzas.subList(1, stanzas.size()));
+        context.put("packager", "John Packager");
+        context.put("packagerEmail", "john@example.org");
+        context.put("packagerLicense", "Apache-2.0");
+        context.put("currentYear", 2026);
+        GenerateDebianFilesMojo.putLicenseParagraphs(context, new TreeSet<String>(Arrays.asList("GPL-2")),
+                stanzas.get(0), stanzas.subList(1, stanzas.size()), "Apache-2.0");
+
+        DebianFilesGenerator generator = new DebianFilesGenerator();
+        generator.add("copyright.vm", tmpDir.getRoot(), "copyright");
+        generator.generate(context);
+        String copyright = read(new File(tmpDir.getRoot(), "copyright"));
+
+        // the default stanza has the license of the files, not the license declared in the POM
+        assertTrue(copyright, copyright.contains("Files: *\nCopyright: 2010-2011, The Foo Project\nLicense: GPL-2+ with Classpath-exception\n"));
+        assertTrue(copyright, copyright.contains("Files: src/main/java/lib/*\nCopyright: 2001, John Doe\nLicense: Expat\n"));
+        assertTrue(copyright, copyright.contains("\nLicense: GPL-2+ with Classpath-exception\n On Debian systems, the full text of the GPL-2 license\n"));
+        assertTrue(copyright, copyright.contains("\nLicense: Expat\n  TODO: include the full text of the license here\n"));
+        assertTrue(copyright, copyright.contains("\nLicense: Apache-2.0\n On Debian systems"));
+        assertFalse("no paragraph for the license of the POM", copyright.contains("\nLicense: GPL-2\n"));
+    }
+
+    @Test
+    public void testTemplateCache() throws Exception {
+        assertSame(DebianFilesGenerator.getTemplate("control.vm"), DebianFilesGenerator.getTemplate("control.vm"));
+    }
+
+    @Test
+    public void testMissingTemplate() throws Exception {
+        DebianFilesGenerator generator = new DebianFilesGenerator();
+        generator.add("missing.vm", tmpDir.getRoot(), "missing");
+        try {
+            generator.generate(new VelocityContext());
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertFalse(new File(tmpDir.getRoot(), "missing").exists());
+        }
+    }
+
+    private String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), "UTF-8");
+    }
+}
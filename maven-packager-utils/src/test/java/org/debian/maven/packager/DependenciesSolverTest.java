@@ -26,16 +26,22 @@ import java.io.Reader;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import junit.framework.TestCase;
 
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
 import org.debian.maven.packager.util.PackageScanner;
+import org.debian.maven.repo.Dependency;
 import org.debian.maven.repo.DependencyRule;
+import org.debian.maven.repo.POMInfo;
 
 import static org.debian.maven.repo.DependencyRuleSetFiles.RulesType.*;
 
@@ -298,6 +304,91 @@ public class DependenciesSolverTest extends TestCase {
         assertFileEquals("libplexus-compiler-java.rules", "maven.rules");
     }
 
+    public void testResolutionErrorReportedAsIssue() throws Exception {
+        FileWriter out = new FileWriter(pomFile);
+        out.write("<project><artifactId>foo</artifactId>");
+        out.close();
+
+        DependenciesSolver solver = new DependenciesSolver(testDir, new PackageScanner(true), false);
+        solver.mavenRepo = getFileInClasspath("repository/root.dir").getParentFile();
+        solver.exploreProjects = true;
+        solver.packageName = "libfoo-java";
+        solver.setBaseDir(testDir);
+        solver.setListOfPoms(new File(testDir, "libfoo-java.poms"));
+
+        // the error doesn't exit the JVM running the solver
+        solver.solveDependencies();
+
+        assertEquals(1, solver.getIssues().size());
+        assertTrue(solver.getIssues().get(0), solver.getIssues().get(0).startsWith("pom.xml: Error while resolving the dependencies"));
+    }
+
+    public void testNoParentPomReadFromTheSource() throws Exception {
+        DependenciesSolver solver = newSolverWithEffectiveModel();
+        solver.getListOfPOMs().getOrCreatePOMOptions(pomFile).setNoParent(true);
+
+        POMInfo pom = solver.getPOM(pomFile);
+
+        assertNull("parent", pom.getParent());
+        List<Dependency> dependencies = pom.getDependencies().get(POMInfo.DependencyType.DEPENDENCIES);
+        assertEquals("dependencies inherited from the parent", 1, dependencies.size());
+        assertEquals("commons-lang3", dependencies.get(0).getArtifactId());
+    }
+
+    public void testHasPackageVersionPomReadFromTheSource() throws Exception {
+        DependenciesSolver solver = newSolverWithEffectiveModel();
+        solver.getListOfPOMs().getOrCreatePOMOptions(pomFile).setHasPackageVersion(true);
+
+        POMInfo pom = solver.getPOM(pomFile);
+
+        assertEquals("true", pom.getProperties().get("debian.hasPackageVersion"));
+    }
+
+    /**
+     * Returns a solver using the effective model of a module, with the parent dependencies and the versions interpolated
+     */
+    private DependenciesSolver newSolverWithEffectiveModel() throws IOException {
+        FileWriter out = new FileWriter(pomFile);
+        out.write("<project>\n"
+                + "  <parent><groupId>org.example</groupId><artifactId>parent</artifactId><version>1.0</version></parent>\n"
+                + "  <artifactId>foo</artifactId>\n"
+                + "  <dependencies>\n"
+                + "    <dependency><groupId>org.apache.commons</groupId><artifactId>commons-lang3</artifactId><version>${commons.version}</version></dependency>\n"
+                + "  </dependencies>\n"
+                + "</project>\n");
+        out.close();
+
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("foo");
+        model.setVersion("1.0");
+        Parent parent = new Parent();
+        parent.setGroupId("org.example");
+        parent.setArtifactId("parent");
+        parent.setVersion("1.0");
+        model.setParent(parent);
+        model.addDependency(dependency("org.apache.commons", "commons-lang3", "3.4"));
+        // inherited from the parent
+        model.addDependency(dependency("junit", "junit", "4.12"));
+        MavenProject project = new MavenProject(model);
+        project.setOriginalModel(model.clone());
+        project.setFile(pomFile);
+
+        DependenciesSolver solver = new DependenciesSolver(testDir, new PackageScanner(true), false);
+        solver.setBaseDir(testDir);
+        solver.setListOfPoms(new File(testDir, "libfoo-java.poms"));
+        solver.setProjects(Arrays.asList(project));
+        return solver;
+    }
+
+    private static org.apache.maven.model.Dependency dependency(String groupId, String artifactId, String version) {
+        org.apache.maven.model.Dependency dependency = new org.apache.maven.model.Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        return dependency;
+    }
+
     protected void assertFileEquals(String resource, String fileName) throws Exception {
         File file = new File(testDir, fileName);
         assertTrue(file.exists());
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.maven.project.MavenProject;
+import org.debian.maven.repo.POMInfo;
+import org.debian.maven.repo.POMInfo.DependencyType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class MhMakeTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testReadProjects() throws Exception {
+        File repo = tmpDir.newFolder("maven-repo");
+        File project = tmpDir.newFolder("project");
+
+        // only the 'debian' version of the parent is installed
+        write(new File(repo, "org/example/parent/debian/parent-debian.pom"),
+                "<project><modelVersion>4.0.0</modelVersion>" +
+                "<groupId>org.example</groupId><artifactId>parent</artifactId><version>debian</version><packaging>pom</packaging>" +
+                "<build><pluginManagement><plugins><plugin>" +
+                "<groupId>org.apache.felix</groupId><artifactId>maven-bundle-plugin</artifactId><version>2.5.4</version>" +
+                "</plugin></plugins></pluginManagement></build>" +
+                "</project>");
+
+        write(new File(project, "pom.xml"),
+                "<project><modelVersion>4.0.0</modelVersion>" +
+                "<parent><groupId>org.example</groupId><artifactId>parent</artifactId><version>7</version></parent>" +
+                "<artifactId>foo-parent</artifactId><version>1.0</version><packaging>pom</packaging>" +
+                "<properties><lang.version>3.4</lang.version></properties>" +
+                "<modules><module>foo-core</module></modules>" +
+                "</project>");
+
+        write(new File(project, "foo-core/pom.xml"),
+                "<project><modelVersion>4.0.0</modelVersion>" +
+                "<parent><groupId>org.example</groupId><artifactId>foo-parent</artifactId><version>1.0</version></parent>" +
+                "<artifactId>foo-core</artifactId><packaging>bundle</packaging>" +
+                "<dependencies><dependency>" +
+                "<groupId>org.apache.commons</groupId><artifactId>commons-lang3</artifactId><version>${lang.version}</version>" +
+                "</dependency></dependencies>" +
+                "<build><plugins><plugin><groupId>org.apache.felix</groupId><artifactId>maven-bundle-plugin</artifactId></plugin></plugins></build>" +
+                "</project>");
+
+        MhMake mhMake = new MhMake();
+        mhMake.setBaseDir(project);
+        mhMake.setMavenRepo(repo);
+        List<MavenProject> projects = mhMake.readProjects();
+
+        assertEquals(2, projects.size());
+        assertEquals("foo-parent", projects.get(0).getArtifactId());
+        assertEquals(new File(project, "pom.xml"), projects.get(0).getFile());
+
+        MavenProject core = projects.get(1);
+        assertEquals("org.example", core.getGroupId());
+        assertEquals("1.0", core.getVersion());
+        assertSame(projects.get(0), core.getParent());
+        assertEquals(new File(project, "foo-core"), core.getBasedir());
+
+        POMInfo info = ProjectPOMReader.read(core);
+        assertEquals("org.apache.commons:commons-lang3:jar:3.4", info.getDependencies().get(DependencyType.DEPENDENCIES).get(0).formatCompactNotation());
+        assertEquals("org.apache.felix:maven-bundle-plugin:maven-plugin:2.5.4", info.getDependencies().get(DependencyType.PLUGINS).get(0).formatCompactNotation());
+    }
+
+    @Test
+    public void testRunWithoutDebianFiles() throws Exception {
+        File repo = tmpDir.newFolder("maven-repo");
+        File project = tmpDir.newFolder("project");
+
+        write(new File(project, "pom.xml"),
+                "<project><modelVersion>4.0.0</modelVersion>" +
+                "<groupId>org.example</groupId><artifactId>foo-parent</artifactId><version>1.0</version><packaging>pom</packaging>" +
+                "<name>Foo</name><url>http://foo.example.org</url><description>The Foo library</description>" +
+                "<organization><name>Example</name></organization>" +
+                "<licenses><license><name>Apache License, Version 2.0</name></license></licenses>" +
+                "<modules><module>foo-core</module></modules>" +
+                "</project>");
+
+        write(new File(project, "foo-core/pom.xml"),
+                "<project><modelVersion>4.0.0</modelVersion>" +
+                "<parent><groupId>org.example</groupId><artifactId>foo-parent</artifactId><version>1.0</version></parent>" +
+                "<artifactId>foo-core</artifactId>" +
+                "</project>");
+
+        // the default answers, the upstream version is the version of the root POM
+        File preseed = new File(tmpDir.getRoot(), "preseed");
+        write(preseed, "upstream-version:org.example:foo-parent\n");
+
+        MhMake mhMake = new MhMake();
+        mhMake.setBaseDir(project);
+        mhMake.setMavenRepo(repo);
+        mhMake.setPackageName("foo");
+        mhMake.setBinPackageName("libfoo-java");
+        mhMake.setInteractive(false);
+        mhMake.setPreseedFile(preseed);
+        mhMake.run();
+
+        File debianDir = new File(project, "debian");
+        List<String> poms = new ArrayList<String>();
+        for (String line : Files.readAllLines(new File(debianDir, "libfoo-java.poms").toPath(), Charset.forName("UTF-8"))) {
+            if (!line.trim().isEmpty() && !line.startsWith("#")) {
+                poms.add(line.split("\\s+")[0]);
+            }
+        }
+        assertEquals("POMs listed", Arrays.asList("pom.xml", "foo-core/pom.xml"), poms);
+
+        Properties substvars = new Properties();
+        Reader reader = new FileReader(new File(debianDir, "libfoo-java.substvars"));
+        try {
+            substvars.load(reader);
+        } finally {
+            reader.close();
+        }
+        assertEquals("1.0", substvars.getProperty("maven.UpstreamPackageVersion"));
+
+        assertTrue(new File(debianDir, "control").isFile());
+        assertTrue(new File(debianDir, "maven.rules").isFile());
+    }
+
+    private void write(File file, String content) throws Exception {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes("UTF-8"));
+    }
+}
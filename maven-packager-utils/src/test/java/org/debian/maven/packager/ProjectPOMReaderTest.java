@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.debian.maven.repo.Dependency;
+import org.debian.maven.repo.POMInfo;
+import org.debian.maven.repo.POMInfo.DependencyType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ProjectPOMReaderTest {
+
+    @Test
+    public void testRead() {
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("foo");
+        model.setVersion("1.2");
+        model.setPackaging("bundle");
+        model.addModule("foo-core");
+        model.addProperty("commons.version", "3.4");
+
+        Parent parent = new Parent();
+        parent.setGroupId("org.example");
+        parent.setArtifactId("parent");
+        parent.setVersion("5");
+        model.setParent(parent);
+
+        // interpolated by Maven
+        model.addDependency(dependency("org.apache.commons", "commons-lang3", "3.4"));
+        model.setDependencyManagement(new DependencyManagement());
+        model.getDependencyManagement().addDependency(dependency("junit", "junit", "4.12"));
+
+        Build build = new Build();
+        Plugin bundlePlugin = plugin("org.apache.felix", "maven-bundle-plugin", "2.5.4");
+        bundlePlugin.addDependency(dependency("biz.aQute", "bndlib", "2.4.0"));
+        build.addPlugin(bundlePlugin);
+        // added by the lifecycle
+        build.addPlugin(plugin("org.apache.maven.plugins", "maven-compiler-plugin", "3.1"));
+        Extension extension = new Extension();
+        extension.setGroupId("org.apache.maven.wagon");
+        extension.setArtifactId("wagon-ssh");
+        extension.setVersion("2.10");
+        build.addExtension(extension);
+        model.setBuild(build);
+
+        Model originalModel = new Model();
+        originalModel.setBuild(new Build());
+        originalModel.getBuild().addPlugin(plugin("org.apache.felix", "maven-bundle-plugin", "${bundle.version}"));
+
+        MavenProject project = new MavenProject(model);
+        project.setOriginalModel(originalModel);
+
+        POMInfo info = ProjectPOMReader.read(project);
+
+        assertDependency("org.example:foo:bundle:1.2", info.getThisPom());
+        assertEquals("1.2", info.getOriginalVersion());
+        assertDependency("org.example:parent:pom:5", info.getParent());
+        assertEquals(Arrays.asList("foo-core"), info.getModules());
+        assertEquals("3.4", info.getProperties().get("commons.version"));
+
+        assertDependencies(info, DependencyType.DEPENDENCIES, "org.apache.commons:commons-lang3:jar:3.4");
+        assertDependencies(info, DependencyType.DEPENDENCY_MANAGEMENT_LIST, "junit:junit:jar:4.12");
+        assertDependencies(info, DependencyType.PLUGINS, "org.apache.felix:maven-bundle-plugin:maven-plugin:2.5.4");
+        assertDependencies(info, DependencyType.PLUGIN_DEPENDENCIES, "biz.aQute:bndlib:jar:2.4.0");
+        assertDependencies(info, DependencyType.PLUGIN_MANAGEMENT);
+        assertDependencies(info, DependencyType.REPORTING_PLUGINS);
+        assertDependencies(info, DependencyType.EXTENSIONS, "org.apache.maven.wagon:wagon-ssh:jar:2.10");
+    }
+
+    private void assertDependency(String expected, Dependency dependency) {
+        assertEquals(expected, dependency.formatCompactNotation());
+    }
+
+    private void assertDependencies(POMInfo info, DependencyType type, String... expected) {
+        List<Dependency> dependencies = info.getDependencies().get(type);
+        assertEquals(type.toString(), expected.length, dependencies.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertDependency(expected[i], dependencies.get(i));
+        }
+    }
+
+    private org.apache.maven.model.Dependency dependency(String groupId, String artifactId, String version) {
+        org.apache.maven.model.Dependency dependency = new org.apache.maven.model.Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        return dependency;
+    }
+
+    private Plugin plugin(String groupId, String artifactId, String version) {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId(groupId);
+        plugin.setArtifactId(artifactId);
+        plugin.setVersion(version);
+        return plugin;
+    }
+}
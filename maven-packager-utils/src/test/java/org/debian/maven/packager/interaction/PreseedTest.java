@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.interaction;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import org.debian.maven.repo.Dependency;
+
+public class PreseedTest extends TestCase {
+
+    private File file;
+
+    @Override
+    protected void setUp() throws Exception {
+        file = File.createTempFile("preseed", ".txt");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Question.setPreseed(null);
+        Question.setInteractive(true);
+        file.delete();
+    }
+
+    public void testKey() {
+        Dependency dependency = new Dependency("org.foo", "bar", "jar", "1.0");
+        assertEquals("version-rule:org.foo:bar", Preseed.key("version-rule", dependency));
+    }
+
+    public void testLoad() throws Exception {
+        Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        out.write("# comment\n");
+        out.write("\n");
+        out.write("ignore-plugin:org.apache.maven.plugins:maven-site-plugin y\n");
+        out.write("substitution-rule:org.foo:bar   s/org.foo/org.baz/ * * s/.*/debian/\n");
+        out.write("include-all-modules:org.foo:parent\n");
+        out.close();
+
+        Preseed preseed = Preseed.load(file);
+
+        assertEquals("y", preseed.get("ignore-plugin:org.apache.maven.plugins:maven-site-plugin"));
+        assertEquals("s/org.foo/org.baz/ * * s/.*/debian/", preseed.get("substitution-rule:org.foo:bar"));
+        assertTrue(preseed.contains("include-all-modules:org.foo:parent"));
+        assertEquals("", preseed.get("include-all-modules:org.foo:parent"));
+        assertFalse(preseed.contains("comment"));
+    }
+
+    public void testPreseededAnswer() {
+        Preseed preseed = new Preseed();
+        preseed.put("version-rule:org.foo:bar", "2");
+        Question.setPreseed(preseed);
+
+        ChoiceQuestion question = new ChoiceQuestion("Choose how the version will be transformed:", 0, Arrays.asList("1.x", "debian", "keep"));
+        question.setInput(new BufferedReader(new StringReader("")));
+        question.setOutput(new PrintWriter(new StringWriter(), true));
+        question.withKey("version-rule:org.foo:bar");
+
+        assertEquals("Answer", 2, (int) question.ask());
+        assertEquals("Recorded", "2", preseed.getRecordedAnswers().get("version-rule:org.foo:bar"));
+    }
+
+    public void testInvalidPreseededAnswer() {
+        Preseed preseed = new Preseed();
+        preseed.put("ignore:org.foo:bar", "maybe");
+        Question.setPreseed(preseed);
+        Question.setInteractive(false);
+
+        YesNoQuestion question = new YesNoQuestion("Ignore this dependency?", true);
+        question.setOutput(new PrintWriter(new StringWriter(), true));
+        question.withKey("ignore:org.foo:bar");
+
+        // the invalid answer isn't used twice, the default answer is selected
+        assertEquals("Answer", true, (boolean) question.ask());
+        assertEquals("Recorded", "", preseed.getRecordedAnswers().get("ignore:org.foo:bar"));
+    }
+
+    public void testRecordedAnswers() throws Exception {
+        Preseed preseed = new Preseed();
+        Question.setPreseed(preseed);
+
+        YesNoQuestion question1 = new YesNoQuestion("Include all modules?", true);
+        question1.setInput(new BufferedReader(new StringReader("n\n")));
+        question1.setOutput(new PrintWriter(new StringWriter(), true));
+        question1.withKey("include-all-modules:org.foo:parent").ask();
+
+        SimpleQuestion question2 = new SimpleQuestion("Enter the upstream version for the package.", "1.0");
+        question2.setInput(new BufferedReader(new StringReader("\n")));
+        question2.setOutput(new PrintWriter(new StringWriter(), true));
+        question2.withKey("upstream-version:org.foo:parent").ask();
+
+        // questions without key aren't recorded
+        SimpleQuestion question3 = new SimpleQuestion("Enter the name of the project:");
+        question3.setInput(new BufferedReader(new StringReader("Foo\n")));
+        question3.setOutput(new PrintWriter(new StringWriter(), true));
+        question3.ask();
+
+        preseed.saveRecordedAnswers(file);
+
+        Map<String, String> answers = Preseed.load(file).getRecordedAnswers();
+        assertTrue("Answers loaded aren't recorded", answers.isEmpty());
+
+        Preseed replay = Preseed.load(file);
+        assertEquals("n", replay.get("include-all-modules:org.foo:parent"));
+        assertEquals("", replay.get("upstream-version:org.foo:parent"));
+        assertEquals(2, preseed.getRecordedAnswers().size());
+    }
+}
@@ -79,4 +79,27 @@ public class YesNoQuestionTest extends TestCase {
         assertEquals("Question", "Are you a Java programmer?" + EOL + "[y/N] > ", output.toString());
         assertEquals("Answer", true, answer);
     }
+
+    public void testListener() {
+        final StringBuilder events = new StringBuilder();
+        Question.setListener(new QuestionListener() {
+            public void waitingForAnswer() {
+                events.append("waiting ");
+            }
+
+            public void answered() {
+                events.append("answered ");
+            }
+        });
+        try {
+            YesNoQuestion question = new YesNoQuestion("Are you a Java programmer?", true);
+            question.setInput(new BufferedReader(new StringReader("X\nno\n")));
+            question.setOutput(new PrintWriter(new StringWriter(), true));
+
+            assertEquals("Answer", false, (boolean) question.ask());
+            assertEquals("Events", "waiting answered waiting answered ", events.toString());
+        } finally {
+            Question.setListener(null);
+        }
+    }
 }
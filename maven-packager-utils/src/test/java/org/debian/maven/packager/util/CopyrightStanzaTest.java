@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CopyrightStanzaTest {
+
+    @Test
+    public void testYears() {
+        assertEquals(new TreeSet<Integer>(Arrays.asList(2003, 2005, 2006, 2007, 2009, 2010, 2011)), CopyrightStanza.parseYears("2003, 2005-2007,2009 - 11"));
+        assertEquals("2003, 2005-2007, 2009-2011", CopyrightStanza.formatYears(CopyrightStanza.parseYears("2003, 2005-2007,2009 - 11")));
+        assertEquals("2012", CopyrightStanza.formatYears(CopyrightStanza.parseYears("2012")));
+    }
+
+    @Test
+    public void testGroup() {
+        LicenseCheckResult result = new LicenseCheckResult();
+        result.newLine("./src/main/java/Foo.java: Apache (v2.0)");
+        result.newLine("./src/main/java/Foo.java: [Copyright: 2009-2010 The Foo Project]");
+        result.newLine("./src/main/java/Bar.java: Apache (v2.0)");
+        result.newLine("./src/main/java/Bar.java: [Copyright: 2012 The Foo Project]");
+        result.newLine("./src/main/java/Baz.java: Apache (v2.0)");
+        result.newLine("./src/main/java/Baz.java: [Copyright: 2011 The Foo Project]");
+        result.newLine("./src/main/java/lib/Util.java: BSD (3 clause)");
+        result.newLine("./src/main/java/lib/Util.java: [Copyright: 2001 John Doe]");
+        result.newLine("./src/main/java/lib/Util2.java: BSD (3 clause)");
+        result.newLine("./src/main/java/lib/Util2.java: [Copyright: 2003 John Doe]");
+        result.newLine("./src/main/java/Other.java: [Copyright: 2005 John Doe]");
+        result.newLine("./src/main/java/Other.java: BSD (3 clause)");
+        result.newLine("./debian/rules: [Copyright: 2026 Packager]");
+
+        List<CopyrightStanza> stanzas = result.getCopyrightStanzas();
+        assertEquals(2, stanzas.size());
+
+        assertTrue(stanzas.get(0).isDefault());
+        assertEquals("2009-2012, The Foo Project", stanzas.get(0).getCopyright());
+        assertEquals("Apache-2.0", stanzas.get(0).getLicense());
+
+        assertEquals("src/main/java/Other.java src/main/java/lib/*", stanzas.get(1).getFiles());
+        assertEquals("2001, 2003, 2005, John Doe", stanzas.get(1).getCopyright());
+        assertEquals("BSD-3-clause", stanzas.get(1).getLicense());
+
+        assertEquals(new TreeSet<String>(Arrays.asList("Apache (v2.0)", "BSD (3 clause)")), result.getLicenses());
+        assertEquals(new TreeSet<String>(Arrays.asList("John Doe", "Packager", "The Foo Project")), result.getCopyrightOwners());
+    }
+
+    @Test
+    public void testDep5Licenses() {
+        LicenseCheckResult result = new LicenseCheckResult();
+        result.newLine("./src/main/java/Foo.java: GPL (v2 or later) (with Classpath exception)");
+        result.newLine("./src/main/java/Foo.java: [Copyright: 2010 The Foo Project]");
+        result.newLine("./src/main/java/Bar.java: GPL (v2 or later) (with Classpath exception)");
+        result.newLine("./src/main/java/Bar.java: [Copyright: 2011 The Foo Project]");
+        result.newLine("./src/main/java/lib/Util.java: MIT/X11 (BSD like)");
+        result.newLine("./src/main/java/lib/Util.java: [Copyright: 2001 John Doe]");
+
+        List<CopyrightStanza> stanzas = result.getCopyrightStanzas();
+        assertEquals(2, stanzas.size());
+        assertEquals("GPL-2+ with Classpath-exception", stanzas.get(0).getLicense());
+        assertEquals("src/main/java/lib/*", stanzas.get(1).getFiles());
+        assertEquals("Expat", stanzas.get(1).getLicense());
+    }
+}
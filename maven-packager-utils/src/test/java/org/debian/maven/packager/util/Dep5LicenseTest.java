@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class Dep5LicenseTest {
+
+    @Test
+    public void testFromLicenseCheck() {
+        assertEquals("Expat", Dep5License.fromLicenseCheck("MIT/X11 (BSD like)"));
+        assertEquals("GPL-2+ with Classpath-exception", Dep5License.fromLicenseCheck("GPL (v2 or later) (with Classpath exception)"));
+        assertEquals("GPL-2 with Classpath-exception", Dep5License.fromLicenseCheck("GPL (v2) (with Classpath exception)"));
+        assertEquals("GPL-3+", Dep5License.fromLicenseCheck("GPL (v3.0 or later)"));
+        assertEquals("LGPL-2.1+", Dep5License.fromLicenseCheck("LGPL (v2.1 or later)"));
+        assertEquals("Apache-2.0", Dep5License.fromLicenseCheck("Apache (v2.0)"));
+        assertEquals("EPL-1.0", Dep5License.fromLicenseCheck("EPL (v1.0)"));
+        assertEquals("BSD-3-clause", Dep5License.fromLicenseCheck("BSD (3 clause)"));
+        assertEquals(LicenseMatcher.IGNORED, Dep5License.fromLicenseCheck("GENERATED FILE"));
+        assertNull(Dep5License.fromLicenseCheck("WTFPL"));
+    }
+
+    @Test
+    public void testCommonLicense() {
+        assertEquals("GPL-2", Dep5License.getCommonLicense("GPL-2+ with Classpath-exception"));
+        assertEquals("LGPL-2.1", Dep5License.getCommonLicense("LGPL-2.1+"));
+        assertEquals("Apache-2.0", Dep5License.getCommonLicense("Apache-2.0"));
+        assertNull(Dep5License.getCommonLicense("Expat"));
+    }
+}
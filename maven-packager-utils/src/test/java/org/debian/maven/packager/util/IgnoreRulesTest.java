@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.EnumSet;
+
+import org.debian.maven.packager.util.IgnoreRules.Category;
+import org.debian.maven.repo.Dependency;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class IgnoreRulesTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    private static Dependency dependency(String groupId, String artifactId) {
+        return new Dependency(groupId, artifactId, "maven-plugin", "1.0");
+    }
+
+    @Test
+    public void testDefaultTable() throws Exception {
+        IgnoreRules rules = IgnoreRules.load(null);
+
+        assertEquals(EnumSet.of(Category.JRE), rules.getCategories(dependency("stax", "stax-api")));
+        assertEquals(EnumSet.of(Category.PLUGIN), rules.getCategories(dependency("org.apache.maven.plugins", "maven-source-plugin")));
+        assertEquals(EnumSet.of(Category.EXTENSION), rules.getCategories(dependency("org.apache.maven.wagon", "wagon-ssh")));
+        assertEquals(EnumSet.of(Category.OPTIONAL_PLUGIN, Category.TEST_PLUGIN),
+                rules.getCategories(dependency("org.apache.maven.plugins", "maven-verifier-plugin")));
+        assertEquals(EnumSet.of(Category.DOC_PLUGIN), rules.getCategories(dependency("org.apache.maven.plugins", "maven-site-plugin")));
+        assertEquals("pattern", EnumSet.of(Category.DOC_PLUGIN), rules.getCategories(dependency("org.codehaus.mojo", "failsafe-report-maven-plugin")));
+        assertTrue(rules.getCategories(dependency("org.apache.maven.plugins", "maven-compiler-plugin")).isEmpty());
+    }
+
+    @Test
+    public void testOverrides() throws Exception {
+        IgnoreRules rules = new IgnoreRules();
+        rules.read(new StringReader(
+                "org.foo:foo-maven-plugin plugin\n"
+                + "org.foo:*-report-* doc-plugin\n"
+                + "org.foo:bar-?-plugin optional-plugin\n"), "base");
+        rules.read(new StringReader(
+                "# overrides\n"
+                + "org.foo:foo-maven-plugin !plugin optional-plugin\n"
+                + "org.foo:baz-report-plugin !doc-plugin\n"
+                + "org.foo:qux-report-plugin test-plugin\n"), "override");
+
+        assertEquals(EnumSet.of(Category.OPTIONAL_PLUGIN), rules.getCategories(dependency("org.foo", "foo-maven-plugin")));
+        assertEquals(EnumSet.of(Category.DOC_PLUGIN), rules.getCategories(dependency("org.foo", "foo-report-plugin")));
+        assertTrue("removed", rules.getCategories(dependency("org.foo", "baz-report-plugin")).isEmpty());
+        assertEquals("merged", EnumSet.of(Category.DOC_PLUGIN, Category.TEST_PLUGIN), rules.getCategories(dependency("org.foo", "qux-report-plugin")));
+        assertEquals(EnumSet.of(Category.OPTIONAL_PLUGIN), rules.getCategories(dependency("org.foo", "bar-2-plugin")));
+        assertTrue(rules.getCategories(dependency("org.foo", "bar-10-plugin")).isEmpty());
+        assertTrue("the dots aren't wildcards", rules.getCategories(dependency("orgxfoo", "foo-report-plugin")).isEmpty());
+    }
+
+    @Test
+    public void testPackageTable() throws Exception {
+        File debianDir = tmpDir.newFolder("debian");
+        Writer out = new OutputStreamWriter(new FileOutputStream(new File(debianDir, IgnoreRules.TABLE)), "UTF-8");
+        out.write("org.apache.maven.plugins:maven-source-plugin !plugin\n");
+        out.close();
+
+        IgnoreRules rules = IgnoreRules.load(debianDir);
+
+        assertTrue(rules.getCategories(dependency("org.apache.maven.plugins", "maven-source-plugin")).isEmpty());
+        assertEquals(EnumSet.of(Category.PLUGIN), rules.getCategories(dependency("org.apache.maven.plugins", "maven-release-plugin")));
+    }
+
+    @Test
+    public void testInvalidTable() throws Exception {
+        IgnoreRules rules = new IgnoreRules();
+        try {
+            rules.read(new StringReader("org.foo:foo-maven-plugin unknown\n"), "test");
+            fail("Unknown category accepted");
+        } catch (IOException e) {
+            assertEquals("Unknown category unknown in test at line 1", e.getMessage());
+        }
+        try {
+            rules.read(new StringReader("foo-maven-plugin plugin\n"), "test");
+            fail("Rule without groupId accepted");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Invalid ignore rule in test at line 1"));
+        }
+    }
+}
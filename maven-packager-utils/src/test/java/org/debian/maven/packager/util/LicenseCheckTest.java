@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class LicenseCheckTest {
+
+    private static final String APACHE_HEADER =
+            "/*\n" +
+            " * Licensed under the Apache License, Version 2.0 (the \"License\");\n" +
+            " * you may not use this file except in compliance with the License.\n" +
+            " * You may obtain a copy of the License at\n" +
+            " *\n" +
+            " *      http://www.apache.org/licenses/LICENSE-2.0\n" +
+            " */\n";
+
+    private static final String LGPL_HEADER =
+            "// This library is free software; you can redistribute it and/or\n" +
+            "// modify it under the terms of the GNU Lesser General Public\n" +
+            "// License as published by the Free Software Foundation; either\n" +
+            "// version 2.1 of the License, or (at your option) any later version.\n";
+
+    private static final String BSD_HEADER =
+            "# Redistribution and use in source and binary forms, with or without\n" +
+            "# modification, are permitted provided that the following conditions are met:\n" +
+            "# * Neither the name of the copyright holder nor the names of its contributors may be used\n";
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    @Test
+    public void testCheck() throws Exception {
+        File root = tmpDir.getRoot();
+        write(new File(root, "src/main/java/Foo.java"), APACHE_HEADER + "public class Foo {}\n");
+        write(new File(root, "src/main/java/Bar.java"), LGPL_HEADER + "public class Bar {}\n");
+        write(new File(root, "build.sh"), "#!/bin/sh\n" + BSD_HEADER);
+        write(new File(root, "README"), "No license here\n");
+        // skipped: build outputs, VCS metadata and binary files
+        write(new File(root, "target/classes/Baz.java"), LGPL_HEADER);
+        write(new File(root, ".git/config"), LGPL_HEADER);
+        write(new File(root, "src/main/resources/data.txt"), "binary\0" + LGPL_HEADER);
+
+        LicenseCheckResult result = new LicenseCheckResult();
+        new LicenseCheck().check(root, result);
+
+        assertEquals(new TreeSet<String>(Arrays.asList("Apache (v2.0)", "BSD (3 clause)", "LGPL (v2.1 or later)")), result.getLicenses());
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        File root = tmpDir.newFolder("src");
+        File foo = new File(root, "Foo.java");
+        File bar = new File(root, "Bar.java");
+        write(foo, APACHE_HEADER);
+        write(bar, LGPL_HEADER);
+        write(new File(root, "data.txt"), "binary\0");
+        File cacheFile = new File(tmpDir.getRoot(), "cache.properties");
+
+        assertEquals("0 files unchanged, 3 files scanned", check(root, cacheFile, "Apache (v2.0)", "LGPL (v2.1 or later)"));
+        assertEquals("3 files unchanged, 0 files scanned", check(root, cacheFile, "Apache (v2.0)", "LGPL (v2.1 or later)"));
+
+        // the header of Bar is unchanged, Foo is scanned again
+        write(foo, BSD_HEADER);
+        write(bar, LGPL_HEADER);
+        bar.setLastModified(bar.lastModified() - 10000);
+        assertEquals("2 files unchanged, 1 files scanned", check(root, cacheFile, "BSD (3 clause)", "LGPL (v2.1 or later)"));
+
+        assertTrue(foo.delete());
+        assertEquals("2 files unchanged, 0 files scanned", check(root, cacheFile, "LGPL (v2.1 or later)"));
+    }
+
+    @Test
+    public void testCacheOfAnotherVersion() throws Exception {
+        File root = tmpDir.newFolder("src");
+        write(new File(root, "Foo.java"), APACHE_HEADER);
+        write(new File(root, "Bar.java"), LGPL_HEADER);
+        File cacheFile = new File(tmpDir.getRoot(), "cache.properties");
+
+        assertEquals("0 files unchanged, 2 files scanned", check(root, new LicenseScanCache(cacheFile, "1-table"), "Apache (v2.0)", "LGPL (v2.1 or later)"));
+        assertEquals("2 files unchanged, 0 files scanned", check(root, new LicenseScanCache(cacheFile, "1-table"), "Apache (v2.0)", "LGPL (v2.1 or later)"));
+
+        // the classification or the table of the licenses changed, the cache is discarded
+        assertEquals("0 files unchanged, 2 files scanned", check(root, new LicenseScanCache(cacheFile, "2-table"), "Apache (v2.0)", "LGPL (v2.1 or later)"));
+        assertEquals("0 files unchanged, 2 files scanned", check(root, new LicenseScanCache(cacheFile, "2-other-table"), "Apache (v2.0)", "LGPL (v2.1 or later)"));
+
+        // the caches written before the version was added are discarded too
+        Properties properties = new Properties();
+        properties.setProperty("./Foo.java", "0\n0\nhash\nGPL (v2)");
+        OutputStream out = new FileOutputStream(cacheFile);
+        properties.store(out, null);
+        out.close();
+        assertEquals("0 files unchanged, 2 files scanned", check(root, cacheFile, "Apache (v2.0)", "LGPL (v2.1 or later)"));
+    }
+
+    private String check(File root, File cacheFile, String... licenses) {
+        return check(root, new LicenseScanCache(cacheFile), licenses);
+    }
+
+    private String check(File root, LicenseScanCache cache, String... licenses) {
+        LicenseCheck licenseCheck = new LicenseCheck();
+        licenseCheck.setCache(cache);
+        LicenseCheckResult result = new LicenseCheckResult();
+        licenseCheck.check(root, result);
+
+        assertEquals(new TreeSet<String>(Arrays.asList(licenses)), result.getLicenses());
+        return cache.getSummary();
+    }
+
+    @Test
+    public void testClassify() throws Exception {
+        assertEquals(Collections.singletonList("GPL (v2) (with Classpath exception)"), LicenseCheck.classify(
+                " * under the terms of the GNU General Public License version 2 only, as\n" +
+                " * published by the Free Software Foundation.  Oracle designates this\n" +
+                " * particular file as subject to the \"Classpath\" exception as provided\n" +
+                " * by Oracle in the LICENSE file that accompanied this code.\n" +
+                " * Linking this library statically or dynamically with other modules\n"));
+
+        assertEquals(Collections.singletonList("MIT/X11 (BSD like)"), LicenseCheck.classify(
+                "Permission is hereby granted, free of charge, to any person obtaining a copy\n" +
+                "of this software and associated documentation files (the \"Software\")\n"));
+
+        assertEquals(Collections.singletonList("EPL (v1.0)"), LicenseCheck.classify(
+                " * are made available under the terms of the Eclipse Public License v1.0\n" +
+                " * which accompanies this distribution, and is available at\n" +
+                " * http://www.eclipse.org/legal/epl-v10.html\n"));
+
+        assertEquals(Collections.emptyList(), LicenseCheck.classify("public class Foo {}\n"));
+    }
+
+    @Test
+    public void testExtractCopyrights() throws Exception {
+        assertEquals(Arrays.asList("[Copyright: 2009-2012 Ludovic Claude]", "[Copyright: 2003, 2005 Foo Inc]", "[Copyright: 2010 Jane Doe <jane@example.org>]"),
+                LicenseCheck.extractCopyrights(
+                "/*\n" +
+                " * Copyright 2009-12 Ludovic Claude.\n" +
+                " * Copyright (c) 2003, 2005 Foo Inc. All rights reserved.\n" +
+                " * (C) 2010 by Jane Doe <jane@example.org> */\n" +
+                " * The copyright notice below must be kept\n" +
+                " * Copyright (C) the original author or authors.\n" +
+                " */\n"));
+    }
+
+    private void write(File file, String content) throws Exception {
+        file.getParentFile().mkdirs();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("ISO-8859-1"));
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Debian Java Maintainers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.debian.maven.packager.util;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LicenseMatcherTest {
+
+    @Test
+    public void testDefaultTable() throws Exception {
+        LicenseMatcher matcher = LicenseMatcher.getDefault();
+
+        assertEquals("LGPL-2.1", matcher.match("LGPL (v2.1 or later)", ""));
+        assertEquals("LGPL-3", matcher.match("GNU LGPL ", "http://www.gnu.org/licenses/lgpl-3.0.txt"));
+        assertEquals("GPL-2", matcher.match("GPL (v2) (with Classpath exception)", ""));
+        assertEquals("MIT", matcher.match("The MIT License ", ""));
+        assertEquals("CC-BY-SA-3.0", matcher.match("", "http://creativecommons.org/licenses/by-sa/3.0/"));
+        assertNull("no version of the Apache license", matcher.match("Apache ", ""));
+        assertNull(matcher.match("Proprietary ", ""));
+    }
+
+    @Test
+    public void testCustomTable() throws Exception {
+        LicenseMatcher matcher = new LicenseMatcher(new StringReader(
+                "# overlapping keywords, the first family wins\n"
+                + "license Foo name:\"foo bar\"\n"
+                + "    variant Foo-2 name~\"v2(\\.0)?\\b\" url:\"/2\"\n"
+                + "    variant Foo\n"
+                + "license Bar name:\"bar license\" url:\"bar.org\"\n"
+                + "    variant Bar\n"
+                + "license Ignored name:\"ignored\"\n"
+                + "    variant -\n"));
+
+        assertEquals("Foo-2", matcher.match("The Foo Bar License v2", ""));
+        assertEquals("Foo-2", matcher.match("Foo Bar", "http://foo.org/2"));
+        assertEquals("Foo", matcher.match("Foo Bar v20", ""));
+        assertEquals("Bar", matcher.match("Bar License", ""));
+        assertEquals("Bar", matcher.match("", "http://bar.org/license"));
+        assertEquals(LicenseMatcher.IGNORED, matcher.match("Ignored", ""));
+        assertNull("the keywords of the url aren't searched in the name", matcher.match("bar.org", "http://example.org"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidTable() throws Exception {
+        new LicenseMatcher(new StringReader("license Foo name:foo\n"));
+    }
+}
@@ -17,8 +17,10 @@
 package org.debian.maven.packager.util;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 
 import org.debian.maven.packager.DebianDependency;
+import org.debian.maven.repo.Dependency;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -43,4 +45,21 @@ public class PackageScannerTest {
         
         assertNull("Package should be null", dependency);
     }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        Dependency dependency = new Dependency("org.apache.ant", "ant", "jar", "1.10.x");
+        Executor sameThread = new Executor() {
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+
+        PackageScanner scanner = new PackageScanner(true);
+        scanner.prefetch(dependency, sameThread);
+        DebianDependency prefetched = scanner.searchPkgContainingJar(dependency);
+
+        assertEquals(new PackageScanner(true).searchPkgContainingJar(dependency), prefetched);
+        assertEquals("Package", "ant", prefetched.getPackageName());
+    }
 }
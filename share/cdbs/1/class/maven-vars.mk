@@ -36,7 +36,10 @@ CDBS_BUILD_DEPENDS := $(CDBS_BUILD_DEPENDS), maven-debian-helper (>= 2.6)
 MAVEN_HOME = /usr/share/maven
 
 MAVEN_DEBIAN_VERSION = $(shell ls /usr/share/maven-repo/org/debian/maven/maven-packager-utils/ | sed 's|/||')
-MAVEN_CLASSCONF = /etc/maven/m2-debian.conf
+
+# The classworlds configuration, the boot cache of the launcher is used if it's
+# up to date with the Maven installation
+MAVEN_CLASSCONF = $(shell /usr/share/maven-debian-helper/maven-boot.sh conf 2>/dev/null || echo /etc/maven/m2-debian.conf)
 
 # The home directory of the Java Runtime Environment (JRE) or Java Development
 # Kit (JDK). You can either directly set JAVA_HOME in debian/rules or set
@@ -62,6 +65,17 @@ DEB_CLASSPATH = $(MAVEN_HOME)/boot/plexus-classworlds-2.x.jar:$(shell for jar in
 		done; \
 		if [ -f "$(JAVA_HOME)/lib/tools.jar" ]; then echo -n "$(JAVA_HOME)/lib/tools.jar"; fi)
 
+# Set to yes to record a dynamic AppCDS archive of the Maven JVM on the first
+# invocation and use it for the next ones, this requires Java 13 or later.
+# See /usr/share/maven-debian-helper/appcds.sh for details.
+DEB_MAVEN_APPCDS =
+DEB_MAVEN_APPCDS_OPTS = $(if $(DEB_MAVEN_APPCDS),$(shell DEB_MAVEN_APPCDS=$(DEB_MAVEN_APPCDS) \
+		/usr/share/maven-debian-helper/appcds.sh $(JAVACMD) maven $(subst :, ,$(DEB_CLASSPATH)) $(MAVEN_CLASSCONF)))
+
+# Number of threads used to build the modules, taken from parallel=N in DEB_BUILD_OPTIONS.
+# Set it to 1 to always build the modules sequentially.
+DEB_MAVEN_THREADS = $(patsubst parallel=%,%,$(filter parallel=%,$(DEB_BUILD_OPTIONS)))
+
 # Extra arguments for the Maven command line.
 DEB_MAVEN_ARGS = 
 
@@ -92,20 +106,24 @@ DEB_MAVEN_PROPERTYFILE = $(shell test -f $(CURDIR)/debian/maven.properties && ec
 # command-line arguments in MAVEN_ARGS. You can additionally define
 # MAVEN_ARGS_<package> for each individual package.
 DEB_MAVEN_INVOKE = cd $(DEB_BUILDDIR) && $(JAVACMD) -noverify -cp $(DEB_CLASSPATH) \
-		 $(JAVA_OPTS) -Dclassworlds.conf=$(MAVEN_CLASSCONF) \
+		 $(JAVA_OPTS) $(DEB_MAVEN_APPCDS_OPTS) -Dclassworlds.conf=$(MAVEN_CLASSCONF) \
 		 -Dmaven.home=/usr/share/maven \
 		 -Dmaven.multiModuleProjectDirectory=$(CURDIR) \
 		 org.codehaus.plexus.classworlds.launcher.Launcher \
 		 -s/etc/maven/settings-debian.xml \
+		 $(if $(filter-out 1,$(DEB_MAVEN_THREADS)),--threads $(DEB_MAVEN_THREADS)) \
 		 -Dmaven.repo.local=$(DEB_MAVEN_REPO) \
 		 $(if $(DEB_MAVEN_ARGS_$(cdbs_curpkg)),$(DEB_MAVEN_ARGS_$(cdbs_curpkg)),$(DEB_MAVEN_ARGS))
 
 # Targets to invoke for building, installing, testing and cleaning up.
 # Building uses the default target from build.xml, installing and testing is
 # only called if the corresponding variable is set. You can also specify
-# multiple targets for each step.
+# multiple targets for each step. Packages with many modules can install them
+# in parallel in a single pass by setting DEB_MAVEN_INSTALL_TARGET to
+# org.debian.maven:debian-maven-plugin:$(MAVEN_DEBIAN_VERSION):install-all
 DEB_MAVEN_BUILD_TARGET = package
 DEB_MAVEN_INSTALL_TARGET = org.debian.maven:debian-maven-plugin:$(MAVEN_DEBIAN_VERSION):install
+DEB_MAVEN_INSTALL_RESOLVE_TARGET = org.debian.maven:debian-maven-plugin:$(MAVEN_DEBIAN_VERSION):install-resolve
 DEB_MAVEN_CHECK_TARGET = test
 DEB_MAVEN_CLEAN_TARGET = clean
 DEB_MAVEN_DOC_TARGET = javadoc:jar
@@ -113,13 +113,18 @@ PLUGIN_ARGS = -Ddebian.dir=$(CURDIR)/debian -Ddebian.package=$(DEB_JAR_PACKAGE)
 
 ifneq (, $(DEB_DOC_PACKAGE))
 DEB_RESOLVEDEP_ARGS += --javadoc
+RESOLVE_PLUGIN_ARGS += -Ddebian.resolveJavadoc=true
 endif
 DEB_RESOLVEDEP_ARGS += --base-directory=$(CURDIR) --non-explore
 
+# With the default install target the dependencies are resolved in the same Maven session
+# as the installation, otherwise mh_resolve_dependencies is run after the installation
+cdbs_maven_install_resolve = $(if $(cdbs_use_maven_substvars),$(filter $(DEB_MAVEN_INSTALL_TARGET),org.debian.maven:debian-maven-plugin:$(MAVEN_DEBIAN_VERSION):install))
+
 common-install-arch common-install-indep:: common-install-impl
 common-install-impl::
-	$(if $(DEB_MAVEN_INSTALL_TARGET),$(DEB_MAVEN_INVOKE) $(PLUGIN_ARGS) $(DEB_MAVEN_INSTALL_TARGET),@echo "DEB_MAVEN_INSTALL_TARGET unset, skipping default maven.mk common-install target")
-	$(if $(cdbs_use_maven_substvars), mh_resolve_dependencies --non-interactive --offline --build -p$(DEB_JAR_PACKAGE) $(DEB_RESOLVEDEP_ARGS) )
+	$(if $(DEB_MAVEN_INSTALL_TARGET),$(DEB_MAVEN_INVOKE) $(PLUGIN_ARGS) $(if $(cdbs_maven_install_resolve),$(RESOLVE_PLUGIN_ARGS) $(DEB_MAVEN_INSTALL_RESOLVE_TARGET),$(DEB_MAVEN_INSTALL_TARGET)),@echo "DEB_MAVEN_INSTALL_TARGET unset, skipping default maven.mk common-install target")
+	$(if $(cdbs_use_maven_substvars),$(if $(cdbs_maven_install_resolve),,mh_resolve_dependencies --non-interactive --offline --build -p$(DEB_JAR_PACKAGE) $(DEB_RESOLVEDEP_ARGS) ))
 
 ifeq (,$(findstring nocheck,$(DEB_BUILD_OPTIONS)))
 common-build-arch common-build-indep:: debian/stamp-maven-check
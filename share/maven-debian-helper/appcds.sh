@@ -0,0 +1,78 @@
+#!/bin/sh
+
+# Copyright 2026 Debian Java Maintainers.
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#      http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+
+# Prints the JVM options enabling a dynamic AppCDS archive for one of the
+# Java entry points of maven-debian-helper:
+#
+#   appcds.sh <java> <name> <file>...
+#
+# <name> identifies the entry point and the files are the jars and the
+# configuration files determining the classes loaded. The archive is keyed
+# by the Java version and a hash of these files, it's recorded on the first
+# run and used by the next ones.
+#
+# This is an opt-in feature enabled by setting DEB_MAVEN_APPCDS=yes. The
+# archives are stored in DEB_MAVEN_APPCDS_CACHE, by default in
+# ~/.cache/maven-debian-helper/appcds. Nothing is printed if the feature is
+# disabled, if the cache isn't writable or if Java is older than 13.
+
+case "$DEB_MAVEN_APPCDS" in
+  yes|true|1) ;;
+  *) exit 0 ;;
+esac
+
+if [ $# -lt 2 ]; then
+  echo "Usage: $0 <java> <name> <file>..." >&2
+  exit 1
+fi
+
+JAVA=$(readlink -f "$(command -v "$1")" 2>/dev/null)
+NAME=$2
+shift 2
+
+if [ -z "$JAVA" ]; then
+  exit 0
+fi
+
+JAVA_HOME_DIR=$(dirname $(dirname $JAVA))
+JAVA_VERSION=$(sed -n 's/^JAVA_VERSION="\(.*\)"/\1/p' $JAVA_HOME_DIR/release 2>/dev/null)
+JAVA_FEATURE=${JAVA_VERSION%%[.+-]*}
+
+# Dynamic archives are supported since Java 13
+case "$JAVA_FEATURE" in
+  ''|*[!0-9]*) exit 0 ;;
+esac
+if [ $JAVA_FEATURE -lt 13 ]; then
+  exit 0
+fi
+
+CACHE_DIR=${DEB_MAVEN_APPCDS_CACHE:-${XDG_CACHE_HOME:-$HOME/.cache}/maven-debian-helper/appcds}
+if ! mkdir -p "$CACHE_DIR" 2>/dev/null || [ ! -w "$CACHE_DIR" ]; then
+  exit 0
+fi
+
+# The key changes when the JVM or one of the files is updated
+KEY=$( (echo $JAVA $JAVA_VERSION; stat -L -c '%n %s %Y' $JAVA_HOME_DIR/lib/modules "$@" 2>/dev/null) | md5sum | cut -c1-16)
+ARCHIVE=$CACHE_DIR/$NAME-$JAVA_VERSION-$KEY.jsa
+
+if [ $JAVA_FEATURE -ge 19 ]; then
+  # The JVM records the archive itself and regenerates it if it's invalid
+  echo "-XX:+AutoCreateSharedArchive -XX:SharedArchiveFile=$ARCHIVE"
+elif [ -s "$ARCHIVE" ]; then
+  echo "-XX:SharedArchiveFile=$ARCHIVE"
+else
+  echo "-XX:ArchiveClassesAtExit=$ARCHIVE"
+fi
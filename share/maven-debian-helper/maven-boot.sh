@@ -0,0 +1,117 @@
+#!/bin/sh
+
+# Copyright 2026 Debian Java Maintainers.
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#      http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+
+# Maintains the boot cache of the Debian Maven launcher: the ordered list of
+# the jars loaded by /etc/maven/m2-debian.conf, a boot jar merging them with
+# aggregated component indexes, and the classworlds configuration loading it.
+#
+#   maven-boot.sh update [maven home]   regenerates the cache
+#   maven-boot.sh conf [maven home]     prints the classworlds configuration to use
+#   maven-boot.sh purge                 removes the cache
+#
+# The cache is regenerated by a dpkg trigger when the Maven installation changes.
+# If it's missing or out of date the conf command prints /etc/maven/m2-debian.conf.
+
+set -e
+
+# The jars are listed in the same order as classworlds expands the globs
+export LC_ALL=C
+
+CACHE_DIR=${MAVEN_BOOT_CACHE:-/var/cache/maven-debian-helper}
+MAVEN_HOME=${2:-/usr/share/maven}
+HELPER_JAR=/usr/share/java/maven-debian-helper.jar
+DEFAULT_CONF=/etc/maven/m2-debian.conf
+JAVA=${JAVA_HOME:-/usr/lib/jvm/default-java}/bin/java
+
+# Lists the jars loaded by /etc/maven/m2-debian.conf
+list_classpath() {
+  echo $HELPER_JAR
+  for jar in $MAVEN_HOME/lib/ext/*.jar; do
+    if [ -f "$jar" ]; then
+      echo $jar
+    fi
+  done
+  for jar in $MAVEN_HOME/lib/*.jar; do
+    echo $jar
+  done
+}
+
+# Prints the name, size and modification time of the jars, the jars
+# in the Maven home directory are usually symlinks to /usr/share/java
+fingerprint() {
+  list_classpath | while read jar; do
+    stat -L -c '%n %s %Y' "$jar" 2>/dev/null || echo "$jar missing"
+  done
+}
+
+update() {
+  if [ ! -x "$JAVA" ]; then
+    JAVA=java
+  fi
+
+  mkdir -p $CACHE_DIR
+  BOOT_DIR=$(mktemp -d $CACHE_DIR/boot.XXXXXX)
+  chmod 755 $BOOT_DIR
+
+  list_classpath > $BOOT_DIR/classpath
+  $JAVA -cp $HELPER_JAR org.debian.maven.BootJarBuilder $BOOT_DIR/boot.jar $(cat $BOOT_DIR/classpath)
+
+  cat > $BOOT_DIR/m2-debian.conf <<EOF
+# Generated by maven-boot.sh from $DEFAULT_CONF, do not edit
+main is org.debian.maven.Wrapper from debian
+
+set maven.home default $MAVEN_HOME
+
+[debian]
+load       $BOOT_DIR/boot.jar
+load       \${maven.home}/conf/logging
+EOF
+
+  # The stamp is written last, an interrupted update is never used
+  fingerprint > $BOOT_DIR/stamp
+  chmod 644 $BOOT_DIR/*
+
+  ln -sfn $(basename $BOOT_DIR) $CACHE_DIR/current.new
+  mv -T $CACHE_DIR/current.new $CACHE_DIR/current
+
+  # The previous boot directories may still be used by a running build
+  find $CACHE_DIR -maxdepth 1 -name 'boot.*' ! -name $(basename $BOOT_DIR) -mmin +1440 -exec rm -rf {} +
+}
+
+conf() {
+  BOOT_DIR=$(readlink -f $CACHE_DIR/current 2>/dev/null || true)
+  if [ -n "$BOOT_DIR" ] && [ -r $BOOT_DIR/stamp ] && fingerprint | cmp -s - $BOOT_DIR/stamp; then
+    echo $BOOT_DIR/m2-debian.conf
+  else
+    echo $DEFAULT_CONF
+  fi
+}
+
+case "$1" in
+  update)
+    update
+    ;;
+  conf)
+    conf
+    ;;
+  purge)
+    rm -rf $CACHE_DIR
+    ;;
+  *)
+    echo "Usage: $0 update|conf|purge [maven home]"
+    exit 1
+    ;;
+esac
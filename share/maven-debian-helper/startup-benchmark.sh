@@ -0,0 +1,89 @@
+#!/bin/sh
+
+# Copyright 2026 Debian Java Maintainers.
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#      http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+
+# Measures the startup time of the Debian Maven launcher with the default
+# classworlds configuration, with the boot cache and with the AppCDS archive.
+#
+#   startup-benchmark.sh [runs] [maven arguments]
+#
+# Maven is run in the current directory, by default with 'validate' if there
+# is a pom.xml and with '--version' otherwise.
+
+set -e
+
+RUNS=${1:-5}
+if [ $# -gt 0 ]; then
+  shift
+fi
+if [ $# -eq 0 ]; then
+  if [ -f pom.xml ]; then
+    set -- -o -q validate
+  else
+    set -- --version
+  fi
+fi
+
+MAVEN_HOME=${MAVEN_HOME:-/usr/share/maven}
+JAVA=${JAVA_HOME:-/usr/lib/jvm/default-java}/bin/java
+CLASSWORLDS=$MAVEN_HOME/boot/plexus-classworlds-2.x.jar
+HELPER_DIR=/usr/share/maven-debian-helper
+DEFAULT_CONF=/etc/maven/m2-debian.conf
+BOOT_CONF=$($HELPER_DIR/maven-boot.sh conf $MAVEN_HOME)
+
+export DEB_MAVEN_APPCDS_CACHE=$(mktemp -d)
+trap "rm -rf $DEB_MAVEN_APPCDS_CACHE" EXIT
+
+# Runs Maven with the specified classworlds configuration and JVM options
+run_maven() {
+  conf=$1
+  shift
+  $JAVA "$@" -cp $CLASSWORLDS -Dmaven.home=$MAVEN_HOME -Dmaven.multiModuleProjectDirectory=$PWD \
+    -Dclassworlds.conf=$conf org.codehaus.plexus.classworlds.launcher.Launcher \
+    -s/etc/maven/settings-debian.xml $MAVEN_ARGS > /dev/null 2>&1
+}
+
+# Prints the average time in milliseconds of the runs
+benchmark() {
+  label=$1
+  shift
+  start=$(date +%s%N)
+  i=0
+  while [ $i -lt $RUNS ]; do
+    run_maven "$@"
+    i=$((i + 1))
+  done
+  end=$(date +%s%N)
+  printf "%-30s %6d ms\n" "$label" $(( (end - start) / RUNS / 1000000 ))
+}
+
+MAVEN_ARGS="$*"
+
+benchmark "default configuration" $DEFAULT_CONF
+if [ "$BOOT_CONF" != "$DEFAULT_CONF" ]; then
+  benchmark "boot cache" $BOOT_CONF
+else
+  echo "boot cache                     missing or out of date, run '$HELPER_DIR/maven-boot.sh update'"
+fi
+
+CDS_OPTS=$(DEB_MAVEN_APPCDS=yes $HELPER_DIR/appcds.sh $JAVA maven $CLASSWORLDS $BOOT_CONF)
+if [ -n "$CDS_OPTS" ]; then
+  # The first run records the archive
+  run_maven $BOOT_CONF $CDS_OPTS
+  CDS_OPTS=$(DEB_MAVEN_APPCDS=yes $HELPER_DIR/appcds.sh $JAVA maven $CLASSWORLDS $BOOT_CONF)
+  benchmark "boot cache and AppCDS" $BOOT_CONF $CDS_OPTS
+else
+  echo "AppCDS                         not supported by $JAVA"
+fi
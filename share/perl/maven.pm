@@ -26,7 +26,10 @@ sub new {
 	my @packages = @{$dh{DOPACKAGES}};
 	$this->{package} = shift @packages;
 	$this->{doc_package} = (grep /-doc$/, @packages)[0] unless get_buildoption("nodoc");
-	my $classconf = '/etc/maven/m2-debian.conf';
+	# Use the boot cache of the launcher if it's up to date with the Maven installation
+	my $classconf = `/usr/share/maven-debian-helper/maven-boot.sh conf 2>/dev/null`;
+	chomp $classconf;
+	$classconf = '/etc/maven/m2-debian.conf' unless $classconf;
 
 	my @classpath = ('/usr/share/maven/boot/plexus-classworlds-2.x.jar');
 	if (-e "$java_home/lib/tools.jar") {
@@ -37,6 +40,10 @@ sub new {
 		"-Dmaven.home=/usr/share/maven",
 		"-Dmaven.multiModuleProjectDirectory=$this->{cwd}",
 		"-Dclassworlds.conf=$classconf");
+	if ($ENV{DEB_MAVEN_APPCDS}) {
+		# Record or use the AppCDS archive of the Maven JVM
+		push(@jvmopts, split(' ', `/usr/share/maven-debian-helper/appcds.sh $java_home/bin/java maven @classpath $classconf`));
+	}
 	if (-e "$this->{cwd}/debian/maven.properties") {
 		push (@jvmopts, "-Dproperties.file.manual=$this->{cwd}/debian/maven.properties");
 	}
@@ -53,6 +60,10 @@ sub new {
 	if (!(`tput colors 2>/dev/null` >= 8)) {
 		push (@{$this->{maven_cmd}}, "--batch-mode");
 	}
+	# Build the modules in parallel with parallel=N in DEB_BUILD_OPTIONS
+	if ($this->get_parallel() > 1) {
+		push (@{$this->{maven_cmd}}, "--threads", $this->get_parallel());
+	}
 	return $this;
 }
 
@@ -94,7 +105,6 @@ sub test {
 
 sub install {
 	my $this=shift;
-	my @resolvedep_args;
 	my @install_args = @_;
 	shift @install_args;
 
@@ -104,18 +114,16 @@ sub install {
 	closedir $dirhandle;
 
 	if ($this->{doc_package}) {
-		push(@resolvedep_args, "--javadoc");
+		push(@install_args, "-Ddebian.resolveJavadoc=true");
 	}
-	push(@resolvedep_args, "--base-directory=$this->{cwd}", "--non-explore");
 
+	# Install the artifacts and resolve the dependencies in the same Maven session
 	$this->doit_in_builddir(@{$this->{maven_cmd}}, @install_args,
 		"-Ddebian.dir=$this->{cwd}/debian",
 		"-Ddebian.package=$this->{package}",
 		"-Dmaven.repo.local=$this->{cwd}/debian/maven-repo",
 		"-Dinstall.to.usj=true",
-		"org.debian.maven:debian-maven-plugin:$maven_debian_version:install");
-	$this->doit_in_builddir("mh_resolve_dependencies", "--non-interactive",
-		"--offline", "--build", "-p$this->{package}", @resolvedep_args);
+		"org.debian.maven:debian-maven-plugin:$maven_debian_version:install-resolve");
 	if ($this->{doc_package}) {
 		doit("cp","debian/$this->{package}.substvars",
 			"debian/$this->{doc_package}.substvars");